@@ -0,0 +1,66 @@
+package in.govtjobs.controller;
+
+import in.govtjobs.dto.ApiResponse;
+import in.govtjobs.fetch.HostCircuitBreaker;
+import in.govtjobs.fetch.PageCache;
+import in.govtjobs.model.HostCircuit;
+import in.govtjobs.model.SourcePollState;
+import in.govtjobs.scheduler.AdaptivePollScheduler;
+import in.govtjobs.service.DedupIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * Read-only diagnostics for the scraper fetch layer, poll schedule and dedup
+ * index.
+ */
+@RestController
+@RequestMapping("/api/admin")
+@RequiredArgsConstructor
+public class AdminController {
+
+    private final PageCache pageCache;
+    private final HostCircuitBreaker circuitBreaker;
+    private final AdaptivePollScheduler pollScheduler;
+    private final DedupIndex dedupIndex;
+
+    /**
+     * GET /api/admin/fetch-cache - 304 hits, fingerprint hits and misses per host
+     */
+    @GetMapping("/fetch-cache")
+    public ResponseEntity<ApiResponse<Map<String, PageCache.HostStats>>> fetchCacheStats() {
+        return ResponseEntity.ok(ApiResponse.ok(pageCache.stats()));
+    }
+
+    /**
+     * GET /api/admin/circuits - failing hosts, their failure streak and when
+     * they will next be probed
+     */
+    @GetMapping("/circuits")
+    public ResponseEntity<ApiResponse<Map<String, HostCircuit>>> circuits() {
+        return ResponseEntity.ok(ApiResponse.ok(circuitBreaker.snapshot()));
+    }
+
+    /**
+     * GET /api/admin/poll-schedule - learned change rate, interval and next
+     * poll per source
+     */
+    @GetMapping("/poll-schedule")
+    public ResponseEntity<ApiResponse<Map<String, SourcePollState>>> pollSchedule() {
+        return ResponseEntity.ok(ApiResponse.ok(pollScheduler.snapshot()));
+    }
+
+    /**
+     * GET /api/admin/dedup-index - hashes held in memory, table size in bytes
+     * and how many lookups it answered without the database
+     */
+    @GetMapping("/dedup-index")
+    public ResponseEntity<ApiResponse<DedupIndex.Stats>> dedupIndex() {
+        return ResponseEntity.ok(ApiResponse.ok(dedupIndex.stats()));
+    }
+}
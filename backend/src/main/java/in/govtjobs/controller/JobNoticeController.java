@@ -1,15 +1,18 @@
 package in.govtjobs.controller;
 
 import in.govtjobs.dto.ApiResponse;
+import in.govtjobs.dto.CursorPage;
 import in.govtjobs.dto.JobNoticeDto;
 import in.govtjobs.service.JobNoticeService;
 import in.govtjobs.service.ScraperService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -43,6 +46,27 @@ public class JobNoticeController {
         return ResponseEntity.ok(ApiResponse.ok(result));
     }
 
+    /**
+     * GET /api/notices?cursor= - Same filters and sortBy, paged by cursor:
+     * send an empty cursor for the first page, then each response's
+     * nextCursor until it is null. No total count is computed.
+     */
+    @GetMapping(value = "/notices", params = "cursor")
+    public ResponseEntity<ApiResponse<CursorPage<JobNoticeDto>>> getNoticesAfter(
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String state,
+            @RequestParam(required = false) String noticeType,
+            @RequestParam(required = false) String branch,
+            @RequestParam(defaultValue = "all") String period,
+            @RequestParam(defaultValue = "newest") String sortBy,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+
+        CursorPage<JobNoticeDto> result = noticeService.getNoticesAfter(category, state, noticeType, branch, period,
+                sortBy, cursor, size);
+        return ResponseEntity.ok(ApiResponse.ok(result));
+    }
+
     /**
      * GET /api/notices/count/new - Count of notices fetched in the last 24 hours
      */
@@ -86,4 +110,16 @@ public class JobNoticeController {
         ScraperService.ScraperResult result = scraperService.runAll();
         return ResponseEntity.ok(ApiResponse.ok(result));
     }
+
+    /**
+     * POST /api/admin/reextract - Re-run extraction over archived pages
+     * (fetched at or before asOf, default now) without fetching
+     */
+    @PostMapping("/admin/reextract")
+    public ResponseEntity<ApiResponse<ScraperService.ScraperResult>> reextract(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime asOf) {
+        log.info("Re-extraction from page archive triggered via API");
+        ScraperService.ScraperResult result = scraperService.reextract(asOf != null ? asOf : LocalDateTime.now());
+        return ResponseEntity.ok(ApiResponse.ok(result));
+    }
 }
@@ -0,0 +1,19 @@
+package in.govtjobs.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * One page of a cursor-paged listing. There is no total: the client asks for
+ * the next page with {@code nextCursor} until it is null.
+ */
+@Data
+@Builder
+public class CursorPage<T> {
+    private List<T> content;
+    /** Opaque; null on the last page */
+    private String nextCursor;
+    private int size;
+}
@@ -0,0 +1,24 @@
+package in.govtjobs.fetch;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * Thrown by the fetch layer instead of making a request to a host whose
+ * circuit is open, so chronically failing boards cost nothing until their
+ * next probe.
+ */
+public class CircuitOpenException extends IOException {
+
+    private final String host;
+
+    public CircuitOpenException(String host, int failures, LocalDateTime nextProbe) {
+        super("Circuit open for " + host + " after " + failures + " consecutive failures, next probe after "
+                + nextProbe.withNano(0));
+        this.host = host;
+    }
+
+    public String getHost() {
+        return host;
+    }
+}
@@ -0,0 +1,47 @@
+package in.govtjobs.fetch;
+
+import java.net.http.HttpTimeoutException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A time by which a unit of fetching (one state board) must be done. It is
+ * enforced without interrupting anyone: waits for a fetch slot give up when
+ * it passes, each request's timeout is cut to what is left, and a request is
+ * not started once nothing is.
+ */
+public final class Deadline {
+
+    private final long atNanos;
+    private final long budgetMs;
+
+    private Deadline(long atNanos, long budgetMs) {
+        this.atNanos = atNanos;
+        this.budgetMs = budgetMs;
+    }
+
+    /** {@code budgetMs} from now */
+    public static Deadline in(long budgetMs) {
+        return new Deadline(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetMs), budgetMs);
+    }
+
+    /** Nanoseconds left, 0 once passed */
+    public long remainingNanos() {
+        return Math.max(0, atNanos - System.nanoTime());
+    }
+
+    /**
+     * {@code timeoutMs}, or less if less is left.
+     *
+     * @throws HttpTimeoutException if nothing is left
+     */
+    public int cap(int timeoutMs, String url) throws HttpTimeoutException {
+        long remainingMs = TimeUnit.NANOSECONDS.toMillis(remainingNanos());
+        if (remainingMs <= 0)
+            throw expired(url);
+        return (int) Math.min(timeoutMs > 0 ? timeoutMs : Integer.MAX_VALUE, remainingMs);
+    }
+
+    HttpTimeoutException expired(String url) {
+        return new HttpTimeoutException("Time budget of " + budgetMs + " ms used up before fetching " + url);
+    }
+}
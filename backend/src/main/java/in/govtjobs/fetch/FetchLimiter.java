@@ -0,0 +1,171 @@
+package in.govtjobs.fetch;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounds the load scrapers put on remote sites and on our own heap when
+ * sources run concurrently.
+ *
+ * - in-flight: at most N HTTP requests open at any moment
+ * - parsed documents: at most N Jsoup Documents alive at once. The permit is
+ * held by the thread that fetched the page until it fetches its next page or
+ * calls {@link #releaseDocument()} — every scraper works on one page at a time
+ * - per host: one request at a time per host, spaced by a politeness delay.
+ * This replaces the old global 1s sleep between sources.
+ */
+@Slf4j
+@Component
+public class FetchLimiter {
+
+    private final Semaphore inFlight;
+    private final Semaphore parsedDocuments;
+    private final long hostDelayNanos;
+    private final ConcurrentHashMap<String, HostGate> hosts = new ConcurrentHashMap<>();
+    private final ThreadLocal<Boolean> holdsDocument = ThreadLocal.withInitial(() -> false);
+
+    public FetchLimiter(
+            @Value("${scraper.fetch.max-in-flight:6}") int maxInFlight,
+            @Value("${scraper.fetch.max-parsed-docs:4}") int maxParsedDocuments,
+            @Value("${scraper.politeness.per-host-delay-ms:1000}") long hostDelayMs) {
+        this.inFlight = new Semaphore(Math.max(1, maxInFlight), true);
+        this.parsedDocuments = new Semaphore(Math.max(1, maxParsedDocuments), true);
+        this.hostDelayNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, hostDelayMs));
+    }
+
+    /**
+     * Limits suitable for one-off use outside Spring (debug harnesses).
+     */
+    public static FetchLimiter standalone() {
+        return new FetchLimiter(4, 4, 0);
+    }
+
+    /**
+     * Run a page request under all three limits. The calling thread keeps a
+     * parsed-document permit after a successful request.
+     */
+    public <T> T fetch(String url, FetchCall<T> request) throws IOException {
+        return fetch(url, null, request);
+    }
+
+    /**
+     * As {@link #fetch(String, FetchCall)}, giving up waiting for any of the
+     * limits once {@code deadline} passes.
+     *
+     * @param deadline null to wait as long as it takes
+     * @throws java.net.http.HttpTimeoutException if the deadline passes before
+     *                                            the request can start
+     */
+    public <T> T fetch(String url, Deadline deadline, FetchCall<T> request) throws IOException {
+        releaseDocument();
+        acquire(parsedDocuments, deadline, url);
+        boolean keepDocument = false;
+        try {
+            acquire(inFlight, deadline, url);
+            try {
+                HostGate gate = hosts.computeIfAbsent(hostOf(url), h -> new HostGate());
+                gate.enter(hostDelayNanos, deadline, url);
+                try {
+                    T result = request.execute();
+                    keepDocument = true;
+                    return result;
+                } finally {
+                    gate.leave();
+                }
+            } finally {
+                inFlight.release();
+            }
+        } finally {
+            if (keepDocument)
+                holdsDocument.set(true);
+            else
+                parsedDocuments.release();
+        }
+    }
+
+    /**
+     * Give back the parsed-document permit held by the current thread, if any.
+     * Called once a source (or board) is done with its last page.
+     */
+    public void releaseDocument() {
+        if (holdsDocument.get()) {
+            holdsDocument.set(false);
+            parsedDocuments.release();
+        }
+    }
+
+    static String hostOf(String url) {
+        try {
+            String host = URI.create(url.trim()).getHost();
+            return host == null ? url : host.toLowerCase(Locale.ROOT);
+        } catch (IllegalArgumentException e) {
+            return url;
+        }
+    }
+
+    private static void acquire(Semaphore semaphore, Deadline deadline, String url) throws IOException {
+        try {
+            if (deadline == null)
+                semaphore.acquire();
+            else if (!semaphore.tryAcquire(deadline.remainingNanos(), TimeUnit.NANOSECONDS))
+                throw deadline.expired(url);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a fetch slot");
+        }
+    }
+
+    @FunctionalInterface
+    public interface FetchCall<T> {
+        T execute() throws IOException;
+    }
+
+    /**
+     * One request at a time per host, and no sooner than the politeness delay
+     * after the previous request to that host finished.
+     */
+    private static final class HostGate {
+        private final ReentrantLock lock = new ReentrantLock(true);
+        private long lastFinishedNanos;
+        private boolean visited;
+
+        void enter(long delayNanos, Deadline deadline, String url) throws IOException {
+            try {
+                if (deadline == null)
+                    lock.lockInterruptibly();
+                else if (!lock.tryLock(deadline.remainingNanos(), TimeUnit.NANOSECONDS))
+                    throw deadline.expired(url);
+                if (visited) {
+                    long waitNanos = lastFinishedNanos + delayNanos - System.nanoTime();
+                    if (deadline != null && waitNanos > deadline.remainingNanos()) {
+                        lock.unlock();
+                        throw deadline.expired(url);
+                    }
+                    if (waitNanos > 0)
+                        TimeUnit.NANOSECONDS.sleep(waitNanos);
+                }
+            } catch (InterruptedException e) {
+                if (lock.isHeldByCurrentThread())
+                    lock.unlock();
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for host politeness delay");
+            }
+        }
+
+        void leave() {
+            visited = true;
+            lastFinishedNanos = System.nanoTime();
+            lock.unlock();
+        }
+    }
+}
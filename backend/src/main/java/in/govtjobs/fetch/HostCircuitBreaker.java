@@ -0,0 +1,210 @@
+package in.govtjobs.fetch;
+
+import in.govtjobs.model.HostCircuit;
+import in.govtjobs.repository.HostCircuitRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-host circuit breaker in front of every source fetch.
+ *
+ * Consecutive failures (fetch timeouts, connection/TLS errors, HTTP 5xx) are
+ * counted per host across runs. A 4xx is about one path, not the host, and
+ * an interrupted fetch (a cancelled board task) is about the caller, so
+ * neither counts. Once they reach the threshold the circuit
+ * opens and the host is skipped until its next probe, with the wait doubling
+ * on every failed probe up to a cap. One success closes it again. State is
+ * written through to the host_circuit table so it survives restarts.
+ */
+@Slf4j
+@Component
+public class HostCircuitBreaker {
+
+    /** While a probe is in flight, other requests to the host keep being skipped */
+    private static final Duration PROBE_WINDOW = Duration.ofMinutes(5);
+
+    /** Null for the in-memory instance used outside Spring */
+    private final HostCircuitRepository repository;
+
+    private final Map<String, HostCircuit> circuits = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    @Value("${scraper.circuit.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${scraper.circuit.failure-threshold:3}")
+    private int failureThreshold = 3;
+
+    @Value("${scraper.circuit.base-backoff-minutes:60}")
+    private long baseBackoffMinutes = 60;
+
+    @Value("${scraper.circuit.max-backoff-hours:168}")
+    private long maxBackoffHours = 168;
+
+    @Autowired
+    public HostCircuitBreaker(HostCircuitRepository repository) {
+        this.repository = repository;
+    }
+
+    public static HostCircuitBreaker standalone() {
+        return new HostCircuitBreaker(null);
+    }
+
+    /**
+     * Throws if the host's circuit is open. Once the backoff has elapsed, one
+     * caller is let through as the probe.
+     */
+    public void checkAllowed(String url) throws CircuitOpenException {
+        if (!enabled)
+            return;
+        ensureLoaded();
+        String host = FetchLimiter.hostOf(url);
+        HostCircuit circuit = circuits.get(host);
+        if (circuit == null || circuit.getOpenUntil() == null)
+            return;
+        LocalDateTime now = LocalDateTime.now();
+        if (now.isBefore(circuit.getOpenUntil()))
+            throw new CircuitOpenException(host, circuit.getConsecutiveFailures(), circuit.getOpenUntil());
+
+        // Half-open: the caller that wins the swap is the probe; the rest are
+        // held off until it reports back
+        HostCircuit probing = circuit.toBuilder().openUntil(now.plus(PROBE_WINDOW)).build();
+        if (!circuits.replace(host, circuit, probing))
+            throw new CircuitOpenException(host, circuit.getConsecutiveFailures(), probing.getOpenUntil());
+        log.info("[Circuit] Probing {} after {} consecutive failures", host, circuit.getConsecutiveFailures());
+    }
+
+    public void recordSuccess(String url) {
+        if (!enabled)
+            return;
+        ensureLoaded();
+        String host = FetchLimiter.hostOf(url);
+        HostCircuit previous = circuits.remove(host);
+        if (previous == null)
+            return;
+        if (previous.getOpenUntil() != null)
+            log.info("[Circuit] {} recovered after {} consecutive failures — closed", host,
+                    previous.getConsecutiveFailures());
+        delete(host);
+    }
+
+    /**
+     * Record the status of a response: below 400 closes the circuit, 5xx
+     * counts as a failure and 4xx leaves it as it is.
+     */
+    public void recordResponse(String url, int status) {
+        if (status >= 500)
+            recordFailure(url, "HTTP " + status);
+        else if (status < 400)
+            recordSuccess(url);
+    }
+
+    /**
+     * Record a fetch that threw. Only timeouts and connection errors count;
+     * an interrupted fetch or an unreadable body is ignored.
+     */
+    public void recordFailure(String url, IOException error) {
+        if (isHostFailure(error))
+            recordFailure(url, error.getClass().getSimpleName() + ": " + error.getMessage());
+    }
+
+    static boolean isHostFailure(IOException error) {
+        if (error instanceof PageFetcher.UnreadableBodyException)
+            return false;
+        if (error instanceof InterruptedIOException && !(error instanceof SocketTimeoutException))
+            return false;
+        return !Thread.currentThread().isInterrupted();
+    }
+
+    private void recordFailure(String url, String error) {
+        if (!enabled)
+            return;
+        ensureLoaded();
+        String host = FetchLimiter.hostOf(url);
+        LocalDateTime now = LocalDateTime.now();
+        HostCircuit updated = circuits.compute(host, (h, c) -> {
+            int failures = c == null ? 1 : c.getConsecutiveFailures() + 1;
+            return HostCircuit.builder()
+                    .host(h)
+                    .consecutiveFailures(failures)
+                    .openUntil(failures >= failureThreshold ? now.plus(backoff(failures)) : null)
+                    .lastError(error == null ? null : error.substring(0, Math.min(error.length(), 500)))
+                    .lastFailureAt(now)
+                    .build();
+        });
+        if (updated.getConsecutiveFailures() >= failureThreshold)
+            log.warn("[Circuit] {} open after {} consecutive failures, next probe after {}", host,
+                    updated.getConsecutiveFailures(), updated.getOpenUntil().withNano(0));
+        persist(updated);
+    }
+
+    /**
+     * Hosts with failures since their last success, sorted by host. The
+     * circuits are copies, so callers can't change the breaker's state.
+     */
+    public Map<String, HostCircuit> snapshot() {
+        ensureLoaded();
+        Map<String, HostCircuit> copy = new TreeMap<>();
+        circuits.forEach((host, circuit) -> copy.put(host, circuit.toBuilder().build()));
+        return Collections.unmodifiableMap(copy);
+    }
+
+    /**
+     * base * 2^(failures - threshold), capped: the first open waits the base,
+     * each failed probe doubles it.
+     */
+    private Duration backoff(int failures) {
+        int doublings = Math.min(failures - failureThreshold, 20);
+        Duration backoff = Duration.ofMinutes(baseBackoffMinutes).multipliedBy(1L << doublings);
+        Duration max = Duration.ofHours(maxBackoffHours);
+        return backoff.compareTo(max) > 0 ? max : backoff;
+    }
+
+    private void ensureLoaded() {
+        if (loaded || repository == null)
+            return;
+        synchronized (this) {
+            if (loaded)
+                return;
+            try {
+                repository.findAll().forEach(c -> circuits.putIfAbsent(c.getHost(), c));
+                log.info("Loaded {} host circuits", circuits.size());
+            } catch (Exception e) {
+                log.warn("Could not load host circuits: {}", e.getMessage());
+            }
+            loaded = true;
+        }
+    }
+
+    private void persist(HostCircuit circuit) {
+        if (repository == null)
+            return;
+        try {
+            repository.save(circuit);
+        } catch (Exception e) {
+            log.warn("Could not persist circuit for {}: {}", circuit.getHost(), e.getMessage());
+        }
+    }
+
+    private void delete(String host) {
+        if (repository == null)
+            return;
+        try {
+            repository.deleteById(host);
+        } catch (Exception e) {
+            log.warn("Could not clear circuit for {}: {}", host, e.getMessage());
+        }
+    }
+}
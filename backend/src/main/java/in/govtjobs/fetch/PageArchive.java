@@ -0,0 +1,175 @@
+package in.govtjobs.fetch;
+
+import in.govtjobs.model.ArchivedPage;
+import in.govtjobs.repository.ArchivedPageRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps every changed response body so pages can be re-extracted later without
+ * fetching them again.
+ *
+ * Bodies are gzip blobs named by their SHA-256 under scraper.archive.dir
+ * (two-character fan-out directories); the archived_pages table records which
+ * URL returned which blob and when. When the blobs exceed
+ * scraper.archive.max-bytes, the oldest rows are dropped and blobs no longer
+ * referenced are deleted.
+ */
+@Slf4j
+@Component
+public class PageArchive {
+
+    /** Null for the disabled instance used outside Spring */
+    private final ArchivedPageRepository repository;
+
+    @Value("${scraper.archive.enabled:false}")
+    private boolean enabled;
+
+    @Value("${scraper.archive.dir:./data/page-archive}")
+    private String dir;
+
+    @Value("${scraper.archive.max-bytes:268435456}")
+    private long maxBytes;
+
+    /** Bytes of blobs on disk; -1 until first computed */
+    private final AtomicLong storedBytes = new AtomicLong(-1);
+
+    @Autowired
+    public PageArchive(ArchivedPageRepository repository) {
+        this.repository = repository;
+    }
+
+    public static PageArchive disabled() {
+        return new PageArchive(null);
+    }
+
+    /**
+     * Archive a 200 response. Never throws: archiving must not fail a scrape.
+     */
+    public void store(String url, PageFetcher.FetchedPage page) {
+        if (!enabled || repository == null)
+            return;
+        try {
+            String hash = sha256(page.body());
+            Path blob = blobPath(hash);
+            long written = 0;
+            if (!Files.exists(blob))
+                written = writeBlob(blob, page.body());
+            repository.save(ArchivedPage.builder()
+                    .url(url)
+                    .finalUrl(page.finalUrl())
+                    .contentType(page.contentType())
+                    .contentHash(hash)
+                    .rawBytes(page.body().length)
+                    .storedBytes(Files.size(blob))
+                    .fetchedAt(LocalDateTime.now())
+                    .build());
+            if (written > 0 && addStored(written) > maxBytes)
+                enforceRetention();
+        } catch (Exception e) {
+            log.warn("[Archive] Could not archive {}: {}", url, e.getMessage());
+        }
+    }
+
+    /**
+     * The newest archived response per URL fetched at or before {@code asOf},
+     * keyed by requested URL. Bodies are read lazily with {@link #load}.
+     */
+    public Map<String, ArchivedPage> snapshot(LocalDateTime asOf) {
+        Map<String, ArchivedPage> latest = new LinkedHashMap<>();
+        if (repository == null)
+            return latest;
+        for (ArchivedPage page : repository.findLatestPerUrl(asOf)) {
+            // Two rows with the same timestamp: keep the later insert
+            latest.merge(page.getUrl(), page, (a, b) -> a.getId() > b.getId() ? a : b);
+        }
+        return latest;
+    }
+
+    /**
+     * The archived response as the fetcher returned it, for parsing again.
+     */
+    public PageFetcher.FetchedPage load(ArchivedPage page) throws IOException {
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(blobPath(page.getContentHash())))) {
+            return new PageFetcher.FetchedPage(200, page.getFinalUrl(), page.getContentType(), null, null,
+                    in.readAllBytes());
+        }
+    }
+
+    /**
+     * Drop the oldest rows, and blobs that no row references any more, until
+     * the archive is back under its size limit.
+     */
+    private synchronized void enforceRetention() {
+        while (storedBytes.get() > maxBytes) {
+            List<ArchivedPage> oldest = repository.findTop100ByOrderByFetchedAtAsc();
+            if (oldest.isEmpty())
+                return;
+            for (ArchivedPage page : oldest) {
+                repository.delete(page);
+                if (repository.existsByContentHash(page.getContentHash()))
+                    continue;
+                try {
+                    if (Files.deleteIfExists(blobPath(page.getContentHash())))
+                        storedBytes.addAndGet(-page.getStoredBytes());
+                } catch (IOException e) {
+                    log.warn("[Archive] Could not delete blob {}: {}", page.getContentHash(), e.getMessage());
+                }
+                if (storedBytes.get() <= maxBytes)
+                    break;
+            }
+        }
+        log.info("[Archive] Retention applied, {} bytes stored", storedBytes.get());
+    }
+
+    private long addStored(long bytes) {
+        storedBytes.compareAndSet(-1, repository.sumDistinctStoredBytes() - bytes);
+        return storedBytes.addAndGet(bytes);
+    }
+
+    /** Write to a temp file and move into place so readers never see a partial blob */
+    private long writeBlob(Path blob, byte[] body) throws IOException {
+        Files.createDirectories(blob.getParent());
+        Path tmp = Files.createTempFile(blob.getParent(), "blob", ".tmp");
+        try {
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(tmp))) {
+                out.write(body);
+            }
+            Files.move(tmp, blob, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+        return Files.size(blob);
+    }
+
+    private Path blobPath(String hash) {
+        return Path.of(dir).resolve(hash.substring(0, 2)).resolve(hash + ".gz");
+    }
+
+    private static String sha256(byte[] body) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
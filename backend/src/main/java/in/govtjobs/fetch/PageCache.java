@@ -0,0 +1,289 @@
+package in.govtjobs.fetch;
+
+import in.govtjobs.model.PageCacheEntry;
+import in.govtjobs.repository.PageCacheRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Change-detection cache backing ScraperUtils.fetchPage/fetchPageLax.
+ *
+ * Holds conditional-GET validators and content fingerprints per source and
+ * URL, in memory and written through to the source_page_cache table so they
+ * survive restarts. A 304 counts as a hit, a fingerprint match as a
+ * fingerprint hit, and a page that had to be parsed as a miss; all are
+ * tracked per host.
+ *
+ * Some URLs are read by more than one source (TNPSC home.aspx is used by both
+ * TnpscScraper and StateGovtScraper), and sources are polled in separate runs.
+ * Keying by source means each one compares the page with what it last read,
+ * not with what another source read. State stored during the current run is
+ * not used again until the next run.
+ *
+ * What a source's run records is held back until ScraperService has stored
+ * that source's notices ({@link #commit}), and dropped if it could not
+ * ({@link #discard}). Otherwise a page whose notices were lost would answer
+ * 304 or match its fingerprint next run and never be parsed again.
+ */
+@Slf4j
+@Component
+public class PageCache {
+
+    /** Null for the in-memory instance used outside Spring */
+    private final PageCacheRepository repository;
+
+    private final Map<PageCacheEntry.Key, Cached> entries = new ConcurrentHashMap<>();
+    /** State recorded in the current run, by source, until its notices are stored */
+    private final Map<String, Map<PageCacheEntry.Key, Cached>> pending = new ConcurrentHashMap<>();
+    private final Map<String, HostCounters> hosts = new ConcurrentHashMap<>();
+    private final LongAdder unchanged = new LongAdder();
+    /** Entries loaded from the DB belong to run 0 */
+    private final AtomicLong currentRun = new AtomicLong(1);
+    private volatile boolean loaded;
+
+    @Value("${scraper.cache.conditional-get.enabled:true}")
+    private boolean conditionalGetEnabled = true;
+
+    @Value("${scraper.cache.fingerprint.enabled:true}")
+    private boolean fingerprintEnabled = true;
+
+    @Autowired
+    public PageCache(PageCacheRepository repository) {
+        this.repository = repository;
+    }
+
+    public static PageCache inMemory() {
+        return new PageCache(null);
+    }
+
+    /**
+     * Start a new scrape run; validators stored so far become eligible to send.
+     * State a previous run neither committed nor discarded is dropped.
+     */
+    public void beginRun() {
+        pending.clear();
+        currentRun.incrementAndGet();
+    }
+
+    /**
+     * Keep what {@code source} recorded in this run: its notices are stored,
+     * so its pages may be skipped next run if they have not changed.
+     */
+    public void commit(String source) {
+        Map<PageCacheEntry.Key, Cached> recorded = pending.remove(source);
+        if (recorded != null)
+            recorded.forEach(this::keep);
+    }
+
+    /**
+     * Drop what {@code source} recorded in this run, so its pages are compared
+     * with what it last stored and parsed again.
+     *
+     * @return how many pages' state was dropped
+     */
+    public int discard(String source) {
+        Map<PageCacheEntry.Key, Cached> recorded = pending.remove(source);
+        return recorded == null ? 0 : recorded.size();
+    }
+
+    /**
+     * Validators to send with the next request {@code source} makes for this
+     * URL, if it stored any in a previous run.
+     *
+     * @param source source name, null outside a source's run
+     */
+    public Optional<PageCacheEntry> validatorsFor(String source, String url) {
+        if (!conditionalGetEnabled)
+            return Optional.empty();
+        return previous(source, url).filter(e -> e.getEtag() != null || e.getLastModified() != null);
+    }
+
+    /**
+     * True when the raw body is byte-identical to the one {@code source} saw in
+     * a previous run.
+     */
+    public boolean isBodyUnchanged(String source, String url, long bodyFingerprint) {
+        return fingerprintEnabled && previous(source, url)
+                .map(e -> e.getBodyFingerprint() != null && e.getBodyFingerprint() == bodyFingerprint)
+                .orElse(false);
+    }
+
+    /**
+     * True when the anchor set matches the one {@code source} saw in a previous
+     * run, even if other parts of the body changed.
+     */
+    public boolean isListingUnchanged(String source, String url, long listingFingerprint) {
+        return fingerprintEnabled && previous(source, url)
+                .map(e -> e.getListingFingerprint() != null && e.getListingFingerprint() == listingFingerprint)
+                .orElse(false);
+    }
+
+    public void recordNotModified(String url) {
+        unchanged.increment();
+        counters(url).hits.increment();
+    }
+
+    public void recordBodyMatch(String url) {
+        unchanged.increment();
+        counters(url).fingerprintHits.increment();
+    }
+
+    /**
+     * Listing matched but the body did not: remember the new body so the
+     * cheaper raw check can hit next time. The entry keeps its run, so a second
+     * read of this URL by the same source in the same run still skips it.
+     */
+    public void recordListingMatch(String source, String url, String etag, String lastModified,
+            long bodyFingerprint, long listingFingerprint) {
+        unchanged.increment();
+        counters(url).fingerprintHits.increment();
+        Cached previous = entries.get(key(source, url));
+        long run = previous == null ? currentRun.get() : previous.run();
+        store(source, url, etag, lastModified, bodyFingerprint, listingFingerprint, run);
+    }
+
+    /**
+     * Remember validators and fingerprints of a full 200 response that was
+     * parsed and handed to a scraper, once its notices are stored.
+     */
+    public void recordFullResponse(String source, String url, String etag, String lastModified,
+            long bodyFingerprint, long listingFingerprint) {
+        counters(url).misses.increment();
+        store(source, url, etag, lastModified, bodyFingerprint, listingFingerprint, currentRun.get());
+    }
+
+    /**
+     * Error responses are misses but never refresh the stored state.
+     */
+    public void recordError(String url) {
+        counters(url).misses.increment();
+    }
+
+    /** Pages skipped since startup, by 304 or fingerprint match */
+    public long unchangedCount() {
+        return unchanged.sum();
+    }
+
+    /** Hit/miss counts per host, sorted by host */
+    public Map<String, HostStats> stats() {
+        Map<String, HostStats> result = new TreeMap<>();
+        hosts.forEach((host, c) -> result.put(host,
+                new HostStats(c.hits.sum(), c.fingerprintHits.sum(), c.misses.sum())));
+        return result;
+    }
+
+    private Optional<PageCacheEntry> previous(String source, String url) {
+        ensureLoaded();
+        Cached cached = entries.get(key(source, url));
+        if (cached == null || cached.run() >= currentRun.get())
+            return Optional.empty();
+        return Optional.of(cached.entry());
+    }
+
+    /**
+     * Held for {@link #commit} in a source's run; outside one, kept at once.
+     */
+    private void store(String source, String url, String etag, String lastModified, long bodyFingerprint,
+            Long listingFingerprint, long run) {
+        ensureLoaded();
+        PageCacheEntry.Key key = key(source, url);
+        PageCacheEntry entry = PageCacheEntry.builder()
+                .source(key.getSource())
+                .url(url)
+                .etag(conditionalGetEnabled ? fitOrNull(etag, 255) : null)
+                .lastModified(conditionalGetEnabled ? fitOrNull(lastModified, 100) : null)
+                .bodyFingerprint(fingerprintEnabled ? bodyFingerprint : null)
+                .listingFingerprint(fingerprintEnabled ? listingFingerprint : null)
+                .updatedAt(LocalDateTime.now())
+                .build();
+        if (source == null)
+            keep(key, new Cached(entry, run));
+        else
+            pending.computeIfAbsent(source, s -> new ConcurrentHashMap<>()).put(key, new Cached(entry, run));
+    }
+
+    /**
+     * Only written to the DB when something differs from what we already hold.
+     */
+    private void keep(PageCacheEntry.Key key, Cached cached) {
+        Cached previous = entries.put(key, cached);
+        if (previous != null && sameState(previous.entry(), cached.entry()))
+            return;
+        persist(cached.entry());
+    }
+
+    private static boolean sameState(PageCacheEntry a, PageCacheEntry b) {
+        return Objects.equals(a.getEtag(), b.getEtag())
+                && Objects.equals(a.getLastModified(), b.getLastModified())
+                && Objects.equals(a.getBodyFingerprint(), b.getBodyFingerprint())
+                && Objects.equals(a.getListingFingerprint(), b.getListingFingerprint());
+    }
+
+    private static PageCacheEntry.Key key(String source, String url) {
+        return new PageCacheEntry.Key(source == null ? "" : source, url);
+    }
+
+    private HostCounters counters(String url) {
+        return hosts.computeIfAbsent(FetchLimiter.hostOf(url), h -> new HostCounters());
+    }
+
+    private void ensureLoaded() {
+        if (loaded || repository == null)
+            return;
+        synchronized (this) {
+            if (loaded)
+                return;
+            try {
+                repository.findAll()
+                        .forEach(e -> entries.putIfAbsent(key(e.getSource(), e.getUrl()), new Cached(e, 0)));
+                log.info("Loaded {} page validators", entries.size());
+            } catch (Exception e) {
+                log.warn("Could not load page validators: {}", e.getMessage());
+            }
+            loaded = true;
+        }
+    }
+
+    private void persist(PageCacheEntry entry) {
+        if (repository == null)
+            return;
+        try {
+            repository.save(entry);
+        } catch (Exception e) {
+            log.warn("Could not persist validators for {}: {}", entry.getUrl(), e.getMessage());
+        }
+    }
+
+    private static String fitOrNull(String value, int max) {
+        return value == null || value.length() <= max ? value : null;
+    }
+
+    /**
+     * @param hits            304 Not Modified responses
+     * @param fingerprintHits 200 responses whose body or listing matched the
+     *                        previous run
+     * @param misses          pages parsed and handed to a scraper, or errors
+     */
+    public record HostStats(long hits, long fingerprintHits, long misses) {
+    }
+
+    private record Cached(PageCacheEntry entry, long run) {
+    }
+
+    private static final class HostCounters {
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder fingerprintHits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+    }
+}
@@ -0,0 +1,314 @@
+package in.govtjobs.fetch;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.TrustManagerFactory;
+import javax.net.ssl.X509ExtendedTrustManager;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.ByteBuffer;
+import java.security.KeyStore;
+import java.security.SecureRandom;
+import java.security.cert.CertificateException;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Shared HTTP transport for all scrapers.
+ *
+ * One pooled {@link HttpClient} serves every source, so keep-alive connections
+ * and TLS sessions are reused across pages and runs instead of being set up per
+ * Jsoup.connect call. Bodies are gzip/deflate-decoded and capped in size, and
+ * only the bytes are handed to Jsoup for parsing.
+ *
+ * Certificate leniency is scoped: a chain that fails normal validation is only
+ * accepted for hosts matching scraper.fetch.lenient-tls-hosts (Indian govt
+ * sites with self-signed or incomplete chains). Nothing is installed globally.
+ */
+@Slf4j
+@Component
+public class PageFetcher implements PageSource {
+
+    private final HttpClient client;
+    private final int maxBodyBytes;
+
+    @Autowired
+    public PageFetcher(
+            @Value("${scraper.fetch.connect-timeout-ms:10000}") long connectTimeoutMs,
+            @Value("${scraper.fetch.max-body-bytes:5242880}") int maxBodyBytes,
+            @Value("${scraper.fetch.lenient-tls-hosts:gov.in,nic.in,edu.in}") List<String> lenientTlsHosts) {
+        this.maxBodyBytes = maxBodyBytes;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .followRedirects(HttpClient.Redirect.ALWAYS)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .sslContext(scopedTrustContext(lenientTlsHosts))
+                .build();
+    }
+
+    /**
+     * Transport for one-off use outside Spring (debug harnesses).
+     */
+    public static PageFetcher standalone() {
+        return new PageFetcher(10000, 5 * 1024 * 1024, List.of("gov.in", "nic.in", "edu.in"));
+    }
+
+    /**
+     * GET a page. Never throws for HTTP error statuses; callers decide.
+     *
+     * @param headers   request headers, e.g. User-Agent and validators
+     * @param timeoutMs total budget for connect, headers and body
+     */
+    @Override
+    public FetchedPage get(String url, Map<String, String> headers, int timeoutMs) throws IOException {
+        Duration timeout = Duration.ofMillis(timeoutMs > 0 ? timeoutMs : 30000);
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url.trim()))
+                .GET()
+                .timeout(timeout)
+                .header("Accept-Encoding", "gzip, deflate");
+        headers.forEach((name, value) -> {
+            if (value != null)
+                request.header(name, value);
+        });
+
+        CompletableFuture<HttpResponse<byte[]>> future = client.sendAsync(request.build(),
+                info -> new CappedBodySubscriber(maxBodyBytes));
+        HttpResponse<byte[]> response;
+        try {
+            response = future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new HttpTimeoutException("Timed out after " + timeout.toMillis() + " ms: " + url);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while fetching " + url);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException io)
+                throw io;
+            throw new IOException(cause.getMessage(), cause);
+        }
+
+        String encoding = response.headers().firstValue("Content-Encoding").orElse("");
+        return new FetchedPage(
+                response.statusCode(),
+                response.uri().toString(),
+                response.headers().firstValue("Content-Type").orElse(null),
+                response.headers().firstValue("ETag").orElse(null),
+                response.headers().firstValue("Last-Modified").orElse(null),
+                decode(response.body(), encoding));
+    }
+
+    private byte[] decode(byte[] body, String encoding) throws IOException {
+        String enc = encoding.trim().toLowerCase(Locale.ROOT);
+        if (body.length == 0 || enc.isEmpty() || enc.equals("identity"))
+            return body;
+        InputStream in = switch (enc) {
+            case "gzip", "x-gzip" -> new GZIPInputStream(new ByteArrayInputStream(body));
+            case "deflate" -> new InflaterInputStream(new ByteArrayInputStream(body));
+            default -> throw new UnreadableBodyException("Unsupported Content-Encoding: " + encoding);
+        };
+        try (in) {
+            return readCapped(in);
+        }
+    }
+
+    /** Decompressed size is capped as well, so a small gzip cannot expand unbounded */
+    private byte[] readCapped(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buf = new byte[16 * 1024];
+        int n;
+        while ((n = in.read(buf)) != -1) {
+            if (out.size() + n > maxBodyBytes)
+                throw new UnreadableBodyException("Response body exceeds " + maxBodyBytes + " bytes");
+            out.write(buf, 0, n);
+        }
+        return out.toByteArray();
+    }
+
+    private static SSLContext scopedTrustContext(List<String> lenientHosts) {
+        try {
+            TrustManagerFactory tmf = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+            tmf.init((KeyStore) null);
+            X509ExtendedTrustManager system = Arrays.stream(tmf.getTrustManagers())
+                    .filter(X509ExtendedTrustManager.class::isInstance)
+                    .map(X509ExtendedTrustManager.class::cast)
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalStateException("No X509 trust manager available"));
+            SSLContext sc = SSLContext.getInstance("TLS");
+            sc.init(null, new TrustManager[] { new HostScopedTrustManager(system, lenientHosts) }, new SecureRandom());
+            return sc;
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not initialise TLS for scrapers", e);
+        }
+    }
+
+    /**
+     * Result of a GET after redirects and content decoding.
+     */
+    public record FetchedPage(int status, String finalUrl, String contentType, String etag,
+            String lastModified, byte[] body) {
+    }
+
+    /**
+     * The host answered, but its body is too large or in an encoding we can't
+     * decode. Says nothing about whether the host is healthy.
+     */
+    public static class UnreadableBodyException extends IOException {
+        public UnreadableBodyException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Collects the body into memory and fails fast once it exceeds the cap.
+     */
+    private static final class CappedBodySubscriber implements HttpResponse.BodySubscriber<byte[]> {
+        private final int maxBytes;
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        private final CompletableFuture<byte[]> result = new CompletableFuture<>();
+        private Flow.Subscription subscription;
+
+        CappedBodySubscriber(int maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        public CompletionStage<byte[]> getBody() {
+            return result;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> buffers) {
+            for (ByteBuffer buffer : buffers) {
+                if (out.size() + buffer.remaining() > maxBytes) {
+                    subscription.cancel();
+                    result.completeExceptionally(
+                            new UnreadableBodyException("Response body exceeds " + maxBytes + " bytes"));
+                    return;
+                }
+                byte[] chunk = new byte[buffer.remaining()];
+                buffer.get(chunk);
+                out.write(chunk, 0, chunk.length);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            result.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            result.complete(out.toByteArray());
+        }
+    }
+
+    /**
+     * Full PKIX + hostname validation for every host; a failure is tolerated
+     * only when the peer host is on the lenient list.
+     */
+    private static final class HostScopedTrustManager extends X509ExtendedTrustManager {
+        private final X509ExtendedTrustManager delegate;
+        private final List<String> lenientSuffixes;
+
+        HostScopedTrustManager(X509ExtendedTrustManager delegate, List<String> lenientHosts) {
+            this.delegate = delegate;
+            this.lenientSuffixes = lenientHosts.stream()
+                    .map(h -> h.trim().toLowerCase(Locale.ROOT))
+                    .filter(h -> !h.isEmpty())
+                    .toList();
+        }
+
+        @Override
+        public void checkServerTrusted(X509Certificate[] chain, String authType, SSLEngine engine)
+                throws CertificateException {
+            try {
+                delegate.checkServerTrusted(chain, authType, engine);
+            } catch (CertificateException e) {
+                String host = engine == null ? null : engine.getPeerHost();
+                if (!isLenient(host))
+                    throw e;
+                log.debug("Accepting untrusted certificate for {}: {}", host, e.getMessage());
+            }
+        }
+
+        @Override
+        public void checkServerTrusted(X509Certificate[] chain, String authType, Socket socket)
+                throws CertificateException {
+            delegate.checkServerTrusted(chain, authType, socket);
+        }
+
+        @Override
+        public void checkServerTrusted(X509Certificate[] chain, String authType) throws CertificateException {
+            delegate.checkServerTrusted(chain, authType);
+        }
+
+        @Override
+        public void checkClientTrusted(X509Certificate[] chain, String authType, SSLEngine engine)
+                throws CertificateException {
+            delegate.checkClientTrusted(chain, authType, engine);
+        }
+
+        @Override
+        public void checkClientTrusted(X509Certificate[] chain, String authType, Socket socket)
+                throws CertificateException {
+            delegate.checkClientTrusted(chain, authType, socket);
+        }
+
+        @Override
+        public void checkClientTrusted(X509Certificate[] chain, String authType) throws CertificateException {
+            delegate.checkClientTrusted(chain, authType);
+        }
+
+        @Override
+        public X509Certificate[] getAcceptedIssuers() {
+            return delegate.getAcceptedIssuers();
+        }
+
+        private boolean isLenient(String host) {
+            if (host == null)
+                return false;
+            String h = host.toLowerCase(Locale.ROOT);
+            for (String suffix : lenientSuffixes) {
+                if (h.equals(suffix) || h.endsWith("." + suffix))
+                    return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package in.govtjobs.fetch;
+
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+
+import java.util.zip.CRC32C;
+
+/**
+ * Cheap 64-bit fingerprints used to detect unchanged pages on sites that send
+ * no ETag / Last-Modified.
+ *
+ * - body: CRC32C of the raw bytes, with the length in the high 32 bits
+ * - listing: FNV-1a over the href and text of every anchor. Tickers, counters
+ * and CSRF tokens change the body on every request but not the anchor set,
+ * which is all the scrapers read titles and links from.
+ */
+public final class PageFingerprint {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private PageFingerprint() {
+    }
+
+    public static long ofBody(byte[] body) {
+        CRC32C crc = new CRC32C();
+        crc.update(body);
+        return ((long) body.length << 32) | crc.getValue();
+    }
+
+    public static long ofListing(Document doc) {
+        Listing listing = new Listing();
+        for (Element link : doc.getElementsByTag("a"))
+            listing.add(link);
+        return listing.value();
+    }
+
+    /**
+     * {@link #ofListing} built one anchor at a time, in document order, for
+     * pages that are never held whole (streaming extraction).
+     */
+    public static final class Listing {
+        private long h = FNV_OFFSET;
+
+        public void add(Element link) {
+            h = mix(h, link.attr("href"));
+            h = mix(h, link.text());
+        }
+
+        public long value() {
+            return h;
+        }
+    }
+
+    private static long mix(long h, String s) {
+        for (int i = 0; i < s.length(); i++) {
+            h ^= s.charAt(i);
+            h *= FNV_PRIME;
+        }
+        // Field separator so ("ab", "c") and ("a", "bc") differ
+        h ^= 0x1f;
+        h *= FNV_PRIME;
+        return h;
+    }
+}
@@ -0,0 +1,35 @@
+package in.govtjobs.fetch;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Where ScraperUtils gets the raw response for a page. {@link PageFetcher}
+ * fetches it over HTTP; {@link #offline} answers from pages already held, for
+ * the extraction benchmarks and for replaying archived pages.
+ */
+@FunctionalInterface
+public interface PageSource {
+
+    /**
+     * The response for {@code url}. HTTP error statuses are returned, not
+     * thrown.
+     *
+     * @param headers   request headers, e.g. User-Agent and validators
+     * @param timeoutMs total budget for the request
+     */
+    PageFetcher.FetchedPage get(String url, Map<String, String> headers, int timeoutMs) throws IOException;
+
+    /**
+     * Answers every request from {@code pages} without touching the network. A
+     * URL it has no page for (null) gets an empty 200 response, so a scraper
+     * simply finds nothing there.
+     */
+    static PageSource offline(Function<String, PageFetcher.FetchedPage> pages) {
+        return (url, headers, timeoutMs) -> {
+            PageFetcher.FetchedPage page = pages.apply(url);
+            return page != null ? page : new PageFetcher.FetchedPage(200, url, null, null, null, new byte[0]);
+        };
+    }
+}
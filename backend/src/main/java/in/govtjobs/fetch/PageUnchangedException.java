@@ -0,0 +1,21 @@
+package in.govtjobs.fetch;
+
+import java.io.IOException;
+
+/**
+ * Thrown by the fetch layer when the server answers 304 Not Modified. The page
+ * is identical to the last run, so scrapers skip parsing it entirely.
+ */
+public class PageUnchangedException extends IOException {
+
+    private final String url;
+
+    public PageUnchangedException(String url) {
+        super("Unchanged since last fetch: " + url);
+        this.url = url;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+}
@@ -0,0 +1,91 @@
+package in.govtjobs.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A notice moved out of job_notices by the retention job, under the same id
+ * and content hash. Nothing lists or filters archived notices; they are only
+ * read back by id, and their hashes keep a notice that a source still shows
+ * from being ingested again.
+ */
+@Entity
+@Table(name = "archived_notices", indexes = {
+        @Index(name = "idx_archived_notice_hash", columnList = "contentHash", unique = true)
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedNotice {
+
+    /** The id the notice had in job_notices */
+    @Id
+    private UUID id;
+
+    @Column(nullable = false, length = 512)
+    private String title;
+
+    @Column(nullable = false, length = 50)
+    private String category;
+
+    @Column(nullable = false, length = 100)
+    private String state;
+
+    @Column(length = 50)
+    private String noticeType;
+
+    @Column(length = 200)
+    private String engineeringBranches;
+
+    @Column(nullable = false, length = 200)
+    private String sourceName;
+
+    @Column(nullable = false, length = 1000)
+    private String sourceUrl;
+
+    @Column(length = 1000)
+    private String sourceDomain;
+
+    @Column(length = 1000)
+    private String applyUrl;
+
+    private LocalDate publishedDate;
+    private LocalDate lastDate;
+
+    @Column(nullable = false, length = 64)
+    private String contentHash;
+
+    @Column(nullable = false)
+    private LocalDateTime fetchedAt;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+
+    /** The notice as it was in job_notices */
+    public JobNotice toNotice() {
+        return JobNotice.builder()
+                .id(id)
+                .title(title)
+                .category(category)
+                .state(state)
+                .noticeType(noticeType)
+                .engineeringBranches(engineeringBranches)
+                .sourceName(sourceName)
+                .sourceUrl(sourceUrl)
+                .sourceDomain(sourceDomain)
+                .applyUrl(applyUrl)
+                .publishedDate(publishedDate)
+                .lastDate(lastDate)
+                .contentHash(contentHash)
+                .fetchedAt(fetchedAt)
+                .build();
+    }
+}
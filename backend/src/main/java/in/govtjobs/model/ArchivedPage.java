@@ -0,0 +1,54 @@
+package in.govtjobs.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One fetched response kept for re-extraction. The body itself lives in the
+ * page archive directory as a gzip blob named by its SHA-256, so identical
+ * bodies fetched on different runs are stored once.
+ */
+@Entity
+@Table(name = "archived_page", indexes = {
+        @Index(name = "idx_archived_url_fetched", columnList = "url, fetchedAt"),
+        @Index(name = "idx_archived_content_hash", columnList = "contentHash")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedPage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** URL as requested by the scraper, the replay lookup key */
+    @Column(nullable = false, length = 1000)
+    private String url;
+
+    /** URL after redirects, the base URI when the page is parsed again */
+    @Column(length = 1000)
+    private String finalUrl;
+
+    @Column(length = 255)
+    private String contentType;
+
+    /** SHA-256 of the raw body, hex; names the blob */
+    @Column(nullable = false, length = 64)
+    private String contentHash;
+
+    /** Uncompressed body size */
+    private long rawBytes;
+
+    /** Size of the gzip blob on disk */
+    private long storedBytes;
+
+    @Column(nullable = false)
+    private LocalDateTime fetchedAt;
+}
@@ -0,0 +1,37 @@
+package in.govtjobs.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Circuit breaker state for a source host that has been failing. Rows exist
+ * only for hosts with at least one failure since their last success.
+ */
+@Entity
+@Table(name = "host_circuit")
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class HostCircuit {
+
+    @Id
+    @Column(length = 255)
+    private String host;
+
+    /** Fetch timeouts, connection errors and HTTP 5xx since the last success */
+    private int consecutiveFailures;
+
+    /** Requests to the host are skipped until then; null while closed */
+    private LocalDateTime openUntil;
+
+    @Column(length = 500)
+    private String lastError;
+
+    private LocalDateTime lastFailureAt;
+}
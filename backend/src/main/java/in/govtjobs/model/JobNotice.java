@@ -6,16 +6,24 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.net.URI;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
 @Table(name = "job_notices", indexes = {
-        @Index(name = "idx_category", columnList = "category"),
-        @Index(name = "idx_state", columnList = "state"),
-        @Index(name = "idx_notice_type", columnList = "noticeType"),
-        @Index(name = "idx_published_date", columnList = "publishedDate"),
+        // Listing indexes, one per sort order, bare and behind each ORDER BY lead
+        // (see JobNoticeListingImpl). The deadline ones need NULLS LAST and are
+        // in db/listing-indexes-h2.sql
+        @Index(name = "idx_newest", columnList = "publishedDate DESC, fetchedAt DESC, id DESC"),
+        @Index(name = "idx_fetched", columnList = "fetchedAt DESC, id DESC"),
+        @Index(name = "idx_state_newest", columnList = "state, publishedDate DESC, fetchedAt DESC, id DESC"),
+        @Index(name = "idx_state_fetched", columnList = "state, fetchedAt DESC, id DESC"),
+        @Index(name = "idx_category_newest", columnList = "category, publishedDate DESC, fetchedAt DESC, id DESC"),
+        @Index(name = "idx_category_fetched", columnList = "category, fetchedAt DESC, id DESC"),
+        @Index(name = "idx_notice_type_newest", columnList = "noticeType, publishedDate DESC, fetchedAt DESC, id DESC"),
+        @Index(name = "idx_notice_type_fetched", columnList = "noticeType, fetchedAt DESC, id DESC"),
         @Index(name = "idx_content_hash", columnList = "contentHash", unique = true)
 })
 @Data
@@ -63,6 +71,10 @@ public class JobNotice {
     @Column(nullable = false, length = 1000)
     private String sourceUrl;
 
+    /** {@link #domainOf} sourceUrl, set at ingest so listings don't parse URLs */
+    @Column(length = 1000)
+    private String sourceDomain;
+
     @Column(length = 1000)
     private String applyUrl;
 
@@ -77,4 +89,18 @@ public class JobNotice {
 
     @Column(nullable = false)
     private LocalDateTime fetchedAt;
+
+    /** Host of {@code url} without a leading "www.", e.g. "upsc.gov.in"; null if it has none */
+    public static String domainOf(String url) {
+        if (url == null || url.isBlank())
+            return null;
+        try {
+            String host = URI.create(url).getHost();
+            if (host == null)
+                return null;
+            return host.startsWith("www.") ? host.substring(4) : host;
+        } catch (Exception e) {
+            return null;
+        }
+    }
 }
@@ -0,0 +1,58 @@
+package in.govtjobs.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * One engineering branch code of a listed notice, so the branch filter is an
+ * index lookup instead of a LIKE over JobNotice.engineeringBranches. Rows
+ * exist only for notices in job_notices and are removed when a notice is
+ * archived; the comma-separated column stays the source of truth.
+ */
+@Entity
+@Table(name = "notice_branches", indexes = {
+        @Index(name = "idx_notice_branch", columnList = "branch, noticeId")
+})
+@IdClass(NoticeBranch.Key.class)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NoticeBranch {
+
+    @Id
+    private UUID noticeId;
+
+    /** CIVIL, MECH, EEE, ECE, CSE, CHEM, INST or GENERAL_ENGG */
+    @Id
+    @Column(length = 50)
+    private String branch;
+
+    /** The codes in a JobNotice.engineeringBranches value, in order; empty for null */
+    public static Set<String> codesOf(String engineeringBranches) {
+        Set<String> codes = new LinkedHashSet<>();
+        if (engineeringBranches == null)
+            return codes;
+        for (String code : engineeringBranches.split(",")) {
+            if (!code.isBlank())
+                codes.add(code.trim());
+        }
+        return codes;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private UUID noticeId;
+        private String branch;
+    }
+}
@@ -0,0 +1,61 @@
+package in.govtjobs.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Per-source, per-URL state from the last full fetch of a source page: HTTP
+ * validators sent back as If-None-Match / If-Modified-Since, and content
+ * fingerprints for sites that send no validators. Keyed by source as well as
+ * URL because some pages are read by more than one source, and each must
+ * decide for itself whether the page changed since it last read it.
+ */
+@Entity
+@Table(name = "source_page_cache")
+@IdClass(PageCacheEntry.Key.class)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PageCacheEntry {
+
+    /** Source name the page was read for; empty outside a source's run */
+    @Id
+    @Column(length = 255)
+    private String source;
+
+    @Id
+    @Column(length = 1000)
+    private String url;
+
+    /** ETag response header, sent back as If-None-Match */
+    @Column(length = 255)
+    private String etag;
+
+    /** Last-Modified response header, sent back as If-Modified-Since */
+    @Column(length = 100)
+    private String lastModified;
+
+    /** {@link in.govtjobs.fetch.PageFingerprint#ofBody} of the raw response */
+    private Long bodyFingerprint;
+
+    /** {@link in.govtjobs.fetch.PageFingerprint#ofListing} of the parsed page */
+    private Long listingFingerprint;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String source;
+        private String url;
+    }
+}
@@ -0,0 +1,47 @@
+package in.govtjobs.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Learned change rate and poll schedule of one source. The observation counts
+ * decay on every poll so a source that heats up (recruitment season) or cools
+ * down is picked up within a few polls.
+ */
+@Entity
+@Table(name = "source_poll_state")
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class SourcePollState {
+
+    @Id
+    @Column(length = 200)
+    private String sourceName;
+
+    /** Decayed number of polls observed */
+    private double polls;
+
+    /** Decayed number of those polls that yielded at least one new contentHash */
+    private double changes;
+
+    /** Decayed sum of hours between consecutive polls */
+    private double hours;
+
+    /** Estimated changes per hour */
+    private double changeRate;
+
+    private long intervalMinutes;
+
+    private LocalDateTime lastPolledAt;
+
+    private LocalDateTime lastChangedAt;
+
+    private LocalDateTime nextPollAt;
+}
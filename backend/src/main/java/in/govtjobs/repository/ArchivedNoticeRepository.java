@@ -0,0 +1,55 @@
+package in.govtjobs.repository;
+
+import in.govtjobs.model.ArchivedNotice;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ArchivedNoticeRepository extends JpaRepository<ArchivedNotice, UUID> {
+
+        /**
+         * Copy the given job_notices rows into the archive in one statement;
+         * the caller deletes them from job_notices in the same transaction.
+         */
+        @Modifying
+        @Query(value = """
+                        INSERT INTO archived_notices (id, title, category, state, notice_type, engineering_branches,
+                            source_name, source_url, source_domain, apply_url, published_date, last_date, content_hash,
+                            fetched_at, archived_at)
+                        SELECT id, title, category, state, notice_type, engineering_branches,
+                            source_name, source_url, source_domain, apply_url, published_date, last_date, content_hash,
+                            fetched_at, :archivedAt
+                        FROM job_notices WHERE id IN (:ids)
+                        """, nativeQuery = true)
+        int copyFromNotices(@Param("ids") Collection<UUID> ids, @Param("archivedAt") LocalDateTime archivedAt);
+
+        /** As JobNoticeRepository.findDedupEntriesAfter, for archived hashes */
+        @Query("""
+                        SELECT a.contentHash, a.lastDate, a.applyUrl FROM ArchivedNotice a
+                        WHERE a.contentHash > :after ORDER BY a.contentHash
+                        """)
+        List<Object[]> findDedupEntriesAfter(@Param("after") String after, Pageable pageable);
+
+        /** As JobNoticeRepository.findMissingDomainAfter, for archived notices */
+        @Query("""
+                        SELECT a.id, a.sourceUrl FROM ArchivedNotice a
+                        WHERE a.id > :after AND a.sourceDomain IS NULL ORDER BY a.id
+                        """)
+        List<Object[]> findMissingDomainAfter(@Param("after") UUID after, Pageable pageable);
+
+        /** As JobNoticeRepository.findMissingTypeAfter, for archived notices */
+        @Query("""
+                        SELECT a.id, a.title FROM ArchivedNotice a
+                        WHERE a.id > :after AND a.noticeType IS NULL ORDER BY a.id
+                        """)
+        List<Object[]> findMissingTypeAfter(@Param("after") UUID after, Pageable pageable);
+}
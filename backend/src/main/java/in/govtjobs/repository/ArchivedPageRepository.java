@@ -0,0 +1,36 @@
+package in.govtjobs.repository;
+
+import in.govtjobs.model.ArchivedPage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ArchivedPageRepository extends JpaRepository<ArchivedPage, Long> {
+
+        /**
+         * Latest archived response per URL fetched at or before {@code asOf}.
+         */
+        @Query("""
+                        SELECT a FROM ArchivedPage a
+                        WHERE a.fetchedAt = (
+                            SELECT MAX(b.fetchedAt) FROM ArchivedPage b
+                            WHERE b.url = a.url AND b.fetchedAt <= :asOf)
+                        """)
+        List<ArchivedPage> findLatestPerUrl(@Param("asOf") LocalDateTime asOf);
+
+        List<ArchivedPage> findTop100ByOrderByFetchedAtAsc();
+
+        boolean existsByContentHash(String contentHash);
+
+        /** Bytes on disk: each blob counted once however many rows share it */
+        @Query("""
+                        SELECT COALESCE(SUM(s.storedBytes), 0) FROM ArchivedPage s
+                        WHERE s.id IN (SELECT MIN(a.id) FROM ArchivedPage a GROUP BY a.contentHash)
+                        """)
+        long sumDistinctStoredBytes();
+}
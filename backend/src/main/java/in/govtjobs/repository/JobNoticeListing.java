@@ -0,0 +1,82 @@
+package in.govtjobs.repository;
+
+import in.govtjobs.model.JobNotice;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The /api/notices listing queries, mixed into {@link JobNoticeRepository}.
+ * Each query carries only the filters actually given, so every predicate can
+ * be served by an index. Pages are read as {@link Row} projections, not
+ * entities: nothing is registered with the persistence context or
+ * snapshotted for dirty checking.
+ */
+public interface JobNoticeListing {
+
+        /** Up to {@code limit} notices from {@code offset} on, in {@code order} */
+        List<Row> findPage(Filters filters, Order order, long offset, int limit);
+
+        /**
+         * Up to {@code limit} notices that come after {@code after} in
+         * {@code order}, or from the start if it is null. Seeks past the last
+         * row seen instead of skipping an offset, and never counts.
+         */
+        List<Row> findAfter(Filters filters, Order order, Key after, int limit);
+
+        long countMatching(Filters filters);
+
+        /**
+         * Listing filters, null meaning no filter. The period filter uses
+         * fetchedAt (always present) so notices without publishedDate are
+         * still included in "Today" / "This Week" views.
+         *
+         * @param branch one engineering branch code, matched exactly
+         */
+        record Filters(String category, String state, String noticeType, String branch,
+                        LocalDateTime fromDate, LocalDateTime toDate) {
+        }
+
+        /** The sortBy orders of /api/notices, each made total by fetchedAt and id */
+        enum Order {
+                /** publishedDate desc, nulls last */
+                NEWEST,
+                /** lastDate asc, nulls last */
+                DEADLINE,
+                /** fetchedAt desc */
+                FETCHED
+        }
+
+        /**
+         * Sort key of the last row of a page.
+         *
+         * @param date publishedDate for NEWEST, lastDate for DEADLINE, unused
+         *             for FETCHED; may be null
+         */
+        record Key(LocalDate date, LocalDateTime fetchedAt, UUID id) {
+
+                public static Key of(Row row, Order order) {
+                        LocalDate date = switch (order) {
+                                case NEWEST -> row.publishedDate();
+                                case DEADLINE -> row.lastDate();
+                                case FETCHED -> null;
+                        };
+                        return new Key(date, row.fetchedAt(), row.id());
+                }
+        }
+
+        /** The JobNotice columns a listed notice is shown with */
+        record Row(UUID id, String title, String category, String state, String noticeType,
+                        String engineeringBranches, String sourceName, String sourceUrl, String sourceDomain,
+                        String applyUrl, LocalDate publishedDate, LocalDate lastDate, LocalDateTime fetchedAt) {
+
+                public static Row of(JobNotice n) {
+                        return new Row(n.getId(), n.getTitle(), n.getCategory(), n.getState(), n.getNoticeType(),
+                                        n.getEngineeringBranches(), n.getSourceName(), n.getSourceUrl(),
+                                        n.getSourceDomain(), n.getApplyUrl(), n.getPublishedDate(), n.getLastDate(),
+                                        n.getFetchedAt());
+                }
+        }
+}
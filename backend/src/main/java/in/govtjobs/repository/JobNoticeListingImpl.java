@@ -0,0 +1,132 @@
+package in.govtjobs.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JPQL built per call, so only the filters actually given and the one seek
+ * predicate a cursor needs end up in the query; a ":x IS NULL OR ..." guard
+ * would keep the database from using an index for any of them. Nulls-last
+ * orders are continued by hand: past a dated key, every undated row still
+ * follows; past an undated key, only undated rows do.
+ *
+ * The ORDER BY leads with one equality-filtered column (state, else
+ * category, else noticeType). It is constant across the result, so the order
+ * is unchanged, but H2 only reads an index in order, instead of sorting, when
+ * the index starts with the ORDER BY columns; JobNotice declares one for each
+ * lead and order, and db/listing-indexes-h2.sql the deadline ones. A branch
+ * filter gets no lead: its notices are looked up by id from notice_branches
+ * and sorted, and H2 never reads an index in order while it also applies an
+ * IN to it.
+ */
+@RequiredArgsConstructor
+class JobNoticeListingImpl implements JobNoticeListing {
+
+    /** Rows after the key among those with the same sort date */
+    private static final String TIE = "(j.fetchedAt < :afterFetched OR j.fetchedAt = :afterFetched AND j.id < :afterId)";
+
+    /** Selects a Row's columns straight into one, without loading the entity */
+    private static final String ROW = "new " + Row.class.getName() + "(j.id, j.title, j.category, j.state,"
+            + " j.noticeType, j.engineeringBranches, j.sourceName, j.sourceUrl, j.sourceDomain, j.applyUrl,"
+            + " j.publishedDate, j.lastDate, j.fetchedAt)";
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<Row> findPage(Filters filters, Order order, long offset, int limit) {
+        Map<String, Object> params = new HashMap<>();
+        TypedQuery<Row> query = rows(where(filters, params), filters, order, limit);
+        params.forEach(query::setParameter);
+        return query.setFirstResult(Math.toIntExact(offset)).getResultList();
+    }
+
+    @Override
+    public List<Row> findAfter(Filters filters, Order order, Key after, int limit) {
+        Map<String, Object> params = new HashMap<>();
+        List<String> where = where(filters, params);
+        if (after != null) {
+            where.add(seek(order, after));
+            params.put("afterFetched", after.fetchedAt());
+            params.put("afterId", after.id());
+            if (order != Order.FETCHED && after.date() != null)
+                params.put("afterDate", after.date());
+        }
+        TypedQuery<Row> query = rows(where, filters, order, limit);
+        params.forEach(query::setParameter);
+        return query.getResultList();
+    }
+
+    @Override
+    public long countMatching(Filters filters) {
+        Map<String, Object> params = new HashMap<>();
+        TypedQuery<Long> query = entityManager.createQuery(select("COUNT(j)", where(filters, params)), Long.class);
+        params.forEach(query::setParameter);
+        return query.getSingleResult();
+    }
+
+    /** A page of {@code limit} rows, fetched from the driver in one round trip */
+    private TypedQuery<Row> rows(List<String> where, Filters filters, Order order, int limit) {
+        return entityManager.createQuery(select(ROW, where) + orderBy(filters, order), Row.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, limit)
+                .setMaxResults(limit);
+    }
+
+    private static List<String> where(Filters f, Map<String, Object> params) {
+        List<String> where = new ArrayList<>();
+        filter(where, params, "j.category = :category", "category", f.category());
+        filter(where, params, "j.state = :state", "state", f.state());
+        filter(where, params, "j.noticeType = :noticeType", "noticeType", f.noticeType());
+        filter(where, params, "j.id IN (SELECT b.noticeId FROM NoticeBranch b WHERE b.branch = :branch)", "branch",
+                f.branch());
+        filter(where, params, "j.fetchedAt >= :fromDate", "fromDate", f.fromDate());
+        filter(where, params, "j.fetchedAt <= :toDate", "toDate", f.toDate());
+        return where;
+    }
+
+    private static String select(String what, List<String> where) {
+        String jpql = "SELECT " + what + " FROM JobNotice j";
+        return where.isEmpty() ? jpql : jpql + " WHERE " + String.join(" AND ", where);
+    }
+
+    private static String orderBy(Filters f, Order order) {
+        String lead = f.branch() != null ? ""
+                : f.state() != null ? "j.state, "
+                : f.category() != null ? "j.category, "
+                : f.noticeType() != null ? "j.noticeType, " : "";
+        return " ORDER BY " + lead + switch (order) {
+            case NEWEST -> "j.publishedDate DESC NULLS LAST, j.fetchedAt DESC, j.id DESC";
+            case DEADLINE -> "j.lastDate ASC NULLS LAST, j.fetchedAt DESC, j.id DESC";
+            case FETCHED -> "j.fetchedAt DESC, j.id DESC";
+        };
+    }
+
+    private static String seek(Order order, Key after) {
+        String column = switch (order) {
+            case NEWEST -> "j.publishedDate";
+            case DEADLINE -> "j.lastDate";
+            case FETCHED -> null;
+        };
+        if (column == null)
+            return TIE;
+        if (after.date() == null)
+            return "(" + column + " IS NULL AND " + TIE + ")";
+        String beyond = order == Order.NEWEST ? " < " : " > ";
+        return "(" + column + beyond + ":afterDate OR " + column + " IS NULL OR " + column + " = :afterDate AND "
+                + TIE + ")";
+    }
+
+    private static void filter(List<String> where, Map<String, Object> params, String condition, String name,
+            Object value) {
+        if (value == null)
+            return;
+        where.add(condition);
+        params.put(name, value);
+    }
+}
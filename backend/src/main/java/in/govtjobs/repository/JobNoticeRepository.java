@@ -4,19 +4,51 @@ import in.govtjobs.model.JobNotice;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 @Repository
-public interface JobNoticeRepository extends JpaRepository<JobNotice, UUID> {
+public interface JobNoticeRepository extends JpaRepository<JobNotice, UUID>, JobNoticeUpsert, JobNoticeListing {
 
         boolean existsByContentHash(String contentHash);
 
+        /**
+         * Next page of (contentHash, lastDate, applyUrl) after {@code after}, in
+         * hash order, for the dedup index
+         */
+        @Query("""
+                        SELECT j.contentHash, j.lastDate, j.applyUrl FROM JobNotice j
+                        WHERE j.contentHash > :after ORDER BY j.contentHash
+                        """)
+        List<Object[]> findDedupEntriesAfter(@Param("after") String after, Pageable pageable);
+
+        /**
+         * Next page of (id, sourceUrl) after {@code after}, in id order, of
+         * notices stored before sourceDomain was, or whose URL has no host
+         */
+        @Query("""
+                        SELECT j.id, j.sourceUrl FROM JobNotice j
+                        WHERE j.id > :after AND j.sourceDomain IS NULL ORDER BY j.id
+                        """)
+        List<Object[]> findMissingDomainAfter(@Param("after") UUID after, Pageable pageable);
+
+        /**
+         * Next page of (id, title) after {@code after}, in id order, of
+         * notices stored before their type was copied at ingest
+         */
+        @Query("""
+                        SELECT j.id, j.title FROM JobNotice j
+                        WHERE j.id > :after AND j.noticeType IS NULL ORDER BY j.id
+                        """)
+        List<Object[]> findMissingTypeAfter(@Param("after") UUID after, Pageable pageable);
+
         Page<JobNotice> findByCategory(String category, Pageable pageable);
 
         Page<JobNotice> findByState(String state, Pageable pageable);
@@ -29,30 +61,50 @@ public interface JobNoticeRepository extends JpaRepository<JobNotice, UUID> {
         @Query("SELECT DISTINCT j.state FROM JobNotice j ORDER BY j.state")
         List<String> findDistinctStates();
 
+        long countByFetchedAtAfter(java.time.LocalDateTime since);
+
+        /**
+         * Notices per (category, state, noticeType, engineeringBranches, day
+         * fetched), for NoticeCounts
+         */
+        @Query("""
+                        SELECT j.category, j.state, j.noticeType, j.engineeringBranches,
+                            CAST(j.fetchedAt AS LocalDate), COUNT(j)
+                        FROM JobNotice j
+                        GROUP BY j.category, j.state, j.noticeType, j.engineeringBranches, CAST(j.fetchedAt AS LocalDate)
+                        """)
+        List<Object[]> countByFacetsAndDay();
+
+        @Query("SELECT j.fetchedAt FROM JobNotice j WHERE j.fetchedAt > :since")
+        List<java.time.LocalDateTime> findFetchedAtAfter(@Param("since") java.time.LocalDateTime since);
+
         /**
-         * Flexible filter query.
-         * - category / state: treated as NULL = no filter
-         * - period filter: uses fetchedAt (always present) so notices without
-         * publishedDate are still included in "Today" / "This Week" views
-         * - ORDER BY is omitted so Spring Data can apply the Pageable Sort
+         * Notices past retention: last date before {@code expiredBefore}, or no
+         * last date and first fetched before {@code staleBefore}
          */
         @Query("""
-                        SELECT j FROM JobNotice j
-                        WHERE (:category IS NULL OR j.category = :category)
-                        AND   (:state    IS NULL OR j.state    = :state)
-                        AND   (:noticeType IS NULL OR j.noticeType = :noticeType)
-                        AND   (:branch IS NULL OR j.engineeringBranches LIKE CONCAT('%', :branch, '%'))
-                        AND   (:fromDate IS NULL OR j.fetchedAt >= :fromDate)
-                        AND   (:toDate   IS NULL OR j.fetchedAt <= :toDate)
+                        SELECT j.id FROM JobNotice j
+                        WHERE j.lastDate < :expiredBefore
+                        OR (j.lastDate IS NULL AND j.fetchedAt < :staleBefore)
                         """)
-        Page<JobNotice> findWithFilters(
-                        @Param("category") String category,
-                        @Param("state") String state,
-                        @Param("noticeType") String noticeType,
-                        @Param("branch") String branch,
-                        @Param("fromDate") java.time.LocalDateTime fromDate,
-                        @Param("toDate") java.time.LocalDateTime toDate,
+        List<UUID> findExpiredIds(
+                        @Param("expiredBefore") LocalDate expiredBefore,
+                        @Param("staleBefore") java.time.LocalDateTime staleBefore,
                         Pageable pageable);
 
-        long countByFetchedAtAfter(java.time.LocalDateTime since);
+        /**
+         * Notices whose last date is before {@code closedBefore}, oldest fetched
+         * first, for trimming the table to its size cap. Open notices and those
+         * with no last date are never taken.
+         */
+        @Query("""
+                        SELECT j.id FROM JobNotice j
+                        WHERE j.lastDate < :closedBefore
+                        ORDER BY j.fetchedAt, j.id
+                        """)
+        List<UUID> findOldestClosedIds(@Param("closedBefore") LocalDate closedBefore, Pageable pageable);
+
+        @Modifying
+        @Query("DELETE FROM JobNotice j WHERE j.id IN :ids")
+        int deleteByIdIn(@Param("ids") Collection<UUID> ids);
 }
@@ -0,0 +1,30 @@
+package in.govtjobs.repository;
+
+import in.govtjobs.model.JobNotice;
+
+import java.util.List;
+
+/**
+ * Upsert by content hash, mixed into {@link JobNoticeRepository}.
+ */
+public interface JobNoticeUpsert {
+
+        /**
+         * Insert the notices whose content hash is not stored yet and refresh
+         * lastDate / applyUrl on those that are: in one MERGE statement on H2,
+         * and in a lookup plus insert and update batches elsewhere. A null
+         * lastDate or applyUrl never overwrites a stored value, and rows with
+         * nothing to refresh are left alone, as are hashes already moved to
+         * archived_notices. The notices must have distinct
+         * hashes; their ids are used for the inserted rows.
+         */
+        Result upsertByContentHash(List<JobNotice> notices);
+
+        /**
+         * @param inserted  content hashes of new rows
+         * @param updated   content hashes of existing rows that were refreshed
+         * @param unchanged existing or archived rows with nothing to refresh
+         */
+        record Result(List<String> inserted, List<String> updated, int unchanged) {
+        }
+}
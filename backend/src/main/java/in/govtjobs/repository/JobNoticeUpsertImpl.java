@@ -0,0 +1,189 @@
+package in.govtjobs.repository;
+
+import in.govtjobs.model.JobNotice;
+import in.govtjobs.model.NoticeBranch;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * On H2, MERGE ... USING read back through a FINAL TABLE, so one statement
+ * both writes the batch and says what it did: only inserted and refreshed rows
+ * come back, and a returned id that is not the one we proposed means the row
+ * already existed. Duplicate hashes therefore never surface as constraint
+ * violations, even when another writer stored the row since we last looked.
+ *
+ * FINAL TABLE and MERGE ... USING over a VALUES list are H2 syntax. On any
+ * other database the batch is upserted portably instead: the stored hashes
+ * are looked up, then new rows inserted and changed ones updated in two JDBC
+ * batches. A row another writer stores in between then fails the insert on
+ * the unique content_hash, and ScraperService retries the batch row by row.
+ */
+@RequiredArgsConstructor
+class JobNoticeUpsertImpl implements JobNoticeUpsert {
+
+    private static final String COLUMNS = "id, title, category, state, notice_type, engineering_branches, "
+            + "source_name, source_url, source_domain, apply_url, published_date, last_date, content_hash, fetched_at";
+
+    /**
+     * One source row. Strings are cast without a length, so an over-long value
+     * fails on the column as it would through JPA instead of being truncated.
+     */
+    private static final String ROW = "(CAST(? AS UUID), CAST(? AS VARCHAR), CAST(? AS VARCHAR), "
+            + "CAST(? AS VARCHAR), CAST(? AS VARCHAR), CAST(? AS VARCHAR), CAST(? AS VARCHAR), "
+            + "CAST(? AS VARCHAR), CAST(? AS VARCHAR), CAST(? AS VARCHAR), CAST(? AS DATE), CAST(? AS DATE), "
+            + "CAST(? AS VARCHAR), CAST(? AS TIMESTAMP))";
+
+    private final JdbcTemplate jdbc;
+
+    /** Whether the database is H2, looked up on first use */
+    private volatile Boolean h2;
+
+    @Override
+    public Result upsertByContentHash(List<JobNotice> notices) {
+        if (notices.isEmpty())
+            return new Result(List.of(), List.of(), 0);
+        for (JobNotice n : notices) {
+            if (n.getId() == null)
+                n.setId(UUID.randomUUID());
+        }
+        return isH2() ? merge(notices) : upsertPortably(notices);
+    }
+
+    private Result merge(List<JobNotice> notices) {
+        Map<String, UUID> proposed = new HashMap<>();
+        List<Object> args = new ArrayList<>(notices.size() * 14);
+        for (JobNotice n : notices) {
+            proposed.put(n.getContentHash(), n.getId());
+            args.addAll(Arrays.asList(columnValues(n)));
+        }
+
+        List<String> inserted = new ArrayList<>();
+        List<String> updated = new ArrayList<>();
+        jdbc.query(mergeSql(notices.size()), rs -> {
+            String hash = rs.getString("content_hash");
+            if (proposed.get(hash).equals(rs.getObject("id", UUID.class)))
+                inserted.add(hash);
+            else
+                updated.add(hash);
+        }, args.toArray());
+        indexBranches(notices, inserted);
+        return new Result(inserted, updated, notices.size() - inserted.size() - updated.size());
+    }
+
+    /**
+     * The same upsert without MERGE: what is stored (or archived) under each
+     * hash is read first, then the new rows are inserted and the changed ones
+     * refreshed. Package-private so the H2 tests can run it too.
+     */
+    Result upsertPortably(List<JobNotice> notices) {
+        String in = String.join(", ", Collections.nCopies(notices.size(), "?"));
+        Object[] hashes = notices.stream().map(JobNotice::getContentHash).toArray();
+        Map<String, Stored> stored = new HashMap<>();
+        jdbc.query("SELECT content_hash, last_date, apply_url FROM job_notices WHERE content_hash IN (" + in + ")",
+                rs -> {
+                    Date lastDate = rs.getDate("last_date");
+                    stored.put(rs.getString("content_hash"), new Stored(
+                            lastDate != null ? lastDate.toLocalDate() : null, rs.getString("apply_url")));
+                }, hashes);
+        Set<String> archived = new HashSet<>(jdbc.queryForList(
+                "SELECT content_hash FROM archived_notices WHERE content_hash IN (" + in + ")", String.class, hashes));
+
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> updates = new ArrayList<>();
+        List<String> inserted = new ArrayList<>();
+        List<String> updated = new ArrayList<>();
+        for (JobNotice n : notices) {
+            String hash = n.getContentHash();
+            Stored row = stored.get(hash);
+            if (archived.contains(hash))
+                continue;
+            if (row == null) {
+                inserts.add(columnValues(n));
+                inserted.add(hash);
+            } else if (n.getLastDate() != null && !n.getLastDate().equals(row.lastDate())
+                    || n.getApplyUrl() != null && !n.getApplyUrl().equals(row.applyUrl())) {
+                updates.add(new Object[] { n.getLastDate() != null ? Date.valueOf(n.getLastDate()) : null,
+                        n.getApplyUrl(), hash });
+                updated.add(hash);
+            }
+        }
+        if (!inserts.isEmpty())
+            jdbc.batchUpdate("INSERT INTO job_notices (" + COLUMNS + ") VALUES ("
+                    + String.join(", ", Collections.nCopies(14, "?")) + ")", inserts);
+        if (!updates.isEmpty())
+            jdbc.batchUpdate("UPDATE job_notices SET last_date = COALESCE(?, last_date),"
+                    + " apply_url = COALESCE(?, apply_url) WHERE content_hash = ?", updates);
+        indexBranches(notices, inserted);
+        return new Result(inserted, updated, notices.size() - inserted.size() - updated.size());
+    }
+
+    private boolean isH2() {
+        if (h2 == null) {
+            String product = jdbc.execute((ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName());
+            h2 = "H2".equalsIgnoreCase(product);
+        }
+        return h2;
+    }
+
+    /** A notice's values in {@link #COLUMNS} order */
+    private static Object[] columnValues(JobNotice n) {
+        return new Object[] { n.getId(), n.getTitle(), n.getCategory(), n.getState(), n.getNoticeType(),
+                n.getEngineeringBranches(), n.getSourceName(), n.getSourceUrl(), n.getSourceDomain(),
+                n.getApplyUrl(), n.getPublishedDate() != null ? Date.valueOf(n.getPublishedDate()) : null,
+                n.getLastDate() != null ? Date.valueOf(n.getLastDate()) : null, n.getContentHash(),
+                n.getFetchedAt() != null ? Timestamp.valueOf(n.getFetchedAt()) : null };
+    }
+
+    /** notice_branches rows for the notices just inserted, in the same transaction */
+    private void indexBranches(List<JobNotice> notices, List<String> inserted) {
+        if (inserted.isEmpty())
+            return;
+        Set<String> insertedHashes = new HashSet<>(inserted);
+        List<Object[]> rows = new ArrayList<>();
+        for (JobNotice n : notices) {
+            if (!insertedHashes.contains(n.getContentHash()))
+                continue;
+            for (String code : NoticeBranch.codesOf(n.getEngineeringBranches()))
+                rows.add(new Object[] { n.getId(), code });
+        }
+        if (!rows.isEmpty())
+            jdbc.batchUpdate("INSERT INTO notice_branches (notice_id, branch) VALUES (?, ?)", rows);
+    }
+
+    private static String mergeSql(int rows) {
+        StringBuilder sql = new StringBuilder(200 + rows * (ROW.length() + 2));
+        sql.append("SELECT id, content_hash FROM FINAL TABLE (MERGE INTO job_notices t USING (SELECT * FROM (VALUES ");
+        for (int i = 0; i < rows; i++) {
+            if (i > 0)
+                sql.append(", ");
+            sql.append(ROW);
+        }
+        // Archived hashes count as stored: those rows are left out and come back unchanged
+        sql.append(") v (").append(COLUMNS).append(") WHERE NOT EXISTS (SELECT 1 FROM archived_notices a")
+                .append(" WHERE a.content_hash = v.content_hash)) s ON t.content_hash = s.content_hash")
+                .append(" WHEN MATCHED AND (s.last_date IS NOT NULL AND t.last_date IS DISTINCT FROM s.last_date")
+                .append(" OR s.apply_url IS NOT NULL AND t.apply_url IS DISTINCT FROM s.apply_url)")
+                .append(" THEN UPDATE SET last_date = COALESCE(s.last_date, t.last_date),")
+                .append(" apply_url = COALESCE(s.apply_url, t.apply_url)")
+                .append(" WHEN NOT MATCHED THEN INSERT (").append(COLUMNS).append(") VALUES (")
+                .append(COLUMNS.replaceAll("(\\w+)", "s.$1")).append("))");
+        return sql.toString();
+    }
+
+    private record Stored(LocalDate lastDate, String applyUrl) {
+    }
+}
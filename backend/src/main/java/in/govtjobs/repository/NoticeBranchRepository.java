@@ -0,0 +1,33 @@
+package in.govtjobs.repository;
+
+import in.govtjobs.model.NoticeBranch;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface NoticeBranchRepository extends JpaRepository<NoticeBranch, NoticeBranch.Key> {
+
+        /**
+         * Next page of (id, engineeringBranches) after {@code after}, in id
+         * order, of notices that have branches but no notice_branches rows yet
+         */
+        @Query("""
+                        SELECT j.id, j.engineeringBranches FROM JobNotice j
+                        WHERE j.id > :after AND j.engineeringBranches IS NOT NULL
+                        AND NOT EXISTS (SELECT 1 FROM NoticeBranch b WHERE b.noticeId = j.id)
+                        ORDER BY j.id
+                        """)
+        List<Object[]> findUnindexedAfter(@Param("after") UUID after, Pageable pageable);
+
+        @Modifying
+        @Query("DELETE FROM NoticeBranch b WHERE b.noticeId IN :ids")
+        int deleteByNoticeIdIn(@Param("ids") Collection<UUID> ids);
+}
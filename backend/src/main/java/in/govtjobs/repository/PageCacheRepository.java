@@ -0,0 +1,9 @@
+package in.govtjobs.repository;
+
+import in.govtjobs.model.PageCacheEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PageCacheRepository extends JpaRepository<PageCacheEntry, PageCacheEntry.Key> {
+}
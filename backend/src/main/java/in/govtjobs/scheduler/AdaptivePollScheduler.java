@@ -0,0 +1,232 @@
+package in.govtjobs.scheduler;
+
+import in.govtjobs.model.SourcePollState;
+import in.govtjobs.repository.SourcePollStateRepository;
+import in.govtjobs.scraper.JobNoticeSource;
+import in.govtjobs.service.ScraperService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Polls each source on its own schedule instead of all of them at four fixed
+ * instants.
+ *
+ * A poll counts as a change when the source yielded at least one new
+ * contentHash. From the decayed poll/change counts we estimate a Poisson change
+ * rate (Cho and Garcia-Molina's estimator, which stays finite when every poll
+ * or no poll saw a change) and poll again after the median time to the next
+ * change, ln 2 / rate. Intervals are clamped, scaled up as a whole when they
+ * would exceed the daily poll budget, and jittered so fetches spread out.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AdaptivePollScheduler {
+
+    /** Weight of past observations per poll; ~10 polls of memory */
+    private static final double DECAY = 0.9;
+
+    /** Below this many (decayed) observations the initial interval is used */
+    private static final double MIN_OBSERVATIONS = 3;
+
+    private final ScraperService scraperService;
+    private final SourcePollStateRepository repository;
+
+    private final Map<String, SourcePollState> states = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    @Value("${scraper.adaptive.enabled:false}")
+    private boolean enabled;
+
+    @Value("${scraper.adaptive.initial-interval-minutes:360}")
+    private long initialIntervalMinutes;
+
+    @Value("${scraper.adaptive.min-interval-minutes:30}")
+    private long minIntervalMinutes;
+
+    @Value("${scraper.adaptive.max-interval-minutes:1440}")
+    private long maxIntervalMinutes;
+
+    /** Polls per day across all sources; 0 keeps the fixed cron's 4 per source */
+    @Value("${scraper.adaptive.daily-poll-budget:0}")
+    private int dailyPollBudget;
+
+    /** Delay before polling again a source that failed or was not run */
+    @Value("${scraper.adaptive.retry-minutes:10}")
+    private long retryMinutes;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Every minute: scrape the sources whose next poll is due, learn from what
+     * they yielded and schedule their next poll. A source that threw, or was
+     * not run because another run was in progress, learns nothing and is
+     * polled again after retry-minutes.
+     */
+    @Scheduled(fixedDelayString = "${scraper.adaptive.tick-ms:60000}", initialDelayString = "${scraper.adaptive.initial-delay-ms:120000}")
+    public void pollDueSources() {
+        if (!enabled)
+            return;
+        ensureLoaded();
+        LocalDateTime now = LocalDateTime.now();
+        List<JobNoticeSource> due = new ArrayList<>();
+        for (JobNoticeSource source : scraperService.getSources()) {
+            SourcePollState state = states.get(source.getSourceName());
+            if (!state.getNextPollAt().isAfter(now))
+                due.add(source);
+        }
+        if (due.isEmpty())
+            return;
+
+        log.info("⏰ Adaptive poll: {} source(s) due", due.size());
+        Map<String, Integer> savedBySource = new HashMap<>();
+        scraperService.runSources(due, savedBySource);
+
+        LocalDateTime polledAt = LocalDateTime.now();
+        Map<String, Long> intervals = intervals();
+        for (JobNoticeSource source : due) {
+            SourcePollState state = states.get(source.getSourceName());
+            // Missing when the source threw, or another run was already in progress
+            Integer saved = savedBySource.get(source.getSourceName());
+            if (saved == null) {
+                state.setNextPollAt(polledAt.plusMinutes(retryMinutes));
+                persist(state);
+                log.info("[Adaptive] {}: not polled, retrying in {} min", source.getSourceName(), retryMinutes);
+                continue;
+            }
+            observe(state, saved, polledAt);
+            long interval = intervals.get(source.getSourceName());
+            state.setIntervalMinutes(interval);
+            state.setNextPollAt(polledAt.plusMinutes(jitter(interval)));
+            persist(state);
+            log.info("[Adaptive] {}: {} new, ~{}/day change rate, next poll in {} min", source.getSourceName(),
+                    saved, String.format("%.2f", state.getChangeRate() * 24), interval);
+        }
+    }
+
+    /** Copies of the learned rate and next poll per source, sorted by source name */
+    public Map<String, SourcePollState> snapshot() {
+        ensureLoaded();
+        Map<String, SourcePollState> copy = new TreeMap<>();
+        states.forEach((name, state) -> copy.put(name, state.toBuilder().build()));
+        return Collections.unmodifiableMap(copy);
+    }
+
+    private void observe(SourcePollState state, int saved, LocalDateTime polledAt) {
+        if (state.getLastPolledAt() != null) {
+            double hours = Duration.between(state.getLastPolledAt(), polledAt).toMinutes() / 60.0;
+            state.setPolls(state.getPolls() * DECAY + 1);
+            state.setChanges(state.getChanges() * DECAY + (saved > 0 ? 1 : 0));
+            state.setHours(state.getHours() * DECAY + hours);
+            state.setChangeRate(changeRate(state.getPolls(), state.getChanges(), state.getHours()));
+        }
+        state.setLastPolledAt(polledAt);
+        if (saved > 0)
+            state.setLastChangedAt(polledAt);
+    }
+
+    /**
+     * Changes per hour from n polls, x of which saw a change, over the given
+     * total hours: -ln((n - x + 0.5) / (n + 0.5)) / mean interval.
+     */
+    static double changeRate(double polls, double changes, double hours) {
+        if (polls <= 0 || hours <= 0)
+            return 0;
+        double meanInterval = hours / polls;
+        return -Math.log((polls - changes + 0.5) / (polls + 0.5)) / meanInterval;
+    }
+
+    /**
+     * Interval in minutes per source: ln 2 / rate, clamped, then stretched
+     * uniformly if the total would exceed the daily budget.
+     */
+    private Map<String, Long> intervals() {
+        Map<String, Double> ideal = new HashMap<>();
+        double pollsPerDay = 0;
+        for (SourcePollState state : states.values()) {
+            double minutes = state.getPolls() < MIN_OBSERVATIONS
+                    ? initialIntervalMinutes
+                    : state.getChangeRate() <= 0 ? maxIntervalMinutes : Math.log(2) / state.getChangeRate() * 60;
+            minutes = clamp(minutes);
+            ideal.put(state.getSourceName(), minutes);
+            pollsPerDay += 1440 / minutes;
+        }
+
+        int budget = dailyPollBudget > 0 ? dailyPollBudget : 4 * states.size();
+        double stretch = pollsPerDay > budget ? pollsPerDay / budget : 1;
+        Map<String, Long> intervals = new HashMap<>();
+        ideal.forEach((name, minutes) -> intervals.put(name, Math.round(clamp(minutes * stretch))));
+        return intervals;
+    }
+
+    private double clamp(double minutes) {
+        return Math.max(minIntervalMinutes, Math.min(maxIntervalMinutes, minutes));
+    }
+
+    /** ±15% so sources with equal intervals drift apart */
+    private static long jitter(long minutes) {
+        return Math.round(minutes * ThreadLocalRandom.current().nextDouble(0.85, 1.15));
+    }
+
+    /**
+     * Load persisted states; sources seen for the first time get the initial
+     * interval, with first polls staggered across it.
+     */
+    private void ensureLoaded() {
+        if (loaded)
+            return;
+        synchronized (this) {
+            if (loaded)
+                return;
+            Map<String, SourcePollState> persisted = new HashMap<>();
+            try {
+                repository.findAll().forEach(s -> persisted.put(s.getSourceName(), s));
+            } catch (Exception e) {
+                log.warn("Could not load poll states: {}", e.getMessage());
+            }
+            // States of sources that no longer exist are ignored, so they do not
+            // count against the budget
+            List<JobNoticeSource> sources = scraperService.getSources();
+            LocalDateTime now = LocalDateTime.now();
+            for (int i = 0; i < sources.size(); i++) {
+                String name = sources.get(i).getSourceName();
+                if (persisted.containsKey(name)) {
+                    states.put(name, persisted.get(name));
+                    continue;
+                }
+                long offset = initialIntervalMinutes * i / sources.size();
+                states.put(name, SourcePollState.builder()
+                        .sourceName(name)
+                        .intervalMinutes(initialIntervalMinutes)
+                        .nextPollAt(now.plusMinutes(offset))
+                        .build());
+            }
+            log.info("Adaptive polling for {} sources", states.size());
+            loaded = true;
+        }
+    }
+
+    private void persist(SourcePollState state) {
+        try {
+            repository.save(state);
+        } catch (Exception e) {
+            log.warn("Could not persist poll state for {}: {}", state.getSourceName(), e.getMessage());
+        }
+    }
+}
@@ -14,16 +14,29 @@ import org.springframework.stereotype.Component;
 public class ScraperScheduler {
 
     private final ScraperService scraperService;
+    private final AdaptivePollScheduler adaptivePollScheduler;
 
     /**
-     * Run scraper every 6 hours: midnight, 6am, noon, 6pm IST
+     * Run scraper every 6 hours: midnight, 6am, noon, 6pm IST. Superseded by
+     * {@link AdaptivePollScheduler} when scraper.adaptive.enabled is set.
      */
     @Scheduled(cron = "0 0 0,6,12,18 * * *", zone = "Asia/Kolkata")
     public void scheduledScrape() {
+        if (adaptivePollScheduler.isEnabled())
+            return;
         log.info("⏰ Scheduled scrape triggered");
         scraperService.runAll();
     }
 
+    /**
+     * Move notices past retention out of job_notices, daily at 3:30am IST,
+     * or when the scrape running at that time finishes
+     */
+    @Scheduled(cron = "${scraper.notice-archive.cron:0 30 3 * * *}", zone = "Asia/Kolkata")
+    public void scheduledArchive() {
+        scraperService.archiveNotices();
+    }
+
     /**
      * Run once at startup to populate data immediately
      */
@@ -0,0 +1,78 @@
+package in.govtjobs.scraper;
+
+import in.govtjobs.dto.RawNotice;
+import in.govtjobs.util.ScraperUtils;
+import in.govtjobs.util.Selectors;
+import in.govtjobs.util.TitleLabels;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Evaluator;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * A {@link SourceDefinition} with its selectors compiled into Evaluators. Runs
+ * the usual fetch, select, title, keyword filter, RawNotice loop in one DOM
+ * traversal (or one streaming pass) per page.
+ */
+public final class ExtractionPlan {
+
+    private final SourceDefinition definition;
+    private final Evaluator selectors;
+    private final Evaluator fallbackSelectors;
+
+    private ExtractionPlan(SourceDefinition definition) {
+        this.definition = definition;
+        this.selectors = Selectors.compile(definition.getSelectors());
+        this.fallbackSelectors = Selectors.compileOrNull(definition.getFallbackSelectors());
+    }
+
+    /**
+     * @throws org.jsoup.select.Selector.SelectorParseException if a selector is
+     *                                                          invalid
+     */
+    public static ExtractionPlan compile(SourceDefinition definition) {
+        return new ExtractionPlan(definition);
+    }
+
+    public SourceDefinition getDefinition() {
+        return definition;
+    }
+
+    /**
+     * @throws in.govtjobs.fetch.PageUnchangedException if the page is unchanged
+     *                                                   since the last run
+     */
+    public List<RawNotice> extract(ScraperUtils utils) throws IOException {
+        return utils.collectLinks(definition.getUrl(), definition.getTimeoutMs(), selectors, fallbackSelectors,
+                definition.getCap(), link -> toNotice(utils, link));
+    }
+
+    private RawNotice toNotice(ScraperUtils utils, Element link) {
+        String title = utils.buildTitle(link);
+        if (title.length() < 10 || utils.isJunkTitle(title))
+            return null;
+        TitleLabels labels = utils.classify(title);
+        if (!definition.getTitleFilter().test(labels))
+            return null;
+
+        String href = link.attr("href");
+        if (!definition.getHrefFilter().test(href))
+            return null;
+        href = utils.absoluteUrl(definition.getBase(), href);
+        ScraperUtils.RowContext row = utils.rowContext(link);
+
+        return RawNotice.builder()
+                .title(utils.normalizeTitleForDisplay(title))
+                .applyUrl(href)
+                .sourceName(definition.getSourceName())
+                .sourceUrl(definition.getSourceUrl() != null ? definition.getSourceUrl() : definition.getBase())
+                .category(definition.getCategory())
+                .state(definition.getState())
+                .noticeType(labels.noticeType())
+                .engineeringBranches(labels.engineeringBranches())
+                .publishedDate(row.publishedDate())
+                .lastDate(row.lastDate())
+                .build();
+    }
+}
@@ -1,6 +1,7 @@
 package in.govtjobs.scraper;
 
 import in.govtjobs.dto.RawNotice;
+import in.govtjobs.util.ScraperUtils;
 
 import java.util.List;
 
@@ -36,4 +37,10 @@ public interface JobNoticeSource {
      * failure.
      */
     List<RawNotice> fetchRaw();
+
+    /**
+     * A new instance of this source, configured the same, that reads its pages
+     * through {@code utils}, e.g. an offline instance replaying archived pages.
+     */
+    JobNoticeSource withUtils(ScraperUtils utils);
 }
@@ -0,0 +1,54 @@
+package in.govtjobs.scraper;
+
+import in.govtjobs.util.TitleLabels;
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.function.Predicate;
+
+/**
+ * Declarative description of a listing page: where it is, which anchors are
+ * notices, how to filter them and what to stamp on the resulting RawNotices.
+ * Compile it once with {@link ExtractionPlan#compile} and reuse the plan.
+ */
+@Value
+@Builder
+public class SourceDefinition {
+
+    /** Used for RawNotice.sourceName and log lines */
+    String sourceName;
+
+    /** RawNotice.sourceUrl; defaults to {@link #base} */
+    String sourceUrl;
+
+    /** Listing page to fetch */
+    String url;
+
+    /** Base for resolving relative hrefs */
+    String base;
+
+    String category;
+
+    String state;
+
+    /** CSS selecting candidate anchors */
+    String selectors;
+
+    /** Used only when {@link #selectors} match nothing; may be null */
+    String fallbackSelectors;
+
+    /** Stop after this many notices */
+    @Builder.Default
+    int cap = 20;
+
+    @Builder.Default
+    int timeoutMs = 10000;
+
+    /** Accepts titles that look like job notices, given their keyword labels */
+    @Builder.Default
+    Predicate<TitleLabels> titleFilter = labels -> true;
+
+    /** Accepts raw href attributes, before resolving against {@link #base} */
+    @Builder.Default
+    Predicate<String> hrefFilter = href -> true;
+}
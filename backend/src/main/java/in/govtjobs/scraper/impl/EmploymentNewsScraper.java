@@ -1,13 +1,13 @@
 package in.govtjobs.scraper.impl;
 
 import in.govtjobs.dto.RawNotice;
+import in.govtjobs.fetch.PageUnchangedException;
 import in.govtjobs.scraper.JobNoticeSource;
 import in.govtjobs.util.ScraperUtils;
+import in.govtjobs.util.TitleLabels;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
-import org.jsoup.select.Elements;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
@@ -55,12 +55,26 @@ public class EmploymentNewsScraper implements JobNoticeSource {
         return "Central";
     }
 
+    @Override
+    public JobNoticeSource withUtils(ScraperUtils utils) {
+        return new EmploymentNewsScraper(utils);
+    }
+
+    /**
+     * NCS is read only if the Employment News root found fewer than 5
+     * notices. A root page that is unchanged answered and its notices are
+     * already stored, so NCS is not fetched.
+     */
     @Override
     public List<RawNotice> fetchRaw() {
         List<RawNotice> notices = new ArrayList<>();
-        notices.addAll(scrapeEmploymentNewsRoot());
-        if (notices.size() < 5) {
-            notices.addAll(scrapeNcs());
+        try {
+            notices.addAll(scrapeEmploymentNewsRoot());
+            if (notices.size() < 5) {
+                notices.addAll(scrapeNcs());
+            }
+        } catch (PageUnchangedException e) {
+            log.info("[EmploymentNews] NCS not fetched");
         }
         log.info("[EmploymentNews] Fetched {} notices", notices.size());
         return notices;
@@ -69,24 +83,21 @@ public class EmploymentNewsScraper implements JobNoticeSource {
     /**
      * Try the Employment News root page — sometimes has a latest notices section
      * even when the inner pages are broken.
+     *
+     * @throws PageUnchangedException if the page is unchanged since the last
+     *                                run; any other failure yields no notices
      */
-    private List<RawNotice> scrapeEmploymentNewsRoot() {
+    private List<RawNotice> scrapeEmploymentNewsRoot() throws PageUnchangedException {
         List<RawNotice> list = new ArrayList<>();
         try {
-            Document doc = utils.fetchPageLax(EN_ROOT_URL, 15000);
             // Look for PDF links, recruitment anchors, or table-row links
-            Elements links = doc.select(
+            list = utils.collectLinks(EN_ROOT_URL, 15000,
                     "a[href*='pdf'], a[href*='recruit'], a[href*='advt'], a[href*='vacancy'], " +
-                            "a[href*='notification'], table tr td a, ul li a");
-            for (Element link : links) {
-                String title = utils.buildTitle(link);
-                if (title.length() < 10 || utils.isJunkTitle(title))
-                    continue;
-                String href = utils.absoluteUrl("https://employmentnews.gov.in", link.attr("href"));
-                notices(list, title, href, link);
-                if (list.size() >= 30)
-                    break;
-            }
+                            "a[href*='notification'], table tr td a, ul li a",
+                    null, 30, this::rootNotice);
+        } catch (PageUnchangedException e) {
+            log.info("[EmploymentNews/Root] Unchanged since last fetch — skipped parsing");
+            throw e;
         } catch (Exception e) {
             log.warn("[EmploymentNews/Root] Failed: {}", e.getMessage());
         }
@@ -100,95 +111,55 @@ public class EmploymentNewsScraper implements JobNoticeSource {
     private List<RawNotice> scrapeNcs() {
         List<RawNotice> list = new ArrayList<>();
         try {
-            Document doc = utils.fetchPageLax(NCS_URL, 15000);
             // NCS uses table rows and list items for job listings
-            Elements links = doc.select("table tr td a, ul li a, .job-title a, a[href*='jobid'], a[href*='job']");
-            if (links.isEmpty())
-                links = doc.select("a[href]");
-
-            for (Element link : links) {
-                String title = utils.buildTitle(link);
-                if (title.length() < 10 || utils.isJunkTitle(title))
-                    continue;
-                if (!isGovtJobRelated(title))
-                    continue;
-                String href = utils.absoluteUrl(NCS_BASE, link.attr("href"));
-                notices(list, title, href, link);
-                if (list.size() >= 30)
-                    break;
-            }
+            list = utils.collectLinks(NCS_URL, 15000,
+                    "table tr td a, ul li a, .job-title a, a[href*='jobid'], a[href*='job']",
+                    "a[href]", 30, this::ncsNotice);
+        } catch (PageUnchangedException e) {
+            log.info("[EmploymentNews/NCS] Unchanged since last fetch — skipped parsing");
         } catch (Exception e) {
             log.warn("[EmploymentNews/NCS] Failed: {}", e.getMessage());
         }
         return list;
     }
 
-    private void notices(List<RawNotice> list, String title, String href, Element link) {
-        list.add(RawNotice.builder()
-                .title(utils.normalizeTitleForDisplay(title))
-                .applyUrl(href)
-                .sourceName(getSourceName())
-                .sourceUrl(getSourceUrl())
-                .category(deriveCategory(title))
-                .state(deriveState(title))
-                .noticeType(utils.categorizeNoticeType(title))
-                .engineeringBranches(utils.inferEngineeringBranches(title))
-                .publishedDate(utils.parseDate(utils.extractDateFromAncestor(link, 0)))
-                .lastDate(utils.parseDate(utils.extractDateFromAncestor(link, 1)))
-                .build());
+    private RawNotice rootNotice(Element link) {
+        String title = utils.buildTitle(link);
+        if (title.length() < 10 || utils.isJunkTitle(title))
+            return null;
+        String href = utils.absoluteUrl("https://employmentnews.gov.in", link.attr("href"));
+        return notice(utils.classify(title), href, link);
     }
 
-    private boolean isGovtJobRelated(String title) {
-        String t = title.toLowerCase();
-        return t.contains("govt") || t.contains("government") || t.contains("central")
-                || t.contains("state") || t.contains("psu") || t.contains("upsc")
-                || t.contains("ssc") || t.contains("rrb") || t.contains("ibps")
-                || t.contains("bank") || t.contains("railway") || t.contains("recruit")
-                || t.contains("vacancy") || t.contains("notification") || t.contains("officer")
-                || t.contains("clerk") || t.contains("defence") || t.contains("air force")
-                || t.contains("navy") || t.contains("army") || t.contains("police")
-                || t.contains("aiims") || t.contains("esic") || t.contains("nhm")
-                || t.contains("public service");
+    private RawNotice ncsNotice(Element link) {
+        String title = utils.buildTitle(link);
+        if (title.length() < 10 || utils.isJunkTitle(title))
+            return null;
+        TitleLabels labels = utils.classify(title);
+        if (!labels.has("relevant.govt"))
+            return null;
+        String href = utils.absoluteUrl(NCS_BASE, link.attr("href"));
+        return notice(labels, href, link);
     }
 
-    private String deriveCategory(String title) {
-        String t = title.toLowerCase();
-        if (t.contains("bank") || t.contains("rbi") || t.contains("nabard") || t.contains("ibps"))
-            return "BANK";
-        if (t.contains("ssc") || t.contains("staff selection"))
-            return "SSC";
-        if (t.contains("railway") || t.contains("rrb"))
-            return "RAILWAYS";
-        if (t.contains("upsc") || t.contains("civil service") || t.contains("ias"))
-            return "UPSC";
-        if (t.contains("defence") || t.contains("army") || t.contains("navy") || t.contains("air force"))
-            return "DEFENCE";
-        if (t.contains("doctor") || t.contains("medical") || t.contains("nurse") || t.contains("health")
-                || t.contains("aiims") || t.contains("esic") || t.contains("nhm"))
-            return "MEDICAL";
-        if (t.contains("psu") || t.contains("bhel") || t.contains("ongc") || t.contains("ntpc"))
-            return "PSU";
-        return "OTHERS";
-    }
+    /**
+     * Employment News spans every recruiter, so category and state come from
+     * the title rather than from this source.
+     */
+    private RawNotice notice(TitleLabels labels, String href, Element link) {
+        ScraperUtils.RowContext row = utils.rowContext(link);
 
-    private String deriveState(String title) {
-        String t = title.toLowerCase();
-        if (t.contains("tamil nadu") || t.contains("tnpsc"))
-            return "Tamil Nadu";
-        if (t.contains("maharashtra"))
-            return "Maharashtra";
-        if (t.contains("karnataka"))
-            return "Karnataka";
-        if (t.contains("kerala"))
-            return "Kerala";
-        if (t.contains("delhi") || t.contains("ndmc"))
-            return "Delhi";
-        if (t.contains("gujarat"))
-            return "Gujarat";
-        if (t.contains("rajasthan"))
-            return "Rajasthan";
-        if (t.contains("uttar pradesh") || t.contains("uppsc"))
-            return "Uttar Pradesh";
-        return "Central";
+        return RawNotice.builder()
+                .title(utils.normalizeTitleForDisplay(labels.title()))
+                .applyUrl(href)
+                .sourceName(getSourceName())
+                .sourceUrl(getSourceUrl())
+                .category(labels.category())
+                .state(labels.state())
+                .noticeType(labels.noticeType())
+                .engineeringBranches(labels.engineeringBranches())
+                .publishedDate(row.publishedDate())
+                .lastDate(row.lastDate())
+                .build();
     }
 }
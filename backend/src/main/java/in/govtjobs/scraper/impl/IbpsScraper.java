@@ -1,13 +1,13 @@
 package in.govtjobs.scraper.impl;
 
 import in.govtjobs.dto.RawNotice;
+import in.govtjobs.fetch.PageUnchangedException;
 import in.govtjobs.scraper.JobNoticeSource;
 import in.govtjobs.util.ScraperUtils;
+import in.govtjobs.util.TitleLabels;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
-import org.jsoup.select.Elements;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
@@ -47,59 +47,53 @@ public class IbpsScraper implements JobNoticeSource {
         return "Central";
     }
 
+    @Override
+    public JobNoticeSource withUtils(ScraperUtils utils) {
+        return new IbpsScraper(utils);
+    }
+
     @Override
     public List<RawNotice> fetchRaw() {
         List<RawNotice> notices = new ArrayList<>();
         try {
-            Document doc = utils.fetchPageLax(URL);
-            // IBPS WordPress site — posts are h2 or h3 article titles
-            Elements items = doc.select("article a, h2 a, h3 a, .entry-title a, .post-title a");
-            if (items.isEmpty()) {
-                // Fallback: grab all anchors with recruitment in href or text
-                items = doc.select("a[href*='ibps'], a[href*='recruit'], a[href*='notification']");
-            }
-
-            for (Element link : items) {
-                String title = utils.buildTitle(link);
-                if (title.length() < 10 || utils.isJunkTitle(title))
-                    continue;
-                if (!isJobRelated(title))
-                    continue;
-
-                String href = utils.absoluteUrl(BASE_URL, link.attr("href"));
-
-                notices.add(RawNotice.builder()
-                        .title(title)
-                        .applyUrl(href)
-                        .sourceName(getSourceName())
-                        .sourceUrl(getSourceUrl())
-                        .category(getCategory())
-                        .state(getState())
-                        .publishedDate(utils.parseDate(utils.extractDateFromAncestor(link, 0)))
-                        .lastDate(utils.parseDate(utils.extractDateFromAncestor(link, 1)))
-                        .build());
-
-                if (notices.size() >= 25)
-                    break;
-            }
+            // IBPS WordPress site — posts are h2 or h3 article titles.
+            // Fallback: grab all anchors with recruitment in href or text
+            notices = utils.collectLinks(URL, "article a, h2 a, h3 a, .entry-title a, .post-title a",
+                    "a[href*='ibps'], a[href*='recruit'], a[href*='notification']", 25, this::toNotice);
             log.info("[IBPS] Fetched {} notices", notices.size());
+        } catch (PageUnchangedException e) {
+            log.info("[IBPS] Unchanged since last fetch — skipped parsing");
         } catch (Exception e) {
             log.error("[IBPS] Failed to scrape: {}", e.getMessage());
         }
         return notices;
     }
 
-    private boolean isJobRelated(String title) {
-        String t = title.toLowerCase();
-        return t.contains("recruit") || t.contains("notification") || t.contains("vacancy")
-                || t.contains("ibps") || t.contains("clerk") || t.contains("po ")
-                || t.contains("officer") || t.contains("specialist") || t.contains("so ")
-                || t.contains("rrb") || t.contains("crp") || t.contains("advt")
-                || t.contains("advertisement") || t.contains("apply") || t.contains("result")
-                || t.contains("admit") || t.contains("score card") || t.contains("selection")
-                || t.contains("interview") || t.contains("exam") || t.contains("mains")
-                || t.contains("prelim");
+    /**
+     * Notice for a matched link, or null if the link is not a job notice.
+     */
+    private RawNotice toNotice(Element link) {
+        String title = utils.buildTitle(link);
+        if (title.length() < 10 || utils.isJunkTitle(title))
+            return null;
+        TitleLabels labels = utils.classify(title);
+        if (!labels.has("relevant.ibps"))
+            return null;
+
+        String href = utils.absoluteUrl(BASE_URL, link.attr("href"));
+        ScraperUtils.RowContext row = utils.rowContext(link);
+
+        return RawNotice.builder()
+                .title(title)
+                .applyUrl(href)
+                .sourceName(getSourceName())
+                .sourceUrl(getSourceUrl())
+                .category(getCategory())
+                .state(getState())
+                .publishedDate(row.publishedDate())
+                .lastDate(row.lastDate())
+                .build();
     }
 
-    // Local extractDate removed — now using utils.extractDateFromAncestor()
+    // Local extractDate removed — now using utils.rowContext()
 }
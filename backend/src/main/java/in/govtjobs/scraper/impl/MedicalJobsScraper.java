@@ -1,13 +1,13 @@
 package in.govtjobs.scraper.impl;
 
 import in.govtjobs.dto.RawNotice;
+import in.govtjobs.fetch.PageUnchangedException;
 import in.govtjobs.scraper.JobNoticeSource;
 import in.govtjobs.util.ScraperUtils;
+import in.govtjobs.util.TitleLabels;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
-import org.jsoup.select.Elements;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
@@ -69,6 +69,11 @@ public class MedicalJobsScraper implements JobNoticeSource {
         return "Central";
     }
 
+    @Override
+    public JobNoticeSource withUtils(ScraperUtils utils) {
+        return new MedicalJobsScraper(utils);
+    }
+
     @Override
     public List<RawNotice> fetchRaw() {
         List<RawNotice> notices = new ArrayList<>();
@@ -86,23 +91,12 @@ public class MedicalJobsScraper implements JobNoticeSource {
     private List<RawNotice> scrapeAiims() {
         List<RawNotice> list = new ArrayList<>();
         try {
-            Document doc = utils.fetchPageLax(AIIMS_URL, 15000);
-            Elements links = doc.select("a[href*='recruit'], a[href*='notice'], a[href*='vacancy'], a[href*='pdf']");
-            if (links.isEmpty())
-                links = doc.select("table tr a, ul li a, div a");
-
-            for (Element link : links) {
-                String title = utils.buildTitle(link);
-                if (title.length() < 10 || utils.isJunkTitle(title))
-                    continue;
-                if (!isMedicalOrRelevant(title))
-                    continue;
-                String href = utils.absoluteUrl(AIIMS_BASE, link.attr("href"));
-                list.add(buildNotice(title, href, "AIIMS Jodhpur", AIIMS_BASE, "Central", link));
-                if (list.size() >= 20)
-                    break;
-            }
+            list = utils.collectLinks(AIIMS_URL, 15000,
+                    "a[href*='recruit'], a[href*='notice'], a[href*='vacancy'], a[href*='pdf']",
+                    "table tr a, ul li a, div a", 20, this::aiimsNotice);
             log.info("[AIIMS] Fetched {} notices", list.size());
+        } catch (PageUnchangedException e) {
+            log.info("[AIIMS] Unchanged since last fetch — skipped parsing");
         } catch (Exception e) {
             log.error("[AIIMS] Failed to scrape: {}", e.getMessage());
         }
@@ -117,20 +111,13 @@ public class MedicalJobsScraper implements JobNoticeSource {
     private List<RawNotice> scrapeEsic() {
         List<RawNotice> list = new ArrayList<>();
         try {
-            Document doc = utils.fetchPageLax(ESIC_URL, 15000);
             // ESIC recruitment page lists PDF links for each recruitment notice
-            Elements links = doc.select("a[href*='recruit'], a[href*='pdf'], a[href*='vacancy'], table tr a, ul li a");
-            for (Element link : links) {
-                String title = utils.buildTitle(link);
-                if (title.length() < 10 || utils.isJunkTitle(title))
-                    continue;
-                String href = utils.absoluteUrl(ESIC_BASE, link.attr("href"));
-                list.add(buildNotice(title, href, "ESIC (Employees' State Insurance Corporation)", ESIC_BASE, "Central",
-                        link));
-                if (list.size() >= 20)
-                    break;
-            }
+            list = utils.collectLinks(ESIC_URL, 15000,
+                    "a[href*='recruit'], a[href*='pdf'], a[href*='vacancy'], table tr a, ul li a",
+                    null, 20, this::esicNotice);
             log.info("[ESIC] Fetched {} notices", list.size());
+        } catch (PageUnchangedException e) {
+            log.info("[ESIC] Unchanged since last fetch — skipped parsing");
         } catch (Exception e) {
             log.error("[ESIC] Failed to scrape: {}", e.getMessage());
         }
@@ -145,26 +132,14 @@ public class MedicalJobsScraper implements JobNoticeSource {
     private List<RawNotice> scrapeNhm() {
         List<RawNotice> list = new ArrayList<>();
         try {
-            Document doc = utils.fetchPageLax(NHM_URL, 15000);
             // NHM home page "What's New" section has PDF links — pick ones with recruitment
             // keywords
-            Elements links = doc.select("a[href*='.pdf'], a[href*='recruit'], a[href*='vacancy'], a[href*='advt']");
-            if (links.isEmpty())
-                links = doc.select("table td a, ul li a");
-
-            for (Element link : links) {
-                String title = utils.buildTitle(link);
-                if (title.length() < 10 || utils.isJunkTitle(title))
-                    continue;
-                // Strict filter: must have a recruitment-type word
-                if (!hasRecruitmentKeyword(title))
-                    continue;
-                String href = utils.absoluteUrl(NHM_BASE, link.attr("href"));
-                list.add(buildNotice(title, href, "NHM (National Health Mission)", NHM_BASE, "Central", link));
-                if (list.size() >= 20)
-                    break;
-            }
+            list = utils.collectLinks(NHM_URL, 15000,
+                    "a[href*='.pdf'], a[href*='recruit'], a[href*='vacancy'], a[href*='advt']",
+                    "table td a, ul li a", 20, this::nhmNotice);
             log.info("[NHM] Fetched {} notices", list.size());
+        } catch (PageUnchangedException e) {
+            log.info("[NHM] Unchanged since last fetch — skipped parsing");
         } catch (Exception e) {
             log.error("[NHM] Failed to scrape: {}", e.getMessage());
         }
@@ -177,76 +152,80 @@ public class MedicalJobsScraper implements JobNoticeSource {
     private List<RawNotice> scrapeMrb() {
         List<RawNotice> list = new ArrayList<>();
         try {
-            Document doc = utils.fetchPageLax(MRB_URL);
-            Elements links = doc.select(
-                    "a[href*='recruit'], a[href*='notification'], a[href*='pdf'], a[href*='vacancy'], table tr a, ul li a");
-            if (links.isEmpty())
-                links = doc.select("a");
-
-            for (Element link : links) {
-                String title = utils.buildTitle(link);
-                if (title.length() < 10 || utils.isJunkTitle(title))
-                    continue;
-                if (!isMedicalOrRelevant(title))
-                    continue;
-                String href = utils.absoluteUrl(MRB_BASE, link.attr("href"));
-                list.add(buildNotice(title, href, "MRB Tamil Nadu (Medical Recruitment Board)",
-                        MRB_BASE, "Tamil Nadu", link));
-                if (list.size() >= 20)
-                    break;
-            }
+            list = utils.collectLinks(MRB_URL,
+                    "a[href*='recruit'], a[href*='notification'], a[href*='pdf'], a[href*='vacancy'], table tr a, ul li a",
+                    "a", 20, this::mrbNotice);
             log.info("[MRB] Fetched {} notices", list.size());
+        } catch (PageUnchangedException e) {
+            log.info("[MRB] Unchanged since last fetch — skipped parsing");
         } catch (Exception e) {
             log.error("[MRB] Failed to scrape: {}", e.getMessage());
         }
         return list;
     }
 
+    private RawNotice aiimsNotice(Element link) {
+        String title = utils.buildTitle(link);
+        if (title.length() < 10 || utils.isJunkTitle(title))
+            return null;
+        TitleLabels labels = utils.classify(title);
+        if (!labels.has("relevant.medical"))
+            return null;
+        String href = utils.absoluteUrl(AIIMS_BASE, link.attr("href"));
+        return buildNotice(labels, href, "AIIMS Jodhpur", AIIMS_BASE, "Central", link);
+    }
+
+    private RawNotice esicNotice(Element link) {
+        String title = utils.buildTitle(link);
+        if (title.length() < 10 || utils.isJunkTitle(title))
+            return null;
+        String href = utils.absoluteUrl(ESIC_BASE, link.attr("href"));
+        return buildNotice(utils.classify(title), href, "ESIC (Employees' State Insurance Corporation)", ESIC_BASE,
+                "Central", link);
+    }
+
+    private RawNotice nhmNotice(Element link) {
+        String title = utils.buildTitle(link);
+        if (title.length() < 10 || utils.isJunkTitle(title))
+            return null;
+        // Strict filter: must have a recruitment-type word, not just a role name
+        TitleLabels labels = utils.classify(title);
+        if (!labels.has("recruitment.medical"))
+            return null;
+        String href = utils.absoluteUrl(NHM_BASE, link.attr("href"));
+        return buildNotice(labels, href, "NHM (National Health Mission)", NHM_BASE, "Central", link);
+    }
+
+    private RawNotice mrbNotice(Element link) {
+        String title = utils.buildTitle(link);
+        if (title.length() < 10 || utils.isJunkTitle(title))
+            return null;
+        TitleLabels labels = utils.classify(title);
+        if (!labels.has("relevant.medical"))
+            return null;
+        String href = utils.absoluteUrl(MRB_BASE, link.attr("href"));
+        return buildNotice(labels, href, "MRB Tamil Nadu (Medical Recruitment Board)",
+                MRB_BASE, "Tamil Nadu", link);
+    }
+
     // -------------------------------------------------------------------------
     // Shared helpers
     // -------------------------------------------------------------------------
-    private RawNotice buildNotice(String title, String href, String sourceName,
+    private RawNotice buildNotice(TitleLabels labels, String href, String sourceName,
             String sourceUrl, String state, Element link) {
+        ScraperUtils.RowContext row = utils.rowContext(link);
+
         return RawNotice.builder()
-                .title(utils.normalizeTitleForDisplay(title))
+                .title(utils.normalizeTitleForDisplay(labels.title()))
                 .applyUrl(href)
                 .sourceName(sourceName)
                 .sourceUrl(sourceUrl)
                 .category(getCategory())
                 .state(state)
-                .noticeType(utils.categorizeNoticeType(title))
-                .engineeringBranches(utils.inferEngineeringBranches(title))
-                .publishedDate(utils.parseDate(utils.extractDateFromAncestor(link, 0)))
-                .lastDate(utils.parseDate(utils.extractDateFromAncestor(link, 1)))
+                .noticeType(labels.noticeType())
+                .engineeringBranches(labels.engineeringBranches())
+                .publishedDate(row.publishedDate())
+                .lastDate(row.lastDate())
                 .build();
     }
-
-    /**
-     * Broad check: at least one job/medical-role keyword present.
-     * Used by AIIMS and MRB where the page is already recruitment-focused.
-     */
-    private boolean isMedicalOrRelevant(String title) {
-        String t = title.toLowerCase();
-        return t.contains("recruit") || t.contains("vacancy") || t.contains("notification")
-                || t.contains("advt") || t.contains("advertisement") || t.contains("job")
-                || t.contains("doctor") || t.contains("nurse") || t.contains("physician")
-                || t.contains("pharmacist") || t.contains("radiographer") || t.contains("technician")
-                || t.contains("specialist") || t.contains("surgeon") || t.contains("dental")
-                || t.contains("paramedic") || t.contains("anm") || t.contains("assistant")
-                || t.contains("officer") || t.contains("engineer") || t.contains("clerk")
-                || t.contains("mrb") || t.contains("aiims") || t.contains("esic");
-    }
-
-    /**
-     * Stricter check for pages that mix job notices with general content.
-     * Requires an explicit recruitment-action word (not just a role name).
-     */
-    private boolean hasRecruitmentKeyword(String title) {
-        String t = title.toLowerCase();
-        return t.contains("recruit") || t.contains("vacancy") || t.contains("notification")
-                || t.contains("advt") || t.contains("advertisement") || t.contains("application")
-                || t.contains("selection") || t.contains("walk-in") || t.contains("walkin")
-                || t.contains("engage") || t.contains("appoint") || t.contains("post of")
-                || t.contains("position") || t.contains("hiring");
-    }
 }
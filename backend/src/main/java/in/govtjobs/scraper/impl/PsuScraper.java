@@ -1,13 +1,13 @@
 package in.govtjobs.scraper.impl;
 
 import in.govtjobs.dto.RawNotice;
+import in.govtjobs.fetch.PageUnchangedException;
 import in.govtjobs.scraper.JobNoticeSource;
 import in.govtjobs.util.ScraperUtils;
+import in.govtjobs.util.TitleLabels;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
-import org.jsoup.select.Elements;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
@@ -46,50 +46,52 @@ public class PsuScraper implements JobNoticeSource {
         return "Central";
     }
 
+    @Override
+    public JobNoticeSource withUtils(ScraperUtils utils) {
+        return new PsuScraper(utils);
+    }
+
     @Override
     public List<RawNotice> fetchRaw() {
         List<RawNotice> notices = new ArrayList<>();
         try {
-            Document doc = utils.fetchPageLax(URL);
-            Elements links = doc.select(
+            notices = utils.collectLinks(URL,
                     "a[href*='recruit'], a[href*='career'], a[href*='notification'], " +
-                            "a[href*='vacancy'], a[href*='pdf'], table tr a, ul li a, .ibm-columns a");
-
-            for (Element link : links) {
-                String title = utils.buildTitle(link);
-                if (title.length() < 10 || utils.isJunkTitle(title))
-                    continue;
-                if (!isJobRelated(title))
-                    continue;
-
-                String href = utils.absoluteUrl(BASE_URL, link.attr("href"));
-
-                notices.add(RawNotice.builder()
-                        .title(title)
-                        .applyUrl(href)
-                        .sourceName(getSourceName())
-                        .sourceUrl(getSourceUrl())
-                        .category(getCategory())
-                        .state(getState())
-                        .publishedDate(utils.parseDate(utils.extractDateFromAncestor(link, 0)))
-                        .lastDate(utils.parseDate(utils.extractDateFromAncestor(link, 1)))
-                        .build());
-
-                if (notices.size() >= 20)
-                    break;
-            }
+                            "a[href*='vacancy'], a[href*='pdf'], table tr a, ul li a, .ibm-columns a",
+                    null, 20, this::toNotice);
             log.info("[PSU/ONGC] Fetched {} notices", notices.size());
+        } catch (PageUnchangedException e) {
+            log.info("[PSU/ONGC] Unchanged since last fetch — skipped parsing");
         } catch (Exception e) {
             log.error("[PSU/ONGC] Failed to scrape: {}", e.getMessage());
         }
         return notices;
     }
 
-    private boolean isJobRelated(String title) {
-        String t = title.toLowerCase();
-        return t.contains("recruit") || t.contains("vacancy") || t.contains("notification")
-                || t.contains("career") || t.contains("job") || t.contains("post")
-                || t.contains("engineer") || t.contains("officer") || t.contains("apprentice");
+    /**
+     * Notice for a matched link, or null if the link is not a job notice.
+     */
+    private RawNotice toNotice(Element link) {
+        String title = utils.buildTitle(link);
+        if (title.length() < 10 || utils.isJunkTitle(title))
+            return null;
+        TitleLabels labels = utils.classify(title);
+        if (!labels.has("relevant.psu"))
+            return null;
+
+        String href = utils.absoluteUrl(BASE_URL, link.attr("href"));
+        ScraperUtils.RowContext row = utils.rowContext(link);
+
+        return RawNotice.builder()
+                .title(title)
+                .applyUrl(href)
+                .sourceName(getSourceName())
+                .sourceUrl(getSourceUrl())
+                .category(getCategory())
+                .state(getState())
+                .publishedDate(row.publishedDate())
+                .lastDate(row.lastDate())
+                .build();
     }
 
 }
@@ -1,13 +1,13 @@
 package in.govtjobs.scraper.impl;
 
 import in.govtjobs.dto.RawNotice;
+import in.govtjobs.fetch.PageUnchangedException;
 import in.govtjobs.scraper.JobNoticeSource;
 import in.govtjobs.util.ScraperUtils;
+import in.govtjobs.util.TitleLabels;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
-import org.jsoup.select.Elements;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
@@ -67,77 +67,88 @@ public class RrbScraper implements JobNoticeSource {
         return "Central";
     }
 
+    @Override
+    public JobNoticeSource withUtils(ScraperUtils utils) {
+        return new RrbScraper(utils);
+    }
+
+    /**
+     * Boards in order, each read only if those before found fewer than 8
+     * notices. A board whose page is unchanged answered and its notices are
+     * already stored, so the boards after it are not fetched.
+     */
     @Override
     public List<RawNotice> fetchRaw() {
         List<RawNotice> notices = new ArrayList<>();
-
-        // Try RRC NR first
-        notices.addAll(scrapeSource(RRC_NR_URL, RRC_NR_BASE, "RRC NR (Northern Railway)"));
-
-        // RRB Ajmer (replaces RRB Bhopal which had connection reset)
-        if (notices.size() < 8)
-            notices.addAll(scrapeSource(RRB_AJM_URL, RRB_AJM_BASE, "RRB Ajmer"));
-
-        // RRB Mumbai
-        if (notices.size() < 8)
-            notices.addAll(scrapeSource(RRB_MUM_URL, RRB_MUM_BASE, "RRB Mumbai"));
-
-        // RRB Allahabad as final backup
-        if (notices.size() < 8)
-            notices.addAll(scrapeSource(RRB_ALD_URL, RRB_ALD_BASE, "RRB Allahabad"));
+        try {
+            // Try RRC NR first
+            notices.addAll(scrapeSource(RRC_NR_URL, RRC_NR_BASE, "RRC NR (Northern Railway)"));
+
+            // RRB Ajmer (replaces RRB Bhopal which had connection reset)
+            if (notices.size() < 8)
+                notices.addAll(scrapeSource(RRB_AJM_URL, RRB_AJM_BASE, "RRB Ajmer"));
+
+            // RRB Mumbai
+            if (notices.size() < 8)
+                notices.addAll(scrapeSource(RRB_MUM_URL, RRB_MUM_BASE, "RRB Mumbai"));
+
+            // RRB Allahabad as final backup
+            if (notices.size() < 8)
+                notices.addAll(scrapeSource(RRB_ALD_URL, RRB_ALD_BASE, "RRB Allahabad"));
+        } catch (PageUnchangedException e) {
+            log.info("[RRB] Stopped at an unchanged board");
+        }
 
         log.info("[RRB] Total fetched {} notices", notices.size());
         return notices;
     }
 
-    private List<RawNotice> scrapeSource(String url, String base, String label) {
+    /**
+     * @throws PageUnchangedException if the page is unchanged since the last
+     *                                run; any other failure yields no notices
+     */
+    private List<RawNotice> scrapeSource(String url, String base, String label) throws PageUnchangedException {
         List<RawNotice> list = new ArrayList<>();
         try {
-            Document doc = utils.fetchPageLax(url, 20000);
-            Elements links = doc.select(
+            list = utils.collectLinks(url, 20000,
                     "a[href*='pdf'], a[href*='PDF'], a[href*='notification'], a[href*='Notification'], " +
-                            "a[href*='Recruitment'], a[href*='advt'], a[href*='Advt'], table tr td a, ul li a");
-            if (links.isEmpty())
-                links = doc.select("a[href]");
-
-            for (Element link : links) {
-                String title = utils.buildTitle(link);
-                if (title.length() < 10 || !isJobRelated(title) || utils.isJunkTitle(title))
-                    continue;
-
-                String href = utils.absoluteUrl(base, link.attr("href"));
-
-                list.add(RawNotice.builder()
-                        .title(utils.normalizeTitleForDisplay(title))
-                        .applyUrl(href)
-                        .sourceName(getSourceName())
-                        .sourceUrl(getSourceUrl())
-                        .category(getCategory())
-                        .state(getState())
-                        .noticeType(utils.categorizeNoticeType(title))
-                        .engineeringBranches(utils.inferEngineeringBranches(title))
-                        .publishedDate(utils.parseDate(utils.extractDateFromAncestor(link, 0)))
-                        .lastDate(utils.parseDate(utils.extractDateFromAncestor(link, 1)))
-                        .build());
-
-                if (list.size() >= 15)
-                    break;
-            }
+                            "a[href*='Recruitment'], a[href*='advt'], a[href*='Advt'], table tr td a, ul li a",
+                    "a[href]", 15, link -> toNotice(base, link));
             log.info("[RRB/{}] Fetched {} notices", label, list.size());
+        } catch (PageUnchangedException e) {
+            log.info("[RRB/{}] Unchanged since last fetch — skipped parsing", label);
+            throw e;
         } catch (Exception e) {
             log.warn("[RRB/{}] Failed: {}", label, e.getMessage());
         }
         return list;
     }
 
-    private boolean isJobRelated(String title) {
-        String t = title.toLowerCase();
-        return t.contains("recruitment") || t.contains("vacancy") || t.contains("notification")
-                || t.contains("ntpc") || t.contains("group d") || t.contains("group-d")
-                || t.contains("alp") || t.contains("technician") || t.contains("je ")
-                || t.contains("junior engineer") || t.contains("rrb") || t.contains("rrc")
-                || t.contains("railway") || t.contains("result") || t.contains("admit")
-                || t.contains("selection") || t.contains("apprent") || t.contains("loco pilot")
-                || t.contains("paramedical") || t.contains("ministerial");
+    /**
+     * Notice for a matched link, or null if the link is not a job notice.
+     */
+    private RawNotice toNotice(String base, Element link) {
+        String title = utils.buildTitle(link);
+        if (title.length() < 10 || utils.isJunkTitle(title))
+            return null;
+        TitleLabels labels = utils.classify(title);
+        if (!labels.has("relevant.rrb"))
+            return null;
+
+        String href = utils.absoluteUrl(base, link.attr("href"));
+        ScraperUtils.RowContext row = utils.rowContext(link);
+
+        return RawNotice.builder()
+                .title(utils.normalizeTitleForDisplay(title))
+                .applyUrl(href)
+                .sourceName(getSourceName())
+                .sourceUrl(getSourceUrl())
+                .category(getCategory())
+                .state(getState())
+                .noticeType(labels.noticeType())
+                .engineeringBranches(labels.engineeringBranches())
+                .publishedDate(row.publishedDate())
+                .lastDate(row.lastDate())
+                .build();
     }
 }
@@ -1,8 +1,10 @@
 package in.govtjobs.scraper.impl;
 
 import in.govtjobs.dto.RawNotice;
+import in.govtjobs.fetch.PageUnchangedException;
 import in.govtjobs.scraper.JobNoticeSource;
 import in.govtjobs.util.ScraperUtils;
+import in.govtjobs.util.TitleLabels;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jsoup.nodes.Document;
@@ -45,6 +47,11 @@ public class SbiScraper implements JobNoticeSource {
         return "Central";
     }
 
+    @Override
+    public JobNoticeSource withUtils(ScraperUtils utils) {
+        return new SbiScraper(utils);
+    }
+
     @Override
     public List<RawNotice> fetchRaw() {
         List<RawNotice> notices = new ArrayList<>();
@@ -57,10 +64,12 @@ public class SbiScraper implements JobNoticeSource {
                 String title = utils.buildTitle(link);
                 if (title.length() < 10 || utils.isJunkTitle(title))
                     continue;
-                if (!isJobLink(title))
+                TitleLabels labels = utils.classify(title);
+                if (!labels.has("relevant.sbi"))
                     continue;
 
                 String href = utils.absoluteUrl(BASE_URL, link.attr("href"));
+                ScraperUtils.RowContext row = utils.rowContext(link);
 
                 notices.add(RawNotice.builder()
                         .title(utils.normalizeTitleForDisplay(title))
@@ -69,26 +78,21 @@ public class SbiScraper implements JobNoticeSource {
                         .sourceUrl(getSourceUrl())
                         .category(getCategory())
                         .state(getState())
-                        .noticeType(utils.categorizeNoticeType(title))
-                        .engineeringBranches(utils.inferEngineeringBranches(title))
-                        .publishedDate(utils.parseDate(utils.extractDateFromAncestor(link, 0)))
-                        .lastDate(utils.parseDate(utils.extractDateFromAncestor(link, 1)))
+                        .noticeType(labels.noticeType())
+                        .engineeringBranches(labels.engineeringBranches())
+                        .publishedDate(row.publishedDate())
+                        .lastDate(row.lastDate())
                         .build());
 
                 if (notices.size() >= 20)
                     break;
             }
             log.info("[SBI] Fetched {} notices", notices.size());
+        } catch (PageUnchangedException e) {
+            log.info("[SBI] Unchanged since last fetch — skipped parsing");
         } catch (Exception e) {
             log.error("[SBI] Failed to scrape: {}", e.getMessage());
         }
         return notices;
     }
-
-    private boolean isJobLink(String title) {
-        String t = title.toLowerCase();
-        return t.contains("recruit") || t.contains("officer") || t.contains("clerk")
-                || t.contains("specialist") || t.contains("appointment") || t.contains("vacancy")
-                || t.contains("post") || t.contains("notification");
-    }
 }
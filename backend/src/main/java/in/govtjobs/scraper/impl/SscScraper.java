@@ -1,13 +1,13 @@
 package in.govtjobs.scraper.impl;
 
 import in.govtjobs.dto.RawNotice;
+import in.govtjobs.fetch.PageUnchangedException;
 import in.govtjobs.scraper.JobNoticeSource;
 import in.govtjobs.util.ScraperUtils;
+import in.govtjobs.util.TitleLabels;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
-import org.jsoup.select.Elements;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
@@ -64,65 +64,78 @@ public class SscScraper implements JobNoticeSource {
         return "Central";
     }
 
+    @Override
+    public JobNoticeSource withUtils(ScraperUtils utils) {
+        return new SscScraper(utils);
+    }
+
+    /**
+     * Regions in order, each read only if those before found fewer than 5
+     * notices. A region whose page is unchanged answered and its notices are
+     * already stored, so the regions after it are not fetched.
+     */
     @Override
     public List<RawNotice> fetchRaw() {
         List<RawNotice> notices = new ArrayList<>();
-        notices.addAll(scrapeSource(SSC_NR_URL, SSC_NR_BASE, "SSC NR (Northern Region)"));
-        // sscner.nic.in is unreachable (DNS failure) — use MPR instead
-        if (notices.size() < 5)
-            notices.addAll(scrapeSource(SSC_MPR_URL, SSC_MPR_BASE, "SSC MPR (Madhya Pradesh Region)"));
-        if (notices.size() < 5)
-            notices.addAll(scrapeSource(SSC_ER_URL, SSC_ER_BASE, "SSC ER (Eastern Region)"));
+        try {
+            notices.addAll(scrapeSource(SSC_NR_URL, SSC_NR_BASE, "SSC NR (Northern Region)"));
+            // sscner.nic.in is unreachable (DNS failure) — use MPR instead
+            if (notices.size() < 5)
+                notices.addAll(scrapeSource(SSC_MPR_URL, SSC_MPR_BASE, "SSC MPR (Madhya Pradesh Region)"));
+            if (notices.size() < 5)
+                notices.addAll(scrapeSource(SSC_ER_URL, SSC_ER_BASE, "SSC ER (Eastern Region)"));
+        } catch (PageUnchangedException e) {
+            log.info("[SSC] Stopped at an unchanged region");
+        }
         log.info("[SSC] Total fetched {} notices", notices.size());
         return notices;
     }
 
-    private List<RawNotice> scrapeSource(String url, String base, String label) {
+    /**
+     * @throws PageUnchangedException if the page is unchanged since the last
+     *                                run; any other failure yields no notices
+     */
+    private List<RawNotice> scrapeSource(String url, String base, String label) throws PageUnchangedException {
         List<RawNotice> list = new ArrayList<>();
         try {
-            Document doc = utils.fetchPageLax(url, 15000);
             // Static NIC pages use simple tables and <li> lists
-            Elements links = doc.select("table tr td a, ul li a, .content a, p a, div a");
-            if (links.isEmpty())
-                links = doc.select("a[href]");
-
-            for (Element link : links) {
-                String title = utils.buildTitle(link);
-                if (title.length() < 10 || !isRelevantNotice(title) || utils.isJunkTitle(title))
-                    continue;
-
-                String href = utils.absoluteUrl(base, link.attr("href"));
-
-                list.add(RawNotice.builder()
-                        .title(utils.normalizeTitleForDisplay(title))
-                        .applyUrl(href)
-                        .sourceName(getSourceName())
-                        .sourceUrl(getSourceUrl())
-                        .category(getCategory())
-                        .state(getState())
-                        .noticeType(utils.categorizeNoticeType(title))
-                        .engineeringBranches(utils.inferEngineeringBranches(title))
-                        .publishedDate(utils.parseDate(utils.extractDateFromAncestor(link, 0)))
-                        .lastDate(utils.parseDate(utils.extractDateFromAncestor(link, 1)))
-                        .build());
-
-                if (list.size() >= 20)
-                    break;
-            }
+            list = utils.collectLinks(url, 15000, "table tr td a, ul li a, .content a, p a, div a",
+                    "a[href]", 20, link -> toNotice(base, link));
             log.info("[SSC/{}] Fetched {} notices", label, list.size());
+        } catch (PageUnchangedException e) {
+            log.info("[SSC/{}] Unchanged since last fetch — skipped parsing", label);
+            throw e;
         } catch (Exception e) {
             log.warn("[SSC/{}] Failed: {}", label, e.getMessage());
         }
         return list;
     }
 
-    private boolean isRelevantNotice(String title) {
-        String t = title.toLowerCase();
-        return t.contains("recruitment") || t.contains("vacancy") || t.contains("notification")
-                || t.contains("adverti") || t.contains("selection") || t.contains("examination")
-                || t.contains("result") || t.contains("admit card") || t.contains("cgl")
-                || t.contains("chsl") || t.contains("gd") || t.contains("cpo")
-                || t.contains("steno") || t.contains("mts") || t.contains("phase")
-                || t.contains("call letter") || t.contains("cut off") || t.contains("merit list");
+    /**
+     * Notice for a matched link, or null if the link is not a relevant notice.
+     */
+    private RawNotice toNotice(String base, Element link) {
+        String title = utils.buildTitle(link);
+        if (title.length() < 10 || utils.isJunkTitle(title))
+            return null;
+        TitleLabels labels = utils.classify(title);
+        if (!labels.has("relevant.ssc"))
+            return null;
+
+        String href = utils.absoluteUrl(base, link.attr("href"));
+        ScraperUtils.RowContext row = utils.rowContext(link);
+
+        return RawNotice.builder()
+                .title(utils.normalizeTitleForDisplay(title))
+                .applyUrl(href)
+                .sourceName(getSourceName())
+                .sourceUrl(getSourceUrl())
+                .category(getCategory())
+                .state(getState())
+                .noticeType(labels.noticeType())
+                .engineeringBranches(labels.engineeringBranches())
+                .publishedDate(row.publishedDate())
+                .lastDate(row.lastDate())
+                .build();
     }
 }
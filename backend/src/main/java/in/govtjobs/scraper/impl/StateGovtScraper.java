@@ -1,17 +1,25 @@
 package in.govtjobs.scraper.impl;
 
 import in.govtjobs.dto.RawNotice;
+import in.govtjobs.fetch.Deadline;
+import in.govtjobs.fetch.PageUnchangedException;
+import in.govtjobs.scraper.ExtractionPlan;
 import in.govtjobs.scraper.JobNoticeSource;
+import in.govtjobs.scraper.SourceDefinition;
 import in.govtjobs.util.ScraperUtils;
+import in.govtjobs.util.TitleLabels;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.jsoup.nodes.Document;
-import org.jsoup.nodes.Element;
-import org.jsoup.select.Elements;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Scrapes State Government job notifications.
@@ -29,68 +37,102 @@ import java.util.List;
 @RequiredArgsConstructor
 public class StateGovtScraper implements JobNoticeSource {
 
-    private record StateConfig(
-            String state,
-            String sourceName,
-            String base,
-            String url,
-            String selectors) {
-    }
+    /** Used when a board has no selectors of its own */
+    private static final String DEFAULT_SELECTORS = "table tr td a, ul li a, a[href*='pdf'], a[href*='advt'], a[href*='recruit']";
 
-    private static final List<StateConfig> SOURCES = List.of(
+    /** Compiled once; selectors are shared across boards via the Evaluator cache */
+    private static final List<ExtractionPlan> SOURCES = List.of(
             // --- STATES ---
-            new StateConfig("Andhra Pradesh", "APPSC", "https://psc.ap.gov.in", "https://psc.ap.gov.in/Default.aspx",
+            board("Andhra Pradesh", "APPSC", "https://psc.ap.gov.in", "https://psc.ap.gov.in/Default.aspx",
                     "a"),
-            new StateConfig("Arunachal Pradesh", "APPSC", "https://appsc.gov.in", "https://appsc.gov.in", "a"),
-            new StateConfig("Assam", "APSC", "https://apsc.nic.in", "https://apsc.nic.in", "a"),
-            new StateConfig("Bihar", "BPSC", "https://www.bpsc.bih.nic.in", "https://www.bpsc.bih.nic.in", "a"),
-            new StateConfig("Bihar", "BSSC", "https://bssc.bihar.gov.in", "https://bssc.bihar.gov.in/NoticeBoard.htm",
+            board("Arunachal Pradesh", "APPSC", "https://appsc.gov.in", "https://appsc.gov.in", "a"),
+            board("Assam", "APSC", "https://apsc.nic.in", "https://apsc.nic.in", "a"),
+            board("Bihar", "BPSC", "https://www.bpsc.bih.nic.in", "https://www.bpsc.bih.nic.in", "a"),
+            board("Bihar", "BSSC", "https://bssc.bihar.gov.in", "https://bssc.bihar.gov.in/NoticeBoard.htm",
                     "a"),
-            new StateConfig("Chhattisgarh", "CGPSC", "https://psc.cg.gov.in", "https://psc.cg.gov.in", "a"),
-            new StateConfig("Goa", "GPSC", "https://gpsc.goa.gov.in", "https://gpsc.goa.gov.in/advertisement.php", "a"),
-            new StateConfig("Gujarat", "GPSC", "https://gpsc.gujarat.gov.in",
+            board("Chhattisgarh", "CGPSC", "https://psc.cg.gov.in", "https://psc.cg.gov.in", "a"),
+            board("Goa", "GPSC", "https://gpsc.goa.gov.in", "https://gpsc.goa.gov.in/advertisement.php", "a"),
+            board("Gujarat", "GPSC", "https://gpsc.gujarat.gov.in",
                     "https://gpsc.gujarat.gov.in/Advertisements", "a"),
-            new StateConfig("Haryana", "HPSC", "https://hpsc.gov.in", "https://hpsc.gov.in", "a"),
-            new StateConfig("Haryana", "HSSC", "https://hssc.gov.in", "https://hssc.gov.in", "a"),
-            new StateConfig("Himachal Pradesh", "HPPSC", "http://www.hppsc.hp.gov.in",
+            board("Haryana", "HPSC", "https://hpsc.gov.in", "https://hpsc.gov.in", "a"),
+            board("Haryana", "HSSC", "https://hssc.gov.in", "https://hssc.gov.in", "a"),
+            board("Himachal Pradesh", "HPPSC", "http://www.hppsc.hp.gov.in",
                     "http://www.hppsc.hp.gov.in/hppsc/", "a"),
-            new StateConfig("Jharkhand", "JPSC", "https://jpsc.gov.in", "https://jpsc.gov.in", "a"),
-            new StateConfig("Karnataka", "KPSC", "https://kpsc.kar.nic.in", "https://kpsc.kar.nic.in", "a"),
-            new StateConfig("Kerala", "Kerala PSC", "https://www.keralapsc.gov.in",
+            board("Jharkhand", "JPSC", "https://jpsc.gov.in", "https://jpsc.gov.in", "a"),
+            board("Karnataka", "KPSC", "https://kpsc.kar.nic.in", "https://kpsc.kar.nic.in", "a"),
+            board("Kerala", "Kerala PSC", "https://www.keralapsc.gov.in",
                     "https://www.keralapsc.gov.in/notifications", "a"),
-            new StateConfig("Madhya Pradesh", "MPPSC", "https://mppsc.mp.gov.in", "https://mppsc.mp.gov.in", "a"),
-            new StateConfig("Maharashtra", "MPSC", "https://mpsc.gov.in", "https://mpsc.gov.in", "a"),
-            new StateConfig("Manipur", "Manipur PSC", "https://mppsc.gov.in", "https://mppsc.gov.in", "a"),
-            new StateConfig("Meghalaya", "Meghalaya PSC", "https://mpsc.nic.in", "https://mpsc.nic.in", "a"),
-            new StateConfig("Mizoram", "Mizoram PSC", "https://mpsc.mizoram.gov.in", "https://mpsc.mizoram.gov.in",
+            board("Madhya Pradesh", "MPPSC", "https://mppsc.mp.gov.in", "https://mppsc.mp.gov.in", "a"),
+            board("Maharashtra", "MPSC", "https://mpsc.gov.in", "https://mpsc.gov.in", "a"),
+            board("Manipur", "Manipur PSC", "https://mppsc.gov.in", "https://mppsc.gov.in", "a"),
+            board("Meghalaya", "Meghalaya PSC", "https://mpsc.nic.in", "https://mpsc.nic.in", "a"),
+            board("Mizoram", "Mizoram PSC", "https://mpsc.mizoram.gov.in", "https://mpsc.mizoram.gov.in",
                     "a"),
-            new StateConfig("Nagaland", "NPSC", "https://npsc.nagaland.gov.in", "https://npsc.nagaland.gov.in", "a"),
-            new StateConfig("Odisha", "OPSC", "https://opsc.gov.in", "https://opsc.gov.in", "a"),
-            new StateConfig("Punjab", "PPSC", "https://ppsc.gov.in", "https://ppsc.gov.in", "a"),
-            new StateConfig("Rajasthan", "RPSC", "https://rpsc.rajasthan.gov.in", "https://rpsc.rajasthan.gov.in", "a"),
-            new StateConfig("Sikkim", "SPSC", "https://spsc.sikkim.gov.in", "https://spsc.sikkim.gov.in", "a"),
-            new StateConfig("Tamil Nadu", "TNPSC", "https://www.tnpsc.gov.in", "https://www.tnpsc.gov.in/home.aspx",
+            board("Nagaland", "NPSC", "https://npsc.nagaland.gov.in", "https://npsc.nagaland.gov.in", "a"),
+            board("Odisha", "OPSC", "https://opsc.gov.in", "https://opsc.gov.in", "a"),
+            board("Punjab", "PPSC", "https://ppsc.gov.in", "https://ppsc.gov.in", "a"),
+            board("Rajasthan", "RPSC", "https://rpsc.rajasthan.gov.in", "https://rpsc.rajasthan.gov.in", "a"),
+            board("Sikkim", "SPSC", "https://spsc.sikkim.gov.in", "https://spsc.sikkim.gov.in", "a"),
+            board("Tamil Nadu", "TNPSC", "https://www.tnpsc.gov.in", "https://www.tnpsc.gov.in/home.aspx",
                     "a"),
-            new StateConfig("Telangana", "TSPSC", "https://websitenew.tspsc.gov.in", "https://websitenew.tspsc.gov.in",
+            board("Telangana", "TSPSC", "https://websitenew.tspsc.gov.in", "https://websitenew.tspsc.gov.in",
                     "a"),
-            new StateConfig("Tripura", "TPSC", "https://tpsc.tripura.gov.in", "https://tpsc.tripura.gov.in", "a"),
-            new StateConfig("Uttar Pradesh", "UPPSC", "https://uppsc.up.nic.in", "https://uppsc.up.nic.in", "a"),
-            new StateConfig("Uttar Pradesh", "UPSSSC", "https://upsssc.gov.in", "https://upsssc.gov.in/Default.aspx",
+            board("Tripura", "TPSC", "https://tpsc.tripura.gov.in", "https://tpsc.tripura.gov.in", "a"),
+            board("Uttar Pradesh", "UPPSC", "https://uppsc.up.nic.in", "https://uppsc.up.nic.in", "a"),
+            board("Uttar Pradesh", "UPSSSC", "https://upsssc.gov.in", "https://upsssc.gov.in/Default.aspx",
                     "a"),
-            new StateConfig("Uttarakhand", "UKPSC", "https://psc.uk.gov.in", "https://psc.uk.gov.in", "a"),
-            new StateConfig("West Bengal", "WBPSC", "https://psc.wb.gov.in", "https://psc.wb.gov.in", "a"),
+            board("Uttarakhand", "UKPSC", "https://psc.uk.gov.in", "https://psc.uk.gov.in", "a"),
+            board("West Bengal", "WBPSC", "https://psc.wb.gov.in", "https://psc.wb.gov.in", "a"),
 
             // --- UNION TERRITORIES ---
-            new StateConfig("Delhi", "DSSSB", "https://dsssb.delhi.gov.in", "https://dsssb.delhi.gov.in", "a"),
-            new StateConfig("Jammu & Kashmir", "JKSSB", "https://jkssb.nic.in", "https://jkssb.nic.in", "a"),
-            new StateConfig("Puducherry", "Puducherry Admin", "https://recruitment.py.gov.in",
+            board("Delhi", "DSSSB", "https://dsssb.delhi.gov.in", "https://dsssb.delhi.gov.in", "a"),
+            board("Jammu & Kashmir", "JKSSB", "https://jkssb.nic.in", "https://jkssb.nic.in", "a"),
+            board("Puducherry", "Puducherry Admin", "https://recruitment.py.gov.in",
                     "https://recruitment.py.gov.in", "a"),
-            new StateConfig("Chandigarh", "Chandigarh Admin", "https://chandigarh.gov.in", "https://chandigarh.gov.in",
+            board("Chandigarh", "Chandigarh Admin", "https://chandigarh.gov.in", "https://chandigarh.gov.in",
                     "a"),
-            new StateConfig("Andaman & Nicobar", "A&N Admin", "https://andaman.gov.in", "https://andaman.gov.in", "a"));
+            board("Andaman & Nicobar", "A&N Admin", "https://andaman.gov.in", "https://andaman.gov.in", "a"));
 
     private final ScraperUtils utils;
 
+    /**
+     * Limit to max 10 latest notices per board to avoid flooding the DB with
+     * ancient notices.
+     */
+    private static ExtractionPlan board(String state, String sourceName, String base, String url,
+            String selectors) {
+        return ExtractionPlan.compile(SourceDefinition.builder()
+                .sourceName(sourceName)
+                .base(base)
+                .url(url)
+                .category("STATE")
+                .state(state)
+                .selectors(selectors != null && !selectors.isBlank() ? selectors : DEFAULT_SELECTORS)
+                .cap(10)
+                .timeoutMs(10000)
+                .titleFilter(StateGovtScraper::isJobRelated)
+                .hrefFilter(href -> !href.toLowerCase().contains("javascript:"))
+                .build());
+    }
+
+    /**
+     * Fetch all boards at once instead of one by one. Per-host concurrency is
+     * capped at 1 by the shared FetchLimiter, and results are concatenated in
+     * SOURCES order so the output matches the sequential path.
+     */
+    @Value("${scraper.state.parallel.enabled:false}")
+    private boolean parallelEnabled;
+
+    @Value("${scraper.state.parallel.threads:8}")
+    private int parallelThreads;
+
+    /**
+     * How long one board may spend fetching, from when it starts. Enforced
+     * through its fetch waits and timeouts, never by interrupting it.
+     */
+    @Value("${scraper.state.board-timeout-ms:20000}")
+    private long boardTimeoutMs;
+
     @Override
     public String getSourceName() {
         return "State Government PSC Jobs";
@@ -111,53 +153,94 @@ public class StateGovtScraper implements JobNoticeSource {
         return "Various States";
     }
 
+    @Override
+    public JobNoticeSource withUtils(ScraperUtils utils) {
+        StateGovtScraper copy = new StateGovtScraper(utils);
+        copy.parallelEnabled = parallelEnabled;
+        copy.parallelThreads = parallelThreads;
+        copy.boardTimeoutMs = boardTimeoutMs;
+        return copy;
+    }
+
     @Override
     public List<RawNotice> fetchRaw() {
         List<RawNotice> notices = new ArrayList<>();
 
-        for (StateConfig config : SOURCES) {
-            notices.addAll(scrapeGeneric(config));
+        if (parallelEnabled) {
+            notices.addAll(scrapeAllParallel());
+        } else {
+            for (ExtractionPlan plan : SOURCES) {
+                notices.addAll(scrapeGeneric(plan, utils));
+            }
         }
 
         log.info("[StateGovt] Total fetched {} notices across all States/UTs", notices.size());
         return notices;
     }
 
-    private List<RawNotice> scrapeGeneric(StateConfig config) {
-        List<RawNotice> list = new ArrayList<>();
-        try {
-            // Use Lax connection to bypass SSL issues and handle timeouts cleanly
-            Document doc = utils.fetchPageLax(config.url(), 10000);
-
-            // Apply specific selectors or fallback to robust generic selection
-            String selectors = (config.selectors() != null && !config.selectors().isBlank())
-                    ? config.selectors()
-                    : "table tr td a, ul li a, a[href*='pdf'], a[href*='advt'], a[href*='recruit']";
-
-            Elements links = doc.select(selectors);
+    private List<RawNotice> scrapeAllParallel() {
+        int threads = Math.max(1, Math.min(parallelThreads, SOURCES.size()));
+        AtomicInteger threadIndex = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "state-board-" + threadIndex.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
 
-            for (Element link : links) {
-                String title = buildTitle(link);
-                if (title.length() < 10 || utils.isJunkTitle(title) || !isJobRelated(title))
-                    continue;
+        List<RawNotice> notices = new ArrayList<>();
+        try {
+            List<Future<List<RawNotice>>> futures = new ArrayList<>(SOURCES.size());
+            for (ExtractionPlan plan : SOURCES) {
+                futures.add(pool.submit(() -> scrapeWithDeadline(plan)));
+            }
 
-                String href = link.attr("href");
-                if (href.toLowerCase().contains("javascript:"))
-                    continue;
-                href = utils.absoluteUrl(config.base(), href);
+            // Collect in SOURCES order so dedup sees the same sequence as the sequential path.
+            // Each board enforces its own deadline, so waiting here never stretches it.
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    notices.addAll(futures.get(i).get());
+                } catch (ExecutionException e) {
+                    log.warn("[StateGovt/{}] Failed: {}", SOURCES.get(i).getDefinition().getSourceName(), e.getCause().getMessage());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            // Never shutdownNow: a board thread may be persisting page state or an archived body
+            pool.shutdown();
+        }
+        return notices;
+    }
 
-                list.add(buildNotice(title, href, config.sourceName(), config.base(), config.state(), link));
+    /**
+     * Scrape one board with every fetch bounded by boardTimeoutMs from when
+     * it starts, not when it was queued, so every board gets the same budget
+     * however long the others take. The deadline only shortens fetch waits
+     * and timeouts and stops new fetches; nothing is interrupted, and what a
+     * board found before its deadline is kept.
+     */
+    private List<RawNotice> scrapeWithDeadline(ExtractionPlan plan) {
+        ScraperUtils bounded = utils.withDeadline(Deadline.in(boardTimeoutMs));
+        try {
+            return scrapeGeneric(plan, bounded);
+        } finally {
+            utils.releasePage();
+        }
+    }
 
-                // Limit to max 10 latest notices per board to avoid flooding the DB with
-                // ancient notices
-                if (list.size() >= 10)
-                    break;
-            }
-            log.info("[StateGovt/{}] Fetched {} notices", config.sourceName(), list.size());
+    private List<RawNotice> scrapeGeneric(ExtractionPlan plan, ScraperUtils boardUtils) {
+        String sourceName = plan.getDefinition().getSourceName();
+        List<RawNotice> list = new ArrayList<>();
+        try {
+            // Lax connection bypasses SSL issues and handles timeouts cleanly
+            list = plan.extract(boardUtils);
+            log.info("[StateGovt/{}] Fetched {} notices", sourceName, list.size());
+        } catch (PageUnchangedException e) {
+            log.info("[StateGovt/{}] Unchanged since last fetch — skipped parsing", sourceName);
         } catch (Exception e) {
             // Some state sites will naturally timeout or throw 403s (like BPSC/Kerala PSC).
             // We catch and softly warn instead of crashing the batch.
-            log.warn("[StateGovt/{}] Failed: {}", config.sourceName(), e.getMessage());
+            log.warn("[StateGovt/{}] Failed: {}", sourceName, e.getMessage());
         }
         return list;
     }
@@ -166,43 +249,11 @@ public class StateGovtScraper implements JobNoticeSource {
     // Shared helpers
     // -------------------------------------------------------------------------
 
-    private RawNotice buildNotice(String title, String href, String sourceName,
-            String sourceUrl, String state, Element link) {
-        return RawNotice.builder()
-                .title(utils.normalizeTitleForDisplay(title))
-                .applyUrl(href)
-                .sourceName(sourceName)
-                .sourceUrl(sourceUrl)
-                .category(getCategory())
-                .state(state)
-                .noticeType(utils.categorizeNoticeType(title))
-                .engineeringBranches(utils.inferEngineeringBranches(title))
-                .publishedDate(utils.parseDate(utils.extractDateFromAncestor(link, 0)))
-                .lastDate(utils.parseDate(utils.extractDateFromAncestor(link, 1)))
-                .build();
-    }
-
-    /**
-     * Build readable title using the shared utility.
-     */
-    private String buildTitle(Element link) {
-        return utils.buildTitle(link);
-    }
-
-    private boolean isJobRelated(String title) {
-        String t = title.toLowerCase();
-
-        // Exclude unwanted updates
-        if (t.contains("result") || t.contains("answer key") || t.contains("admit card") ||
-                t.contains("syllabus") || t.contains("mark sheet") || t.contains("corrigendum") ||
-                t.contains("examination rules") || t.equals("odisha public service commission (opsc)")) {
+    private static boolean isJobRelated(TitleLabels labels) {
+        // Exclude unwanted updates, and the OPSC home link itself
+        if (labels.has("excluded.state")
+                || labels.title().equalsIgnoreCase("odisha public service commission (opsc)"))
             return false;
-        }
-
-        return t.contains("recruit") || t.contains("vacancy") || t.contains("notification")
-                || t.contains("advt") || t.contains("advertisement") || t.contains("post")
-                || t.contains("officer") || t.contains("engineer") || t.contains("inspector")
-                || t.contains("grade") || t.contains("group") || t.contains("combined")
-                || t.contains("direct recruit");
+        return labels.has("relevant.state");
     }
 }
@@ -1,13 +1,13 @@
 package in.govtjobs.scraper.impl;
 
 import in.govtjobs.dto.RawNotice;
+import in.govtjobs.fetch.PageUnchangedException;
 import in.govtjobs.scraper.JobNoticeSource;
 import in.govtjobs.util.ScraperUtils;
+import in.govtjobs.util.TitleLabels;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
-import org.jsoup.select.Elements;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
@@ -49,58 +49,55 @@ public class TnpscScraper implements JobNoticeSource {
         return "Tamil Nadu";
     }
 
+    @Override
+    public JobNoticeSource withUtils(ScraperUtils utils) {
+        return new TnpscScraper(utils);
+    }
+
     @Override
     public List<RawNotice> fetchRaw() {
         List<RawNotice> notices = new ArrayList<>();
         try {
-            Document doc = utils.fetchPageLax(URL, 15000);
             // TNPSC home.aspx has a "Whats new" section as a <ul> list with date + title
             // links.
             // Broad selector: capture all list and table-row links, then filter by title
-            // relevance.
-            Elements links = doc.select("ul li a, table tr td a, a[href*='pdf'], a[href*='aspx']");
-
-            if (links.isEmpty()) {
-                // Fallback: any anchor
-                links = doc.select("a[href]");
-            }
-
-            for (Element link : links) {
-                String title = utils.buildTitle(link);
-                if (title.length() < 10 || utils.isJunkTitle(title))
-                    continue;
-                if (!isRelevantTitle(title))
-                    continue;
-
-                String href = utils.absoluteUrl(BASE_URL, link.attr("href"));
-
-                notices.add(RawNotice.builder()
-                        .title(utils.normalizeTitleForDisplay(title))
-                        .applyUrl(href)
-                        .sourceName(getSourceName())
-                        .sourceUrl(getSourceUrl())
-                        .category(getCategory())
-                        .state(getState())
-                        .noticeType(utils.categorizeNoticeType(title))
-                        .engineeringBranches(utils.inferEngineeringBranches(title))
-                        .publishedDate(utils.parseDate(utils.extractDateFromAncestor(link, 0)))
-                        .lastDate(utils.parseDate(utils.extractDateFromAncestor(link, 1)))
-                        .build());
-
-                if (notices.size() >= 30)
-                    break;
-            }
+            // relevance. Fallback: any anchor
+            notices = utils.collectLinks(URL, 15000, "ul li a, table tr td a, a[href*='pdf'], a[href*='aspx']",
+                    "a[href]", 30, this::toNotice);
             log.info("[TNPSC] Fetched {} notices", notices.size());
+        } catch (PageUnchangedException e) {
+            log.info("[TNPSC] Unchanged since last fetch — skipped parsing");
         } catch (Exception e) {
             log.error("[TNPSC] Failed to scrape: {}", e.getMessage());
         }
         return notices;
     }
 
-    private boolean isRelevantTitle(String title) {
-        String t = title.toLowerCase();
-        return t.contains("recruit") || t.contains("notification") || t.contains("post")
-                || t.contains("exam") || t.contains("vacancy") || t.contains("selection")
-                || t.contains("group") || t.contains("combined") || t.contains("tnpsc");
+    /**
+     * Notice for a matched link, or null if the link is not a relevant notice.
+     */
+    private RawNotice toNotice(Element link) {
+        String title = utils.buildTitle(link);
+        if (title.length() < 10 || utils.isJunkTitle(title))
+            return null;
+        TitleLabels labels = utils.classify(title);
+        if (!labels.has("relevant.tnpsc"))
+            return null;
+
+        String href = utils.absoluteUrl(BASE_URL, link.attr("href"));
+        ScraperUtils.RowContext row = utils.rowContext(link);
+
+        return RawNotice.builder()
+                .title(utils.normalizeTitleForDisplay(title))
+                .applyUrl(href)
+                .sourceName(getSourceName())
+                .sourceUrl(getSourceUrl())
+                .category(getCategory())
+                .state(getState())
+                .noticeType(labels.noticeType())
+                .engineeringBranches(labels.engineeringBranches())
+                .publishedDate(row.publishedDate())
+                .lastDate(row.lastDate())
+                .build();
     }
 }
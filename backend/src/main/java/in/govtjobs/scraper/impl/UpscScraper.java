@@ -1,13 +1,13 @@
 package in.govtjobs.scraper.impl;
 
 import in.govtjobs.dto.RawNotice;
+import in.govtjobs.fetch.PageUnchangedException;
 import in.govtjobs.scraper.JobNoticeSource;
 import in.govtjobs.util.ScraperUtils;
+import in.govtjobs.util.TitleLabels;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
-import org.jsoup.select.Elements;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
@@ -47,51 +47,52 @@ public class UpscScraper implements JobNoticeSource {
         return "Central";
     }
 
+    @Override
+    public JobNoticeSource withUtils(ScraperUtils utils) {
+        return new UpscScraper(utils);
+    }
+
     @Override
     public List<RawNotice> fetchRaw() {
         List<RawNotice> notices = new ArrayList<>();
         try {
-            Document doc = utils.fetchPageLax(URL);
             // Try targeting any anchor with text about recruitment/exam
-            Elements links = doc.select("a");
-
-            for (Element link : links) {
-                String title = utils.buildTitle(link);
-                if (title.length() < 10 || utils.isJunkTitle(title))
-                    continue;
-                if (!isRelevant(title))
-                    continue;
-
-                String href = utils.absoluteUrl(BASE_URL, link.attr("href"));
-
-                notices.add(RawNotice.builder()
-                        .title(utils.normalizeTitleForDisplay(title))
-                        .applyUrl(href)
-                        .sourceName(getSourceName())
-                        .sourceUrl(getSourceUrl())
-                        .category(getCategory())
-                        .state(getState())
-                        .noticeType(utils.categorizeNoticeType(title))
-                        .engineeringBranches(utils.inferEngineeringBranches(title))
-                        .publishedDate(utils.parseDate(utils.extractDateFromAncestor(link, 0)))
-                        .lastDate(utils.parseDate(utils.extractDateFromAncestor(link, 1)))
-                        .build());
-
-                if (notices.size() >= 25)
-                    break;
-            }
+            notices = utils.collectLinks(URL, "a", null, 25, this::toNotice);
             log.info("[UPSC] Fetched {} notices", notices.size());
+        } catch (PageUnchangedException e) {
+            log.info("[UPSC] Unchanged since last fetch — skipped parsing");
         } catch (Exception e) {
             log.error("[UPSC] Failed to scrape: {}", e.getMessage());
         }
         return notices;
     }
 
-    private boolean isRelevant(String title) {
-        String t = title.toLowerCase();
-        return t.contains("recruit") || t.contains("vacancy") || t.contains("adverti")
-                || t.contains("exam") || t.contains("post") || t.contains("selection")
-                || t.contains("notification") || t.contains("civil service") || t.contains("upsc");
+    /**
+     * Notice for a matched link, or null if the link is not a relevant notice.
+     */
+    private RawNotice toNotice(Element link) {
+        String title = utils.buildTitle(link);
+        if (title.length() < 10 || utils.isJunkTitle(title))
+            return null;
+        TitleLabels labels = utils.classify(title);
+        if (!labels.has("relevant.upsc"))
+            return null;
+
+        String href = utils.absoluteUrl(BASE_URL, link.attr("href"));
+        ScraperUtils.RowContext row = utils.rowContext(link);
+
+        return RawNotice.builder()
+                .title(utils.normalizeTitleForDisplay(title))
+                .applyUrl(href)
+                .sourceName(getSourceName())
+                .sourceUrl(getSourceUrl())
+                .category(getCategory())
+                .state(getState())
+                .noticeType(labels.noticeType())
+                .engineeringBranches(labels.engineeringBranches())
+                .publishedDate(row.publishedDate())
+                .lastDate(row.lastDate())
+                .build();
     }
 
 }
@@ -0,0 +1,256 @@
+package in.govtjobs.service;
+
+import in.govtjobs.repository.ArchivedNoticeRepository;
+import in.govtjobs.repository.JobNoticeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+
+/**
+ * Content hashes of every stored notice, with a digest of the fields an
+ * upsert may refresh, held in memory so ingest can drop notices it already
+ * has, unchanged, without asking the database.
+ *
+ * Each SHA-256 hex hash is kept as its first 127 bits in two longs (the last
+ * bit marks the slot used) next to lastDate's epoch day and the first 64
+ * bits of applyUrl's SHA-256, in an open-addressing table: 32 bytes a slot
+ * instead of a ~120 byte String. At those widths a false "seen" or a false
+ * "unchanged" is practically impossible, so a hit is trusted; a miss, or a
+ * hit whose fields would change, goes to the upsert, and the database stays
+ * the final arbiter.
+ *
+ * Loaded from job_notices and archived_notices (archived hashes count as
+ * stored) when the application is ready, or on first use, and kept current
+ * by ScraperService as it writes. Until it has loaded, or if loading
+ * failed, {@link #isReady} is false and every notice goes to the upsert.
+ */
+@Slf4j
+@Component
+public class DedupIndex {
+
+    private static final int LOAD_PAGE = 10_000;
+    private static final int INITIAL_SLOTS = 1024;
+    private static final int SLOT_LONGS = 4;
+
+    /** Date long of a slot when lastDate is null */
+    private static final long NO_DATE = Long.MIN_VALUE;
+    /** URL long of a slot when applyUrl is null */
+    private static final long NO_URL = 0;
+
+    private static final ThreadLocal<MessageDigest> URL_DIGESTS = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    private final JobNoticeRepository repository;
+    private final ArchivedNoticeRepository archivedRepository;
+
+    @Value("${scraper.dedup-index.enabled:true}")
+    private boolean enabled = true;
+
+    /**
+     * Slot i is table[4i..4i+3]: hash high bits, hash low bits with bit 0
+     * set, lastDate, applyUrl digest. A zero second long marks an empty slot.
+     */
+    private long[] table = new long[SLOT_LONGS * INITIAL_SLOTS];
+    private int size;
+    private volatile boolean loaded;
+
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+
+    public DedupIndex(JobNoticeRepository repository, ArchivedNoticeRepository archivedRepository) {
+        this.repository = repository;
+        this.archivedRepository = archivedRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void warm() {
+        isReady();
+    }
+
+    /** True once every stored hash is in the index */
+    public boolean isReady() {
+        if (!enabled)
+            return false;
+        ensureLoaded();
+        return loaded;
+    }
+
+    /**
+     * True if the hash is stored and an upsert of {@code lastDate} and
+     * {@code applyUrl} would not change it. Lookups that find the hash count
+     * as hits; hashes that are not SHA-256 hex are never known.
+     */
+    public boolean isCurrent(String contentHash, LocalDate lastDate, String applyUrl) {
+        lookups.increment();
+        if (!isIndexable(contentHash))
+            return false;
+        long hi = high(contentHash);
+        long lo = low(contentHash);
+        long date;
+        long url;
+        synchronized (this) {
+            int slot = slotOf(table, hi, lo);
+            if (table[slot + 1] == 0)
+                return false;
+            date = table[slot + 2];
+            url = table[slot + 3];
+        }
+        hits.increment();
+        return (lastDate == null || date == lastDate.toEpochDay())
+                && (applyUrl == null || url == urlDigest(applyUrl));
+    }
+
+    /**
+     * Record a stored hash with the lastDate and applyUrl just written; as in
+     * the upsert, null keeps what was recorded before.
+     */
+    public void record(String contentHash, LocalDate lastDate, String applyUrl) {
+        if (!isIndexable(contentHash))
+            return;
+        long hi = high(contentHash);
+        long lo = low(contentHash);
+        // Digested outside the lock, so writers do not queue behind SHA-256
+        long urlDigest = applyUrl != null ? urlDigest(applyUrl) : NO_URL;
+        synchronized (this) {
+            int slot = slotOf(table, hi, lo);
+            if (table[slot + 1] == 0) {
+                table[slot] = hi;
+                table[slot + 1] = lo;
+                table[slot + 2] = NO_DATE;
+                table[slot + 3] = NO_URL;
+                size++;
+            }
+            if (lastDate != null)
+                table[slot + 2] = lastDate.toEpochDay();
+            if (applyUrl != null)
+                table[slot + 3] = urlDigest;
+            // Keep the table at most two thirds full
+            if (size * 3 > table.length / SLOT_LONGS * 2)
+                grow();
+        }
+    }
+
+    public Stats stats() {
+        long lookupCount = lookups.sum();
+        long hitCount = hits.sum();
+        synchronized (this) {
+            return new Stats(loaded, size, (long) table.length * Long.BYTES, lookupCount, hitCount,
+                    lookupCount == 0 ? 0 : (double) hitCount / lookupCount);
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded)
+            return;
+        synchronized (this) {
+            if (loaded)
+                return;
+            try {
+                load(archivedRepository::findDedupEntriesAfter);
+                load(repository::findDedupEntriesAfter);
+                loaded = true;
+                log.info("[Dedup] Loaded {} content hashes into {} KB", size, (long) table.length * Long.BYTES / 1024);
+            } catch (Exception e) {
+                table = new long[SLOT_LONGS * INITIAL_SLOTS];
+                size = 0;
+                log.warn("[Dedup] Could not load content hashes, using the database: {}", e.getMessage());
+            }
+        }
+    }
+
+    /** All (contentHash, lastDate, applyUrl) rows of one table, in hash order */
+    private void load(BiFunction<String, Pageable, List<Object[]>> pages) {
+        String after = "";
+        List<Object[]> page;
+        do {
+            page = pages.apply(after, PageRequest.ofSize(LOAD_PAGE));
+            for (Object[] row : page)
+                record((String) row[0], (LocalDate) row[1], (String) row[2]);
+            if (!page.isEmpty())
+                after = (String) page.get(page.size() - 1)[0];
+        } while (page.size() == LOAD_PAGE);
+    }
+
+    private void grow() {
+        long[] old = table;
+        long[] bigger = new long[old.length * 2];
+        for (int i = 0; i < old.length; i += SLOT_LONGS) {
+            if (old[i + 1] == 0)
+                continue;
+            int slot = slotOf(bigger, old[i], old[i + 1]);
+            System.arraycopy(old, i, bigger, slot, SLOT_LONGS);
+        }
+        table = bigger;
+    }
+
+    /**
+     * Index in {@code t} of the slot holding (hi, lo), or of the empty slot
+     * where it would go. SHA-256 bits are uniform, so the low bits of hi are
+     * the home slot; collisions probe linearly.
+     */
+    private static int slotOf(long[] t, long hi, long lo) {
+        int mask = t.length / SLOT_LONGS - 1;
+        int i = (int) hi & mask;
+        while (true) {
+            int slot = SLOT_LONGS * i;
+            if (t[slot + 1] == 0 || t[slot] == hi && t[slot + 1] == lo)
+                return slot;
+            i = (i + 1) & mask;
+        }
+    }
+
+    private static long high(String hash) {
+        return HexFormat.fromHexDigitsToLong(hash, 0, 16);
+    }
+
+    private static long low(String hash) {
+        return HexFormat.fromHexDigitsToLong(hash, 16, 32) | 1;
+    }
+
+    /** First 64 bits of the SHA-256 of the URL; never NO_URL */
+    private static long urlDigest(String url) {
+        byte[] digest = URL_DIGESTS.get().digest(url.getBytes(StandardCharsets.UTF_8));
+        long bits = 0;
+        for (int i = 0; i < Long.BYTES; i++)
+            bits = bits << 8 | digest[i] & 0xFF;
+        return bits == NO_URL ? 1 : bits;
+    }
+
+    private static boolean isIndexable(String hash) {
+        if (hash == null || hash.length() != 64)
+            return false;
+        for (int i = 0; i < 32; i++) {
+            if (!HexFormat.isHexDigit(hash.charAt(i)))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * @param bytes   size of the slot table
+     * @param hitRate share of lookups answered "already stored" from memory
+     */
+    public record Stats(boolean ready, int entries, long bytes, long lookups, long hits, double hitRate) {
+    }
+}
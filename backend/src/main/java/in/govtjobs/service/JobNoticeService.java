@@ -1,15 +1,19 @@
 package in.govtjobs.service;
 
+import in.govtjobs.dto.CursorPage;
 import in.govtjobs.dto.JobNoticeDto;
-import in.govtjobs.model.JobNotice;
+import in.govtjobs.model.ArchivedNotice;
+import in.govtjobs.repository.ArchivedNoticeRepository;
+import in.govtjobs.repository.JobNoticeListing;
 import in.govtjobs.repository.JobNoticeRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -23,11 +27,82 @@ import java.util.UUID;
 public class JobNoticeService {
 
     private final JobNoticeRepository repository;
+    private final ArchivedNoticeRepository archivedRepository;
+    private final NoticeCounts noticeCounts;
 
+    @Transactional(readOnly = true)
     public Page<JobNoticeDto> getNotices(
             String category, String state, String noticeType, String branch, String period,
             String sortBy, int page, int size) {
 
+        JobNoticeListing.Filters f = filters(category, state, noticeType, branch, period);
+        JobNoticeListing.Order order = order(sortBy);
+        PageRequest pageable = PageRequest.of(page, Math.min(size, 50));
+
+        long total = noticeCounts.count(f.category(), f.state(), f.noticeType(), f.branch(),
+                f.fromDate() != null ? f.fromDate().toLocalDate() : null,
+                f.toDate() != null ? f.toDate().toLocalDate() : null)
+                .orElseGet(() -> repository.countMatching(f));
+        List<JobNoticeListing.Row> rows = repository.findPage(f, order, pageable.getOffset(), pageable.getPageSize());
+        Freshness freshness = Freshness.now();
+        return new PageImpl<>(rows, pageable, total).map(row -> toDto(row, freshness));
+    }
+
+    /**
+     * The same listing as {@link #getNotices}, paged by an opaque cursor
+     * instead of a page number: each page seeks past the last row of the one
+     * before, so deep pages cost the same as the first, and nothing is counted.
+     * A blank cursor starts from the top.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<JobNoticeDto> getNoticesAfter(
+            String category, String state, String noticeType, String branch, String period,
+            String sortBy, String cursor, int size) {
+
+        JobNoticeListing.Filters f = filters(category, state, noticeType, branch, period);
+        JobNoticeListing.Order order = order(sortBy);
+        int limit = Math.max(1, Math.min(size, 50));
+
+        // One extra row says whether there is a next page
+        List<JobNoticeListing.Row> rows = repository.findAfter(f, order, NoticeCursor.decode(cursor, order),
+                limit + 1);
+        boolean more = rows.size() > limit;
+        List<JobNoticeListing.Row> content = more ? rows.subList(0, limit) : rows;
+        Freshness freshness = Freshness.now();
+        String next = more ? NoticeCursor.encode(order, JobNoticeListing.Key.of(content.get(limit - 1), order))
+                : null;
+        return CursorPage.<JobNoticeDto>builder()
+                .content(content.stream().map(row -> toDto(row, freshness)).toList())
+                .nextCursor(next)
+                .size(limit)
+                .build();
+    }
+
+    public long countNew() {
+        LocalDateTime since = LocalDateTime.now().minusHours(24);
+        return noticeCounts.countFetchedAfter(since).orElseGet(() -> repository.countByFetchedAtAfter(since));
+    }
+
+    /** Listed notices first, then those moved out by {@link NoticeArchive} */
+    public Optional<JobNoticeDto> getById(UUID id) {
+        return repository.findById(id)
+                .or(() -> archivedRepository.findById(id).map(ArchivedNotice::toNotice))
+                .map(notice -> toDto(JobNoticeListing.Row.of(notice), Freshness.now()));
+    }
+
+    @Cacheable("categories")
+    public List<String> getCategories() {
+        return repository.findDistinctCategories();
+    }
+
+    @Cacheable("states")
+    public List<String> getStates() {
+        return repository.findDistinctStates();
+    }
+
+    /** Request filters normalised for the repository; null means no filter */
+    private static JobNoticeListing.Filters filters(String category, String state, String noticeType, String branch,
+            String period) {
         LocalDate fromDate = null;
         LocalDate toDate = null;
         LocalDate today = LocalDate.now();
@@ -45,82 +120,59 @@ public class JobNoticeService {
         String nt = (noticeType == null || noticeType.isBlank()) ? null : noticeType.toUpperCase().trim();
         String br = (branch == null || branch.isBlank()) ? null : branch.toUpperCase().trim();
 
-        Sort sort = switch (sortBy == null ? "newest" : sortBy.toLowerCase()) {
-            case "deadline" ->
-                // Soonest last date first; nulls pushed to end
-                Sort.by(Sort.Order.asc("lastDate").nullsLast(), Sort.Order.desc("fetchedAt"));
-            case "fetched" ->
-                Sort.by(Sort.Direction.DESC, "fetchedAt");
-            default -> // "newest"
-                Sort.by(Sort.Order.desc("publishedDate").nullsLast(), Sort.Order.desc("fetchedAt"));
-        };
-
-        PageRequest pageable = PageRequest.of(page, Math.min(size, 50), sort);
-
         LocalDateTime fromDateTime = fromDate == null ? null : fromDate.atStartOfDay();
         LocalDateTime toDateTime = toDate == null ? null : toDate.atTime(23, 59, 59, 999999999);
-
-        Page<JobNotice> notices = repository.findWithFilters(cat, st, nt, br, fromDateTime, toDateTime, pageable);
-        return notices.map(this::toDto);
+        return new JobNoticeListing.Filters(cat, st, nt, br, fromDateTime, toDateTime);
     }
 
-    public long countNew() {
-        return repository.countByFetchedAtAfter(LocalDateTime.now().minusHours(24));
+    private static JobNoticeListing.Order order(String sortBy) {
+        return switch (sortBy == null ? "newest" : sortBy.toLowerCase()) {
+            // Soonest last date first; nulls pushed to end
+            case "deadline" -> JobNoticeListing.Order.DEADLINE;
+            case "fetched" -> JobNoticeListing.Order.FETCHED;
+            default -> JobNoticeListing.Order.NEWEST;
+        };
     }
 
-    public Optional<JobNoticeDto> getById(UUID id) {
-        return repository.findById(id).map(this::toDto);
+    private JobNoticeDto toDto(JobNoticeListing.Row n, Freshness freshness) {
+        return JobNoticeDto.builder()
+                .id(n.id())
+                .title(n.title())
+                .category(n.category())
+                .state(n.state())
+                .noticeType(n.noticeType())
+                .engineeringBranches(n.engineeringBranches())
+                .sourceName(n.sourceName())
+                .sourceUrl(n.sourceUrl())
+                .applyUrl(n.applyUrl())
+                .publishedDate(n.publishedDate())
+                .lastDate(n.lastDate())
+                .fetchedAt(n.fetchedAt())
+                .isNew(freshness.isNew(n.fetchedAt()))
+                .isDeadlineSoon(freshness.isDeadlineSoon(n.lastDate()))
+                .sourceDomain(n.sourceDomain())
+                .build();
     }
 
-    @Cacheable("categories")
-    public List<String> getCategories() {
-        return repository.findDistinctCategories();
-    }
+    /**
+     * The clock-dependent DTO flags, with the clock read once per request
+     * rather than per notice
+     */
+    private record Freshness(LocalDateTime newAfter, LocalDate today, LocalDate soonBefore) {
 
-    @Cacheable("states")
-    public List<String> getStates() {
-        return repository.findDistinctStates();
-    }
+        static Freshness now() {
+            LocalDate today = LocalDate.now();
+            return new Freshness(LocalDateTime.now().minusHours(24), today, today.plusDays(4));
+        }
 
-    private JobNoticeDto toDto(JobNotice n) {
-        LocalDateTime now = LocalDateTime.now();
-        LocalDate today = LocalDate.now();
-        boolean isNew = n.getFetchedAt() != null && n.getFetchedAt().isAfter(now.minusHours(24));
-        boolean isDeadlineSoon = n.getLastDate() != null
-                && !n.getLastDate().isBefore(today)
-                && n.getLastDate().isBefore(today.plusDays(4));
-        String sourceDomain = extractDomain(n.getSourceUrl());
-        return JobNoticeDto.builder()
-                .id(n.getId())
-                .title(n.getTitle())
-                .category(n.getCategory())
-                .state(n.getState())
-                .noticeType(n.getNoticeType())
-                .engineeringBranches(n.getEngineeringBranches())
-                .sourceName(n.getSourceName())
-                .sourceUrl(n.getSourceUrl())
-                .applyUrl(n.getApplyUrl())
-                .publishedDate(n.getPublishedDate())
-                .lastDate(n.getLastDate())
-                .fetchedAt(n.getFetchedAt())
-                .isNew(isNew)
-                .isDeadlineSoon(isDeadlineSoon)
-                .sourceDomain(sourceDomain)
-                .build();
-    }
+        /** Fetched within the last 24 hours */
+        boolean isNew(LocalDateTime fetchedAt) {
+            return fetchedAt != null && fetchedAt.isAfter(newAfter);
+        }
 
-    private String extractDomain(String url) {
-        if (url == null || url.isBlank())
-            return null;
-        try {
-            java.net.URI uri = java.net.URI.create(url);
-            String host = uri.getHost();
-            if (host == null)
-                return null;
-            // Strip leading www.
-            return host.startsWith("www.") ? host.substring(4) : host;
-        } catch (Exception e) {
-            return null;
+        /** Last date within the next 3 days and not already passed */
+        boolean isDeadlineSoon(LocalDate lastDate) {
+            return lastDate != null && !lastDate.isBefore(today) && lastDate.isBefore(soonBefore);
         }
     }
 }
@@ -0,0 +1,114 @@
+package in.govtjobs.service;
+
+import in.govtjobs.repository.ArchivedNoticeRepository;
+import in.govtjobs.repository.JobNoticeRepository;
+import in.govtjobs.repository.NoticeBranchRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Retention for job_notices, so the table every listing query scans stays
+ * bounded. Notices whose last date passed more than expired-after-days ago,
+ * or that have none and were first fetched more than stale-after-days ago,
+ * are moved to archived_notices; if the table is still over max-hot-rows the
+ * oldest fetched of those whose last date has passed follow. Open notices and
+ * notices with no last date only leave by age, so the cap is a soft one: an
+ * archived hash is never ingested again, and a notice still open would be
+ * lost. Each batch is copied and deleted in one transaction.
+ *
+ * Archived notices stay readable by id, and the upsert treats their hashes as
+ * stored, so a notice a source still lists is not ingested again.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class NoticeArchive {
+
+    private final JobNoticeRepository notices;
+    private final ArchivedNoticeRepository archived;
+    private final NoticeBranchRepository branches;
+    private final TransactionTemplate transactions;
+    private final NoticeCounts noticeCounts;
+
+    @Value("${scraper.notice-archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${scraper.notice-archive.expired-after-days:90}")
+    private int expiredAfterDays;
+
+    @Value("${scraper.notice-archive.stale-after-days:180}")
+    private int staleAfterDays;
+
+    /** 0 = no cap beyond the age limits */
+    @Value("${scraper.notice-archive.max-hot-rows:50000}")
+    private long maxHotRows;
+
+    @Value("${scraper.notice-archive.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * Move every notice past retention to the archive. A failed batch stops
+     * the run; what was moved before it stays moved. Not safe alongside a
+     * scrape run; go through {@link ScraperService#archiveNotices()}.
+     *
+     * @return notices archived
+     */
+    @CacheEvict(value = { "states", "categories" }, allEntries = true)
+    public int archiveExpired() {
+        if (!enabled)
+            return 0;
+        LocalDate expiredBefore = LocalDate.now().minusDays(expiredAfterDays);
+        LocalDateTime staleBefore = LocalDateTime.now().minusDays(staleAfterDays);
+        int expired = 0;
+        int overflow = 0;
+        try {
+            List<UUID> ids;
+            do {
+                ids = notices.findExpiredIds(expiredBefore, staleBefore, PageRequest.ofSize(batchSize));
+                expired += move(ids);
+            } while (ids.size() == batchSize);
+
+            long excess = maxHotRows > 0 ? notices.count() - maxHotRows : 0;
+            while (excess > 0) {
+                ids = notices.findOldestClosedIds(LocalDate.now(),
+                        PageRequest.ofSize((int) Math.min(batchSize, excess)));
+                int moved = move(ids);
+                if (moved == 0)
+                    break;
+                overflow += moved;
+                excess -= moved;
+            }
+            if (excess > 0)
+                log.info("[NoticeArchive] {} notices over max-hot-rows kept: still open or undated", excess);
+        } catch (Exception e) {
+            log.warn("[NoticeArchive] Archiving stopped: {}", e.getMessage());
+        }
+        if (expired + overflow > 0) {
+            log.info("[NoticeArchive] Archived {} expired and {} over-cap notices", expired, overflow);
+            noticeCounts.rebuild();
+        }
+        return expired + overflow;
+    }
+
+    private int move(List<UUID> ids) {
+        if (ids.isEmpty())
+            return 0;
+        LocalDateTime now = LocalDateTime.now();
+        Integer moved = transactions.execute(status -> {
+            archived.copyFromNotices(ids, now);
+            branches.deleteByNoticeIdIn(ids);
+            return notices.deleteByIdIn(ids);
+        });
+        return moved != null ? moved : 0;
+    }
+}
@@ -0,0 +1,62 @@
+package in.govtjobs.service;
+
+import in.govtjobs.model.NoticeBranch;
+import in.govtjobs.repository.NoticeBranchRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Fills notice_branches for notices stored before it existed, from their
+ * engineeringBranches column. New notices get their rows from the upsert, so
+ * after the first run this finds nothing; a page that fails is logged and
+ * picked up again on the next start.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NoticeBranchBackfill {
+
+    private static final int PAGE = 1000;
+
+    private final NoticeBranchRepository repository;
+    private final JdbcTemplate jdbc;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void backfill() {
+        UUID after = new UUID(0, 0);
+        int notices = 0;
+        try {
+            List<Object[]> page;
+            do {
+                page = repository.findUnindexedAfter(after, PageRequest.ofSize(PAGE));
+                List<Object[]> rows = new ArrayList<>();
+                for (Object[] notice : page) {
+                    for (String code : NoticeBranch.codesOf((String) notice[1]))
+                        rows.add(new Object[] { notice[0], code });
+                }
+                if (!rows.isEmpty())
+                    jdbc.batchUpdate("INSERT INTO notice_branches (notice_id, branch) VALUES (?, ?)", rows);
+                notices += page.size();
+                if (!page.isEmpty())
+                    after = (UUID) page.get(page.size() - 1)[0];
+            } while (page.size() == PAGE);
+        } catch (Exception e) {
+            log.warn("[Branches] Backfill stopped after {} notices: {}", notices, e.getMessage());
+            return;
+        }
+        if (notices > 0)
+            log.info("[Branches] Indexed branches of {} existing notices", notices);
+    }
+}
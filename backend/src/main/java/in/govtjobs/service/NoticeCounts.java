@@ -0,0 +1,245 @@
+package in.govtjobs.service;
+
+import in.govtjobs.model.JobNotice;
+import in.govtjobs.model.NoticeBranch;
+import in.govtjobs.repository.JobNoticeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Totals behind the /api/notices page count and /api/notices/count/new, kept
+ * in memory so a listing or a badge poll does not run COUNT(*).
+ *
+ * Notices are counted per (category, state, noticeType, engineeringBranches)
+ * and day fetched; a filter sums the keys it matches over the days of its
+ * period, and the answer is memoised until the counts next change. Periods
+ * are whole days of fetchedAt, so they roll over with the date on their own.
+ * Recent fetch times are kept separately for the rolling 24-hour count.
+ *
+ * Loaded from job_notices when the application is ready (or on first use),
+ * bumped by ScraperService for every notice it inserts, and rebuilt by
+ * NoticeArchive after it moves notices out. Until loaded, or if disabled,
+ * every method returns empty and callers count in the database. An insert
+ * and its {@link #added} call run as one against a load (see
+ * {@link #inserting}), so a notice is never both loaded and added, nor
+ * missed by both.
+ */
+@Slf4j
+@Component
+public class NoticeCounts {
+
+    /** Oldest fetchedAt the recent window is loaded for, relative to now */
+    private static final int RECENT_HOURS = 24;
+    /** Distinct filters answered before the memo is dropped */
+    private static final int MEMO_LIMIT = 1024;
+
+    private final JobNoticeRepository repository;
+
+    @Value("${scraper.notice-counts.enabled:true}")
+    private boolean enabled = true;
+
+    private final Map<Facets, Days> counts = new HashMap<>();
+    /** Notices per fetchedAt, from {@link #recentSince} on */
+    private final TreeMap<LocalDateTime, Integer> recent = new TreeMap<>();
+    private LocalDateTime recentSince;
+    private final Map<Filter, Long> memo = new HashMap<>();
+    private volatile boolean loaded;
+    /** Shared by inserts until they are counted, exclusive for a load */
+    private final ReentrantReadWriteLock loading = new ReentrantReadWriteLock();
+
+    public NoticeCounts(JobNoticeRepository repository) {
+        this.repository = repository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void warm() {
+        isReady();
+    }
+
+    public boolean isReady() {
+        if (!enabled)
+            return false;
+        if (!loaded)
+            loadExclusively(false);
+        return loaded;
+    }
+
+    /**
+     * Run an insert that passes its new notices to {@link #added}. No load
+     * runs while it does, so a load comes either before the rows are written
+     * or after they are counted.
+     */
+    public void inserting(Runnable insert) {
+        loading.readLock().lock();
+        try {
+            insert.run();
+        } finally {
+            loading.readLock().unlock();
+        }
+    }
+
+    /**
+     * Notices matching the listing filters with fetchedAt on the days
+     * {@code from} to {@code to} (either may be null), or empty if the counts
+     * are not available.
+     */
+    public OptionalLong count(String category, String state, String noticeType, String branch, LocalDate from,
+            LocalDate to) {
+        if (!isReady())
+            return OptionalLong.empty();
+        Filter filter = new Filter(category, state, noticeType, branch, from, to);
+        synchronized (this) {
+            if (memo.size() >= MEMO_LIMIT)
+                memo.clear();
+            return OptionalLong.of(memo.computeIfAbsent(filter, this::sum));
+        }
+    }
+
+    /** Notices fetched after {@code since}, or empty if that is outside the window kept */
+    public OptionalLong countFetchedAfter(LocalDateTime since) {
+        if (!isReady())
+            return OptionalLong.empty();
+        synchronized (this) {
+            if (since.isBefore(recentSince))
+                return OptionalLong.empty();
+            long total = 0;
+            for (int n : recent.tailMap(since, false).values())
+                total += n;
+            return OptionalLong.of(total);
+        }
+    }
+
+    /**
+     * Count notices just inserted, from within {@link #inserting}. Before the
+     * counts have loaded this does nothing: the rows are already in the table
+     * the load reads.
+     */
+    public void added(Collection<JobNotice> notices) {
+        if (notices.isEmpty() || !loaded)
+            return;
+        synchronized (this) {
+            for (JobNotice n : notices) {
+                add(new Facets(n.getCategory(), n.getState(), n.getNoticeType(), n.getEngineeringBranches()),
+                        n.getFetchedAt().toLocalDate(), 1);
+                if (n.getFetchedAt().isAfter(recentSince))
+                    recent.merge(n.getFetchedAt(), 1, Integer::sum);
+            }
+            trimRecent();
+            memo.clear();
+        }
+    }
+
+    /** Drop fetch times that have left the window, so it does not grow without bound */
+    private void trimRecent() {
+        LocalDateTime since = LocalDateTime.now().minusHours(RECENT_HOURS);
+        if (!since.isAfter(recentSince))
+            return;
+        recent.headMap(since, true).clear();
+        recentSince = since;
+    }
+
+    /** Count everything again, after notices were removed */
+    public void rebuild() {
+        if (!enabled)
+            return;
+        loadExclusively(true);
+    }
+
+    /** Waits for inserts in progress to be counted; the lock order is loading, then this */
+    private void loadExclusively(boolean again) {
+        loading.writeLock().lock();
+        try {
+            synchronized (this) {
+                if (again || !loaded)
+                    load();
+            }
+        } finally {
+            loading.writeLock().unlock();
+        }
+    }
+
+    private void load() {
+        counts.clear();
+        recent.clear();
+        memo.clear();
+        loaded = false;
+        try {
+            LocalDateTime since = LocalDateTime.now().minusHours(RECENT_HOURS);
+            for (Object[] row : repository.countByFacetsAndDay()) {
+                add(new Facets((String) row[0], (String) row[1], (String) row[2], (String) row[3]),
+                        (LocalDate) row[4], (Long) row[5]);
+            }
+            List<LocalDateTime> fetched = repository.findFetchedAtAfter(since);
+            for (LocalDateTime at : fetched)
+                recent.merge(at, 1, Integer::sum);
+            recentSince = since;
+            loaded = true;
+            log.info("[Counts] Loaded {} facet combinations, {} notices in the last {} hours", counts.size(),
+                    fetched.size(), RECENT_HOURS);
+        } catch (Exception e) {
+            counts.clear();
+            recent.clear();
+            log.warn("[Counts] Could not load notice counts, using the database: {}", e.getMessage());
+        }
+    }
+
+    private void add(Facets facets, LocalDate day, long n) {
+        Days days = counts.computeIfAbsent(facets, f -> new Days());
+        days.total += n;
+        days.byDay.merge(day, n, Long::sum);
+    }
+
+    private long sum(Filter f) {
+        long total = 0;
+        for (Map.Entry<Facets, Days> e : counts.entrySet()) {
+            if (!f.matches(e.getKey()))
+                continue;
+            Days days = e.getValue();
+            if (f.from() == null && f.to() == null) {
+                total += days.total;
+                continue;
+            }
+            LocalDate from = f.from() != null ? f.from() : LocalDate.MIN;
+            LocalDate to = f.to() != null ? f.to() : LocalDate.MAX;
+            for (long n : days.byDay.subMap(from, true, to, true).values())
+                total += n;
+        }
+        return total;
+    }
+
+    private record Facets(String category, String state, String noticeType, String branches) {
+    }
+
+    private static final class Days {
+        private long total;
+        private final TreeMap<LocalDate, Long> byDay = new TreeMap<>();
+    }
+
+    /** The listing predicate over one facet combination; null matches anything */
+    private record Filter(String category, String state, String noticeType, String branch, LocalDate from,
+            LocalDate to) {
+
+        boolean matches(Facets f) {
+            return (category == null || category.equals(f.category()))
+                    && (state == null || state.equals(f.state()))
+                    && (noticeType == null || noticeType.equals(f.noticeType()))
+                    && (branch == null || NoticeBranch.codesOf(f.branches()).contains(branch));
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package in.govtjobs.service;
+
+import in.govtjobs.repository.JobNoticeListing;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * The opaque cursor of /api/notices: the sort order and the last row's key,
+ * as "order|date|fetchedAt|id" in unpadded base64url. The order is checked on
+ * the way back, so a cursor cannot be continued under a different sortBy.
+ */
+final class NoticeCursor {
+
+    private NoticeCursor() {
+    }
+
+    static String encode(JobNoticeListing.Order order, JobNoticeListing.Key key) {
+        String raw = order.name() + "|" + (key.date() != null ? key.date() : "") + "|" + key.fetchedAt() + "|"
+                + key.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return the key to continue after, or null for a blank cursor (first page)
+     * @throws IllegalArgumentException if the cursor is malformed or was made
+     *                                  for another order
+     */
+    static JobNoticeListing.Key decode(String cursor, JobNoticeListing.Order order) {
+        if (cursor == null || cursor.isBlank())
+            return null;
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8).split("\\|", -1);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+        if (parts.length != 4)
+            throw new IllegalArgumentException("Invalid cursor");
+        if (!parts[0].equals(order.name()))
+            throw new IllegalArgumentException("Cursor was issued for another sortBy");
+        try {
+            return new JobNoticeListing.Key(parts[1].isEmpty() ? null : LocalDate.parse(parts[1]),
+                    LocalDateTime.parse(parts[2]), UUID.fromString(parts[3]));
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package in.govtjobs.service;
+
+import in.govtjobs.model.NoticeBranch;
+import in.govtjobs.repository.ArchivedNoticeRepository;
+import in.govtjobs.repository.JobNoticeRepository;
+import in.govtjobs.util.ScraperUtils;
+import in.govtjobs.util.TitleLabels;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BiFunction;
+
+/**
+ * Fills notice_type and engineering_branches for notices stored before
+ * ScraperService copied them at ingest, by classifying the stored title, in
+ * job_notices and archived_notices. A rescrape doesn't fix these rows: the
+ * upsert only updates the last date and apply URL of a notice it already
+ * has. Runs while the context starts, before NoticeCounts loads and the web
+ * server takes requests.
+ *
+ * The type is written before the notice_branches rows, so if inserting
+ * those fails the notice has branches and no rows, and NoticeBranchBackfill
+ * indexes it once the application is ready.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NoticeLabelBackfill implements SmartInitializingSingleton {
+
+    private static final int PAGE = 1000;
+
+    private final JobNoticeRepository notices;
+    private final ArchivedNoticeRepository archived;
+    private final ScraperUtils utils;
+    private final JdbcTemplate jdbc;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        try {
+            int listed = fill("job_notices", notices::findMissingTypeAfter, true);
+            int moved = fill("archived_notices", archived::findMissingTypeAfter, false);
+            if (listed + moved > 0)
+                log.info("[Labels] Classified {} notices and {} archived notices stored without a type",
+                        listed, moved);
+        } catch (Exception e) {
+            log.warn("[Labels] Backfill stopped: {}", e.getMessage());
+        }
+    }
+
+    /** Pages through (id, title) rows missing a type; returns how many were set */
+    private int fill(String table, BiFunction<UUID, Pageable, List<Object[]>> missingAfter, boolean index) {
+        UUID after = new UUID(0, 0);
+        int set = 0;
+        List<Object[]> page;
+        do {
+            page = missingAfter.apply(after, PageRequest.ofSize(PAGE));
+            List<Object[]> updates = new ArrayList<>();
+            List<Object[]> branches = new ArrayList<>();
+            for (Object[] row : page) {
+                TitleLabels labels = utils.classify((String) row[1]);
+                updates.add(new Object[] { labels.noticeType(), labels.engineeringBranches(), row[0] });
+                for (String code : NoticeBranch.codesOf(labels.engineeringBranches()))
+                    branches.add(new Object[] { row[0], code });
+            }
+            if (!updates.isEmpty())
+                jdbc.batchUpdate("UPDATE " + table + " SET notice_type = ?, engineering_branches = ? WHERE id = ?",
+                        updates);
+            if (index && !branches.isEmpty())
+                jdbc.batchUpdate("INSERT INTO notice_branches (notice_id, branch) VALUES (?, ?)", branches);
+            set += updates.size();
+            if (!page.isEmpty())
+                after = (UUID) page.get(page.size() - 1)[0];
+        } while (page.size() == PAGE);
+        return set;
+    }
+}
@@ -0,0 +1,28 @@
+package in.govtjobs.service;
+
+import in.govtjobs.model.JobNotice;
+import in.govtjobs.repository.JobNoticeRepository;
+import in.govtjobs.repository.JobNoticeUpsert;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Writes for {@link ScraperService}. A separate bean so that the calls go
+ * through the transactional proxy: each call is its own transaction.
+ */
+@Service
+@RequiredArgsConstructor
+public class NoticeWriter {
+
+    private final JobNoticeRepository repository;
+
+    /** All of {@code chunk} upserted in one MERGE and one transaction, or none of it */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public JobNoticeUpsert.Result upsert(List<JobNotice> chunk) {
+        return repository.upsertByContentHash(chunk);
+    }
+}
@@ -1,18 +1,37 @@
 package in.govtjobs.service;
 
 import in.govtjobs.dto.RawNotice;
+import in.govtjobs.fetch.PageArchive;
+import in.govtjobs.fetch.PageCache;
+import in.govtjobs.fetch.PageFetcher;
+import in.govtjobs.fetch.PageSource;
+import in.govtjobs.model.ArchivedPage;
 import in.govtjobs.model.JobNotice;
-import in.govtjobs.repository.JobNoticeRepository;
+import in.govtjobs.repository.JobNoticeUpsert;
 import in.govtjobs.scraper.JobNoticeSource;
 import in.govtjobs.util.ScraperUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -22,8 +41,28 @@ import java.util.concurrent.atomic.AtomicInteger;
 public class ScraperService {
 
     private final List<JobNoticeSource> sources;
-    private final JobNoticeRepository repository;
     private final ScraperUtils utils;
+    private final PageCache pageCache;
+    private final PageArchive archive;
+    private final NoticeWriter writer;
+    private final DedupIndex dedupIndex;
+    private final NoticeCounts noticeCounts;
+    private final NoticeArchive noticeArchive;
+
+    /** Rows per MERGE statement and transaction */
+    @Value("${scraper.ingest.batch-size:50}")
+    private int batchSize;
+
+    /**
+     * When enabled, sources are fetched in parallel on a bounded pool and the
+     * per-host limits in {@link in.govtjobs.fetch.FetchLimiter} replace the
+     * fixed sleep between sources. Persisting stays on the calling thread.
+     */
+    @Value("${scraper.concurrent.enabled:false}")
+    private boolean concurrentEnabled;
+
+    @Value("${scraper.concurrent.max-sources:4}")
+    private int maxConcurrentSources;
 
     /**
      * Guard against concurrent runs. H2 in file mode cannot handle two
@@ -32,46 +71,173 @@ public class ScraperService {
      */
     private final AtomicBoolean running = new AtomicBoolean(false);
 
+    /** An archive asked for while a run held the guard, done when it ends */
+    private final AtomicBoolean archivePending = new AtomicBoolean(false);
+
     /**
      * Run all scrapers. Called by scheduler and admin API.
-     * NOT @Transactional at this level — each notice is saved in its own
-     * short transaction via {@link #saveNotice} so that one bad insert
-     * does not roll back everything that came before it.
+     * NOT @Transactional at this level — each source's notices are upserted
+     * in short chunked transactions via {@link NoticeWriter} so that one bad
+     * row does not roll back everything that came before it.
      */
     public ScraperResult runAll() {
+        return runSources(sources, new HashMap<>());
+    }
+
+    /**
+     * Run only the given sources, as chosen by the adaptive poll scheduler.
+     * {@code savedBySource} receives the number of new notices per source name
+     * for every source that was scraped; it is left empty if another run was
+     * already in progress.
+     */
+    public ScraperResult runSources(List<JobNoticeSource> selected, Map<String, Integer> savedBySource) {
         if (!running.compareAndSet(false, true)) {
             log.warn("Scrape run already in progress — skipping duplicate invocation");
-            return new ScraperResult(0, 0, 0, 0);
+            return new ScraperResult(0, 0, 0, 0, 0, 0);
         }
 
         try {
-            return doRunAll();
+            return doRun(selected, savedBySource);
         } finally {
             running.set(false);
+            archiveIfPending();
+        }
+    }
+
+    /**
+     * Move notices past retention to the archive, see {@link NoticeArchive}.
+     * Archiving deletes rows a run upserts against and H2 wants one writer,
+     * so it takes the run guard; while a run holds it, the archive is done
+     * by that run once it finishes.
+     */
+    public void archiveNotices() {
+        archivePending.set(true);
+        archiveIfPending();
+    }
+
+    /**
+     * Archive if asked to and the guard is free. Every holder calls this
+     * after releasing the guard, so a request that found it taken is never
+     * lost.
+     */
+    private void archiveIfPending() {
+        while (archivePending.get() && running.compareAndSet(false, true)) {
+            try {
+                if (archivePending.getAndSet(false))
+                    noticeArchive.archiveExpired();
+            } finally {
+                running.set(false);
+            }
         }
     }
 
-    private ScraperResult doRunAll() {
-        log.info("=== Starting scrape run at {} ===", LocalDateTime.now());
+    /**
+     * Replay the pages archived up to {@code asOf} through the current
+     * extraction logic of every source, without touching the network, and
+     * ingest the result through the normal dedup path. Pages that were never
+     * archived come back empty, so a source only yields what was stored.
+     */
+    public ScraperResult reextract(LocalDateTime asOf) {
+        if (!running.compareAndSet(false, true)) {
+            log.warn("Scrape run already in progress — skipping re-extraction");
+            return new ScraperResult(0, 0, 0, 0, 0, 0);
+        }
+
+        try {
+            Map<String, ArchivedPage> snapshot = archive.snapshot(asOf);
+            log.info("=== Re-extracting {} archived pages as of {} ===", snapshot.size(), asOf);
+            // Its own limiter and cache: replaying never holds a permit a live fetch waits on
+            ScraperUtils offline = new ScraperUtils(PageSource.offline(url -> archivedPage(snapshot.get(url))),
+                    utils.isStreamingEnabled());
+            List<JobNoticeSource> replay = new ArrayList<>();
+            for (JobNoticeSource source : sources)
+                replay.add(source.withUtils(offline));
+
+            AtomicInteger total = new AtomicInteger(0);
+            AtomicInteger saved = new AtomicInteger(0);
+            AtomicInteger updated = new AtomicInteger(0);
+            AtomicInteger skipped = new AtomicInteger(0);
+            AtomicInteger errors = new AtomicInteger(0);
+            for (JobNoticeSource source : replay) {
+                try {
+                    ingest(source.fetchRaw(), total, saved, updated, skipped, errors);
+                } catch (Exception e) {
+                    log.error("Re-extraction of '{}' failed: {}", source.getSourceName(), e.getMessage());
+                    errors.incrementAndGet();
+                }
+            }
+
+            ScraperResult result = new ScraperResult(total.get(), saved.get(), updated.get(), skipped.get(),
+                    errors.get(), 0);
+            log.info("=== Re-extraction complete: {} total, {} saved, {} updated, {} skipped, {} errors ===",
+                    result.total(), result.saved(), result.updated(), result.skipped(), result.errors());
+            evictCaches();
+            return result;
+        } finally {
+            running.set(false);
+            archiveIfPending();
+        }
+    }
+
+    private PageFetcher.FetchedPage archivedPage(ArchivedPage page) {
+        if (page == null)
+            return null;
+        try {
+            return archive.load(page);
+        } catch (IOException e) {
+            log.warn("Could not read archived page {}: {}", page.getUrl(), e.getMessage());
+            return null;
+        }
+    }
+
+    /** All registered sources, for schedulers that pick a subset per run */
+    public List<JobNoticeSource> getSources() {
+        return sources;
+    }
+
+    private ScraperResult doRun(List<JobNoticeSource> selected, Map<String, Integer> savedBySource) {
+        log.info("=== Starting scrape run of {} sources at {} ===", selected.size(), LocalDateTime.now());
         AtomicInteger total = new AtomicInteger(0);
         AtomicInteger saved = new AtomicInteger(0);
+        AtomicInteger updated = new AtomicInteger(0);
         AtomicInteger skipped = new AtomicInteger(0);
         AtomicInteger errors = new AtomicInteger(0);
+        pageCache.beginRun();
+        long unchangedBefore = pageCache.unchangedCount();
+
+        if (concurrentEnabled) {
+            runConcurrently(selected, savedBySource, total, saved, updated, skipped, errors);
+        } else {
+            runSequentially(selected, savedBySource, total, saved, updated, skipped, errors);
+        }
+
+        int unchanged = (int) (pageCache.unchangedCount() - unchangedBefore);
+        ScraperResult result = new ScraperResult(total.get(), saved.get(), updated.get(), skipped.get(),
+                errors.get(), unchanged);
+        log.info("=== Scrape complete: {} total, {} saved, {} updated, {} skipped, {} errors, {} pages unchanged ===",
+                result.total(), result.saved(), result.updated(), result.skipped(), result.errors(),
+                result.unchanged());
+        logDedupIndex();
 
-        for (JobNoticeSource source : sources) {
+        // Clear caches so the frontend sees new states/categories immediately
+        evictCaches();
+
+        return result;
+    }
+
+    private void runSequentially(List<JobNoticeSource> selected, Map<String, Integer> savedBySource,
+            AtomicInteger total, AtomicInteger saved, AtomicInteger updated, AtomicInteger skipped,
+            AtomicInteger errors) {
+        for (JobNoticeSource source : selected) {
             try {
                 log.info("Scraping: {}", source.getSourceName());
-                List<RawNotice> raw = source.fetchRaw();
-                total.addAndGet(raw.size());
-
-                for (RawNotice notice : raw) {
-                    try {
-                        processNotice(notice, saved, skipped);
-                    } catch (Exception e) {
-                        log.warn("Error processing notice '{}': {}", notice.getTitle(), e.getMessage());
-                        errors.incrementAndGet();
-                    }
+                List<RawNotice> raw;
+                try {
+                    raw = bound(source).fetchRaw();
+                } finally {
+                    utils.releasePage();
                 }
+                ingestSource(source, raw, savedBySource, total, saved, updated, skipped, errors);
 
                 // Polite delay between sources (1 second)
                 Thread.sleep(1000);
@@ -81,17 +247,185 @@ public class ScraperService {
             } catch (Exception e) {
                 log.error("Source '{}' failed: {}", source.getSourceName(), e.getMessage());
                 errors.incrementAndGet();
+                pageCache.discard(source.getSourceName());
             }
         }
+    }
 
-        ScraperResult result = new ScraperResult(total.get(), saved.get(), skipped.get(), errors.get());
-        log.info("=== Scrape complete: {} total, {} saved, {} skipped, {} errors ===",
-                result.total(), result.saved(), result.skipped(), result.errors());
+    /**
+     * Fetch all sources on a bounded pool and ingest each result as soon as it
+     * completes, so run time tracks the slowest source rather than the sum.
+     */
+    private void runConcurrently(List<JobNoticeSource> selected, Map<String, Integer> savedBySource,
+            AtomicInteger total, AtomicInteger saved, AtomicInteger updated, AtomicInteger skipped,
+            AtomicInteger errors) {
+        int poolSize = Math.max(1, Math.min(maxConcurrentSources, selected.size()));
+        AtomicInteger threadIndex = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(poolSize,
+                r -> new Thread(r, "scrape-source-" + threadIndex.incrementAndGet()));
+        CompletionService<SourceFetch> completion = new ExecutorCompletionService<>(pool);
+        log.info("Scraping {} sources concurrently ({} at a time)", selected.size(), poolSize);
 
-        // Clear caches so the frontend sees new states/categories immediately
-        evictCaches();
+        try {
+            Map<Future<SourceFetch>, JobNoticeSource> submitted = new HashMap<>();
+            for (JobNoticeSource source : selected) {
+                submitted.put(completion.submit(() -> fetchSource(source)), source);
+            }
+            for (int i = 0; i < selected.size(); i++) {
+                Future<SourceFetch> done = completion.take();
+                SourceFetch fetch;
+                try {
+                    fetch = done.get();
+                } catch (ExecutionException e) {
+                    // One failed future must not drop the results still to come
+                    log.error("Source '{}' failed: {}", submitted.get(done).getSourceName(),
+                            e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+                    errors.incrementAndGet();
+                    pageCache.discard(submitted.get(done).getSourceName());
+                    continue;
+                }
+                if (fetch.error() != null) {
+                    log.error("Source '{}' failed: {}", fetch.source().getSourceName(), fetch.error().getMessage());
+                    errors.incrementAndGet();
+                    pageCache.discard(fetch.source().getSourceName());
+                    continue;
+                }
+                ingestSource(fetch.source(), fetch.notices(), savedBySource, total, saved, updated, skipped,
+                        errors);
+            }
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        } finally {
+            pool.shutdownNow();
+        }
+    }
 
-        return result;
+    /**
+     * The source reading through ScraperUtils bound to its name, so its page
+     * cache state is its own. A page another source shares is not skipped
+     * just because that source saw it first.
+     */
+    private JobNoticeSource bound(JobNoticeSource source) {
+        return source.withUtils(utils.forSource(source.getSourceName()));
+    }
+
+    private SourceFetch fetchSource(JobNoticeSource source) {
+        try {
+            log.info("Scraping: {}", source.getSourceName());
+            return new SourceFetch(source, bound(source).fetchRaw(), null);
+        } catch (Exception e) {
+            return new SourceFetch(source, List.of(), e);
+        } finally {
+            utils.releasePage();
+        }
+    }
+
+    /**
+     * Persist one source's notices, then keep the page cache state its run
+     * recorded only if every one of them was stored. If any failed, that state
+     * is dropped, so next run its pages are parsed again instead of being
+     * skipped as unchanged with the lost notices on them.
+     */
+    private void ingestSource(JobNoticeSource source, List<RawNotice> raw, Map<String, Integer> savedBySource,
+            AtomicInteger total, AtomicInteger saved, AtomicInteger updated, AtomicInteger skipped,
+            AtomicInteger errors) {
+        int savedBefore = saved.get();
+        int errorsBefore = errors.get();
+        boolean ingested = false;
+        try {
+            ingest(raw, total, saved, updated, skipped, errors);
+            ingested = errors.get() == errorsBefore;
+        } finally {
+            if (ingested) {
+                pageCache.commit(source.getSourceName());
+            } else {
+                int dropped = pageCache.discard(source.getSourceName());
+                if (dropped > 0)
+                    log.warn("Source '{}' had notices that were not stored; its {} pages will be parsed again",
+                            source.getSourceName(), dropped);
+            }
+        }
+        savedBySource.merge(source.getSourceName(), saved.get() - savedBefore, Integer::sum);
+    }
+
+    /**
+     * Persist notices: hash them all, drop those the in-memory
+     * {@link DedupIndex} already holds unchanged, and upsert the rest by
+     * content hash in batches of {@code batchSize}, one MERGE statement each.
+     * New notices are inserted and known ones get a changed lastDate or
+     * applyUrl refreshed, so a duplicate never shows up as a constraint
+     * violation. A batch that fails is retried row by row, so one bad row only
+     * loses itself.
+     */
+    private void ingest(List<RawNotice> raw, AtomicInteger total, AtomicInteger saved, AtomicInteger updated,
+            AtomicInteger skipped, AtomicInteger errors) {
+        total.addAndGet(raw.size());
+        Map<String, JobNotice> fresh = new LinkedHashMap<>();
+        for (RawNotice notice : raw) {
+            try {
+                JobNotice entity = toEntity(notice);
+                if (entity != null && fresh.putIfAbsent(entity.getContentHash(), entity) != null)
+                    skipped.incrementAndGet();
+            } catch (Exception e) {
+                log.warn("Error processing notice '{}': {}", notice.getTitle(), e.getMessage());
+                errors.incrementAndGet();
+            }
+        }
+
+        if (dedupIndex.isReady()) {
+            // Only a hit is trusted; everything else is settled by the MERGE
+            for (Iterator<JobNotice> it = fresh.values().iterator(); it.hasNext();) {
+                JobNotice notice = it.next();
+                if (dedupIndex.isCurrent(notice.getContentHash(), notice.getLastDate(), notice.getApplyUrl())) {
+                    it.remove();
+                    skipped.incrementAndGet();
+                }
+            }
+        }
+
+        List<JobNotice> upserts = new ArrayList<>(fresh.values());
+        for (int from = 0; from < upserts.size(); from += batchSize) {
+            List<JobNotice> chunk = upserts.subList(from, Math.min(from + batchSize, upserts.size()));
+            try {
+                noticeCounts.inserting(() -> apply(writer.upsert(chunk), chunk, saved, updated, skipped));
+            } catch (Exception e) {
+                log.warn("Upsert of {} notices failed, retrying one by one: {}", chunk.size(),
+                        NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+                for (JobNotice notice : chunk) {
+                    try {
+                        noticeCounts.inserting(() -> apply(writer.upsert(List.of(notice)), List.of(notice), saved,
+                                updated, skipped));
+                    } catch (Exception rowError) {
+                        log.warn("Error processing notice '{}': {}", notice.getTitle(),
+                                NestedExceptionUtils.getMostSpecificCause(rowError).getMessage());
+                        errors.incrementAndGet();
+                    }
+                }
+            }
+        }
+    }
+
+    private void apply(JobNoticeUpsert.Result result, List<JobNotice> chunk, AtomicInteger saved,
+            AtomicInteger updated, AtomicInteger skipped) {
+        saved.addAndGet(result.inserted().size());
+        updated.addAndGet(result.updated().size());
+        skipped.addAndGet(result.unchanged());
+        Set<String> inserted = new HashSet<>(result.inserted());
+        List<JobNotice> added = new ArrayList<>(inserted.size());
+        for (JobNotice notice : chunk) {
+            // Unchanged rows are stored too; recording them fills any gap in the index
+            dedupIndex.record(notice.getContentHash(), notice.getLastDate(), notice.getApplyUrl());
+            if (inserted.contains(notice.getContentHash()))
+                added.add(notice);
+        }
+        noticeCounts.added(added);
+    }
+
+    private void logDedupIndex() {
+        DedupIndex.Stats stats = dedupIndex.stats();
+        if (stats.ready())
+            log.info("[Dedup] {} hashes in {} KB, {} of {} lookups hit ({}%)", stats.entries(),
+                    stats.bytes() / 1024, stats.hits(), stats.lookups(), Math.round(stats.hitRate() * 100));
     }
 
     @org.springframework.cache.annotation.CacheEvict(value = { "states", "categories" }, allEntries = true)
@@ -100,39 +434,35 @@ public class ScraperService {
     }
 
     /**
-     * Each notice is saved in its own independent transaction so that a
-     * duplicate-key constraint violation only rolls back that single insert.
+     * The entity for a scraped notice, or null if it has no title. The content
+     * hash of the cleaned title and source is the dedup key.
      */
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public void processNotice(RawNotice raw, AtomicInteger saved, AtomicInteger skipped) {
+    private JobNotice toEntity(RawNotice raw) {
         if (raw.getTitle() == null || raw.getTitle().isBlank())
-            return;
+            return null;
 
-        String hash = utils.hash(raw.getTitle(), raw.getSourceName());
-
-        if (repository.existsByContentHash(hash)) {
-            skipped.incrementAndGet();
-            return;
-        }
+        // Cleaning is idempotent, so hashing the cleaned title gives the same key
+        String title = utils.cleanTitle(raw.getTitle());
+        String hash = utils.hash(title, raw.getSourceName());
 
         String category = normalizeCategory(raw.getCategory());
         String state = normalizeState(raw.getState());
 
-        JobNotice notice = JobNotice.builder()
-                .title(utils.cleanTitle(raw.getTitle()))
+        return JobNotice.builder()
+                .title(title)
                 .category(category)
                 .state(state)
+                .noticeType(raw.getNoticeType())
+                .engineeringBranches(raw.getEngineeringBranches())
                 .sourceName(raw.getSourceName())
                 .sourceUrl(raw.getSourceUrl())
+                .sourceDomain(JobNotice.domainOf(raw.getSourceUrl()))
                 .applyUrl(raw.getApplyUrl())
                 .publishedDate(raw.getPublishedDate())
                 .lastDate(raw.getLastDate())
                 .contentHash(hash)
                 .fetchedAt(LocalDateTime.now())
                 .build();
-
-        repository.save(notice);
-        saved.incrementAndGet();
     }
 
     private String normalizeCategory(String raw) {
@@ -168,6 +498,15 @@ public class ScraperService {
         };
     }
 
-    public record ScraperResult(int total, int saved, int skipped, int errors) {
+    /**
+     * @param saved     notices inserted
+     * @param updated   stored notices whose lastDate or applyUrl was refreshed
+     * @param skipped   notices already stored as they are
+     * @param unchanged pages skipped as unchanged (304 or fingerprint match)
+     */
+    public record ScraperResult(int total, int saved, int updated, int skipped, int errors, int unchanged) {
+    }
+
+    private record SourceFetch(JobNoticeSource source, List<RawNotice> notices, Exception error) {
     }
 }
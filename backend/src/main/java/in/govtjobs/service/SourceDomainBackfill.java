@@ -0,0 +1,70 @@
+package in.govtjobs.service;
+
+import in.govtjobs.model.JobNotice;
+import in.govtjobs.repository.ArchivedNoticeRepository;
+import in.govtjobs.repository.JobNoticeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BiFunction;
+
+/**
+ * Fills source_domain for notices stored before it was set at ingest, in
+ * job_notices and archived_notices. Listings read the domain only from the
+ * column, so this runs while the context starts, before the web server takes
+ * requests. Notices whose URL has no host keep a null domain and are looked
+ * at again on the next start.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SourceDomainBackfill implements SmartInitializingSingleton {
+
+    private static final int PAGE = 1000;
+
+    private final JobNoticeRepository notices;
+    private final ArchivedNoticeRepository archived;
+    private final JdbcTemplate jdbc;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        try {
+            int listed = fill("job_notices", notices::findMissingDomainAfter);
+            int moved = fill("archived_notices", archived::findMissingDomainAfter);
+            if (listed + moved > 0)
+                log.info("[Domains] Set the source domain of {} notices and {} archived notices", listed, moved);
+        } catch (Exception e) {
+            log.warn("[Domains] Backfill stopped: {}", e.getMessage());
+        }
+    }
+
+    /** Pages through (id, sourceUrl) rows missing a domain; returns how many were set */
+    private int fill(String table, BiFunction<UUID, Pageable, List<Object[]>> missingAfter) {
+        UUID after = new UUID(0, 0);
+        int set = 0;
+        List<Object[]> page;
+        do {
+            page = missingAfter.apply(after, PageRequest.ofSize(PAGE));
+            List<Object[]> updates = new ArrayList<>();
+            for (Object[] row : page) {
+                String domain = JobNotice.domainOf((String) row[1]);
+                if (domain != null)
+                    updates.add(new Object[] { domain, row[0] });
+            }
+            if (!updates.isEmpty())
+                jdbc.batchUpdate("UPDATE " + table + " SET source_domain = ? WHERE id = ?", updates);
+            set += updates.size();
+            if (!page.isEmpty())
+                after = (UUID) page.get(page.size() - 1)[0];
+        } while (page.size() == PAGE);
+        return set;
+    }
+}
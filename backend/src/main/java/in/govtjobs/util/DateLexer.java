@@ -0,0 +1,223 @@
+package in.govtjobs.util;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.Year;
+
+/**
+ * Single-pass parser for the dates scrapers find next to notice links:
+ * numeric day/month/year with '-', '/' or '.', ISO yyyy-MM-dd, and English
+ * month names before or after the day ("12 Jan 2025", "1st January, 2025",
+ * "13 Feb - 2026", "Jan 12, 2025"). Month names are case-insensitive; a day
+ * past the end of its month is clamped, as DateTimeFormatter's SMART
+ * resolver did.
+ *
+ * Works on the input string in place: no regexes, substrings or exceptions.
+ * Positions and values are packed into ints so nothing is allocated except
+ * the result.
+ */
+final class DateLexer {
+
+    private static final String[] MONTHS = { "january", "february", "march", "april", "may", "june", "july",
+            "august", "september", "october", "november", "december" };
+
+    /** Returned by the packed readers when nothing could be read */
+    private static final int NONE = -1;
+
+    private DateLexer() {
+    }
+
+    /**
+     * The date in {@code s}, which must contain nothing else apart from
+     * surrounding whitespace, or null.
+     */
+    static LocalDate parse(String s) {
+        if (s == null)
+            return null;
+        int from = 0;
+        int end = s.length();
+        while (from < end && isSpace(s.charAt(from)))
+            from++;
+        while (end > from && isSpace(s.charAt(end - 1)))
+            end--;
+        if (from == end)
+            return null;
+        char c = s.charAt(from);
+        if (isDigit(c))
+            return dayFirst(s, from, end);
+        if (isLetter(c))
+            return monthFirst(s, from, end);
+        return null;
+    }
+
+    /** "12-01-2025", "2025-01-12", "12 Jan 2025", "1st January, 2025", "13 Feb - 2026" */
+    private static LocalDate dayFirst(String s, int i, int end) {
+        int start = i;
+        int first = 0;
+        while (i < end && isDigit(s.charAt(i)) && i - start < 4)
+            first = first * 10 + (s.charAt(i++) - '0');
+        int digits = i - start;
+        if (i < end && isDigit(s.charAt(i)))
+            return null;
+
+        if (digits == 4)
+            return iso(s, first, i, end);
+        if (digits > 2)
+            return null;
+
+        i = skipOrdinal(s, i, end);
+        if (i >= end)
+            return null;
+        char sep = s.charAt(i);
+        if ((sep == '-' || sep == '/' || sep == '.') && i + 1 < end && isDigit(s.charAt(i + 1)))
+            return numeric(s, first, sep, i + 1, end);
+
+        i = skipSeparators(s, i, end);
+        int month = readMonth(s, i, end);
+        if (month == NONE)
+            return null;
+        i = month >>> 4;
+        int yearFrom = skipSeparators(s, i, end);
+        if (yearFrom == i)
+            return null;
+        return date(readYear(s, yearFrom, end), month & 0xF, first);
+    }
+
+    /** "Jan 12, 2025", "January 1st 2025" */
+    private static LocalDate monthFirst(String s, int i, int end) {
+        int month = readMonth(s, i, end);
+        if (month == NONE)
+            return null;
+        i = month >>> 4;
+        int dayFrom = skipSeparators(s, i, end);
+        if (dayFrom == i)
+            return null;
+        int day = readNumber(s, dayFrom, end, 2);
+        if (day == NONE)
+            return null;
+        i = skipOrdinal(s, day >>> 8, end);
+        int yearFrom = skipSeparators(s, i, end);
+        if (yearFrom == i)
+            return null;
+        return date(readYear(s, yearFrom, end), month & 0xF, day & 0xFF);
+    }
+
+    /** Rest of "dd-MM-yyyy" after the first separator; the second must match it */
+    private static LocalDate numeric(String s, int day, char sep, int i, int end) {
+        int month = readNumber(s, i, end, 2);
+        if (month == NONE)
+            return null;
+        i = month >>> 8;
+        if (i >= end || s.charAt(i) != sep)
+            return null;
+        return date(readYear(s, i + 1, end), month & 0xFF, day);
+    }
+
+    /** Rest of "yyyy-MM-dd" after the year */
+    private static LocalDate iso(String s, int year, int i, int end) {
+        if (i >= end || s.charAt(i) != '-')
+            return null;
+        int month = readNumber(s, i + 1, end, 2);
+        if (month == NONE)
+            return null;
+        i = month >>> 8;
+        if (i >= end || s.charAt(i) != '-')
+            return null;
+        int day = readNumber(s, i + 1, end, 2);
+        if (day == NONE || day >>> 8 != end)
+            return null;
+        return date(year, month & 0xFF, day & 0xFF);
+    }
+
+    private static LocalDate date(int year, int month, int day) {
+        if (year <= 0 || month < 1 || month > 12 || day < 1 || day > 31)
+            return null;
+        int length = Month.of(month).length(Year.isLeap(year));
+        return LocalDate.of(year, month, Math.min(day, length));
+    }
+
+    /**
+     * 1 to {@code maxDigits} digits not followed by another digit, packed as
+     * value | end position << 8, or NONE.
+     */
+    private static int readNumber(String s, int i, int end, int maxDigits) {
+        int start = i;
+        int value = 0;
+        while (i < end && isDigit(s.charAt(i)) && i - start < maxDigits)
+            value = value * 10 + (s.charAt(i++) - '0');
+        if (i == start || (i < end && isDigit(s.charAt(i))))
+            return NONE;
+        return value | i << 8;
+    }
+
+    /** Exactly four digits ending the input, or NONE */
+    private static int readYear(String s, int i, int end) {
+        if (end - i != 4)
+            return NONE;
+        int year = 0;
+        for (; i < end; i++) {
+            char c = s.charAt(i);
+            if (!isDigit(c))
+                return NONE;
+            year = year * 10 + (c - '0');
+        }
+        return year;
+    }
+
+    /**
+     * A month name (three-letter abbreviation, "Sept" or the full name, any
+     * case), packed as month | end position << 4, or NONE.
+     */
+    private static int readMonth(String s, int i, int end) {
+        int start = i;
+        while (i < end && isLetter(s.charAt(i)))
+            i++;
+        int length = i - start;
+        if (length < 3)
+            return NONE;
+        for (int m = 0; m < MONTHS.length; m++) {
+            String name = MONTHS[m];
+            if (!s.regionMatches(true, start, name, 0, 3))
+                continue;
+            if (length == 3 || (length == name.length() && s.regionMatches(true, start, name, 0, length))
+                    || (m == 8 && length == 4 && (s.charAt(start + 3) | 0x20) == 't'))
+                return (m + 1) | i << 4;
+            return NONE;
+        }
+        return NONE;
+    }
+
+    /** Skips "st", "nd", "rd" or "th" directly after a day number */
+    private static int skipOrdinal(String s, int i, int end) {
+        if (i + 2 > end || (i + 2 < end && isLetter(s.charAt(i + 2))))
+            return i;
+        char a = (char) (s.charAt(i) | 0x20);
+        char b = (char) (s.charAt(i + 1) | 0x20);
+        boolean ordinal = (a == 's' && b == 't') || (a == 'n' && b == 'd') || (a == 'r' && b == 'd')
+                || (a == 't' && b == 'h');
+        return ordinal ? i + 2 : i;
+    }
+
+    /** Whitespace, ',', '.' and '-' between a month name and its neighbours */
+    private static int skipSeparators(String s, int i, int end) {
+        while (i < end) {
+            char c = s.charAt(i);
+            if (!isSpace(c) && c != ',' && c != '.' && c != '-')
+                break;
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\f' || c == '\u00A0';
+    }
+}
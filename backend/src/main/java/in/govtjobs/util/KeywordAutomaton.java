@@ -0,0 +1,129 @@
+package in.govtjobs.util;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Aho-Corasick automaton over a fixed set of ASCII keywords, each carrying a
+ * label id. {@link #scan} reports every label whose keyword occurs anywhere in
+ * the text, case-insensitively, in one left-to-right pass.
+ *
+ * The failure links are folded into a dense transition table at build time,
+ * so scanning is one table lookup per character. Characters that occur in no
+ * keyword share a single column that always leads back to the root.
+ */
+final class KeywordAutomaton {
+
+    /** Column index for characters that occur in no keyword */
+    private static final int OTHER = 0;
+
+    /** Lower-case ASCII character to column, OTHER if absent */
+    private final int[] columns = new int[128];
+    private final int width;
+    /** delta[state * width + column] */
+    private final int[] delta;
+    /** Labels matched on entering each state (including via failure links), as a bit mask; null if none */
+    private final long[][] outputs;
+    private final int maskWords;
+
+    /**
+     * @param keywords lower-case ASCII keywords
+     * @param labels   label id of each keyword, 0 to {@code labelCount - 1}
+     */
+    KeywordAutomaton(List<String> keywords, int[] labels, int labelCount) {
+        maskWords = (labelCount + 63) >>> 6;
+        int next = 1;
+        int nodes = 1;
+        for (String keyword : keywords) {
+            nodes += keyword.length();
+            for (int i = 0; i < keyword.length(); i++) {
+                char c = keyword.charAt(i);
+                if (c >= 128 || Character.toLowerCase(c) != c)
+                    throw new IllegalArgumentException("Keyword must be lower-case ASCII: '" + keyword + "'");
+                if (columns[c] == OTHER)
+                    columns[c] = next++;
+            }
+        }
+        width = next;
+
+        // Trie, with -1 for missing edges
+        int[] trie = new int[nodes * width];
+        Arrays.fill(trie, -1);
+        long[][] out = new long[nodes][];
+        int states = 1;
+        for (int k = 0; k < keywords.size(); k++) {
+            String keyword = keywords.get(k);
+            if (keyword.isEmpty())
+                throw new IllegalArgumentException("Empty keyword for label " + labels[k]);
+            int state = 0;
+            for (int i = 0; i < keyword.length(); i++) {
+                int edge = state * width + columns[keyword.charAt(i)];
+                if (trie[edge] < 0)
+                    trie[edge] = states++;
+                state = trie[edge];
+            }
+            if (out[state] == null)
+                out[state] = new long[maskWords];
+            out[state][labels[k] >>> 6] |= 1L << labels[k];
+        }
+
+        // Breadth-first: fill missing edges from the failure state and merge its outputs
+        delta = Arrays.copyOf(trie, states * width);
+        outputs = Arrays.copyOf(out, states);
+        int[] fail = new int[states];
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int col = 0; col < width; col++) {
+            int child = delta[col];
+            if (child < 0) {
+                delta[col] = 0;
+            } else {
+                fail[child] = 0;
+                queue.add(child);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            long[] inherited = outputs[fail[state]];
+            if (inherited != null) {
+                if (outputs[state] == null)
+                    outputs[state] = new long[maskWords];
+                for (int w = 0; w < maskWords; w++)
+                    outputs[state][w] |= inherited[w];
+            }
+            for (int col = 0; col < width; col++) {
+                int edge = state * width + col;
+                int child = delta[edge];
+                if (child < 0) {
+                    delta[edge] = delta[fail[state] * width + col];
+                } else {
+                    fail[child] = delta[fail[state] * width + col];
+                    queue.add(child);
+                }
+            }
+        }
+    }
+
+    /**
+     * Bit mask of the labels of every keyword found in {@code text}: label n is
+     * bit {@code n & 63} of word {@code n >>> 6}.
+     */
+    long[] scan(CharSequence text) {
+        long[] hits = new long[maskWords];
+        int state = 0;
+        for (int i = 0, n = text.length(); i < n; i++) {
+            char c = text.charAt(i);
+            if (c >= 128)
+                c = Character.toLowerCase(c);
+            int column = c < 128 ? columns[c | (c >= 'A' && c <= 'Z' ? 0x20 : 0)] : OTHER;
+            state = delta[state * width + column];
+            long[] out = outputs[state];
+            if (out != null) {
+                for (int w = 0; w < maskWords; w++)
+                    hits[w] |= out[w];
+            }
+        }
+        return hits;
+    }
+}
@@ -0,0 +1,236 @@
+package in.govtjobs.util;
+
+import in.govtjobs.fetch.PageFingerprint;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.nodes.Node;
+import org.jsoup.parser.Parser;
+import org.jsoup.parser.StreamParser;
+import org.jsoup.select.Elements;
+import org.jsoup.select.Evaluator;
+import org.jsoup.select.NodeFilter;
+import org.jsoup.select.NodeTraversor;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Runs a scraper's per-link mapper over matching anchors until the per-source
+ * cap is reached. The mapper returns null to skip a link.
+ */
+final class LinkCollector {
+
+    private LinkCollector() {
+    }
+
+    /**
+     * Classic path over a fully parsed Document, in a single traversal: primary
+     * matches are mapped as they are found and the walk stops at the cap.
+     * Fallback matches are only buffered until the first primary match, and
+     * used if there is none.
+     */
+    static <T> List<T> fromDocument(Document doc, Evaluator selectors, Evaluator fallbackSelectors, int cap,
+            Function<Element, T> mapper) {
+        List<T> out = new ArrayList<>();
+        List<Element> fallback = new ArrayList<>();
+        boolean[] matchedAny = { false };
+        try (RowText.Scope rows = RowText.open()) {
+            NodeTraversor.filter(new NodeFilter() {
+                @Override
+                public FilterResult head(Node node, int depth) {
+                    if (!(node instanceof Element el))
+                        return FilterResult.CONTINUE;
+                    if (el.is(selectors)) {
+                        matchedAny[0] = true;
+                        fallback.clear();
+                        add(out, mapper, el);
+                        if (out.size() >= cap)
+                            return FilterResult.STOP;
+                    } else if (!matchedAny[0] && fallbackSelectors != null && el.is(fallbackSelectors)) {
+                        fallback.add(el);
+                    }
+                    return FilterResult.CONTINUE;
+                }
+            }, doc);
+            if (matchedAny[0])
+                return out;
+            return fromElements(new Elements(fallback), cap, mapper);
+        }
+    }
+
+    /**
+     * Links already selected from a fully parsed Document.
+     */
+    static <T> List<T> fromElements(Elements links, int cap, Function<Element, T> mapper) {
+        List<T> out = new ArrayList<>();
+        try (RowText.Scope rows = RowText.open()) {
+            for (Element link : links) {
+                T item = mapper.apply(link);
+                if (item == null)
+                    continue;
+                out.add(item);
+                if (out.size() >= cap)
+                    break;
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Streaming path: the page is tokenized incrementally and every finished
+     * element is handled once, as the parser completes it.
+     *
+     * A matched anchor is handed to the mapper once its scope (the highest
+     * ancestor rowContext and buildTitle may read, see {@link #scope}) has been
+     * fully parsed. Everything the mapper reads is then final, so titles and
+     * dates are the same as in the classic path. Fallback matches are mapped
+     * the same way until the first primary match, and used only if there is
+     * none.
+     *
+     * A finished element is removed from the tree once no link still needs it:
+     * every element after the cap unless it is inside an open anchor (whose
+     * text the fingerprint still reads), and before the cap those directly
+     * under page containers (body, main, article), since no walk reads above
+     * them. Peak DOM is then the largest such block rather than the whole page.
+     *
+     * The page is always tokenized to the end for its listing fingerprint,
+     * which equals {@link PageFingerprint#ofListing} of the parsed page.
+     */
+    static <T> Streamed<T> fromStream(byte[] body, Charset charset, String baseUri, Evaluator selectors,
+            Evaluator fallbackSelectors, int cap, Function<Element, T> mapper) throws IOException {
+        List<T> out = new ArrayList<>();
+        List<T> fallbackOut = new ArrayList<>();
+        Deque<Element> pending = new ArrayDeque<>();
+        Set<Element> awaiting = Collections.newSetFromMap(new IdentityHashMap<>());
+        Set<Element> parsed = Collections.newSetFromMap(new IdentityHashMap<>());
+        PageFingerprint.Listing listing = new PageFingerprint.Listing();
+        boolean matchedAny = false;
+
+        try (StreamParser parser = new StreamParser(Parser.htmlParser()); RowText.Scope rows = RowText.open()) {
+            parser.parse(reader(body, charset), baseUri);
+            Iterator<Element> completed = parser.iterator();
+            while (completed.hasNext()) {
+                Element el = completed.next();
+                if (el instanceof Document)
+                    continue;
+                if (el.normalName().equals("a"))
+                    listing.add(el);
+                if (out.size() >= cap) {
+                    // An open anchor's text is not hashed yet
+                    if (!insideLink(el))
+                        el.remove();
+                    continue;
+                }
+
+                if (awaiting.remove(el))
+                    parsed.add(el);
+                if (el.is(selectors)) {
+                    if (!matchedAny) {
+                        matchedAny = true;
+                        pending.clear();
+                        fallbackOut.clear();
+                    }
+                    await(el, pending, awaiting, parsed);
+                } else if (!matchedAny && fallbackSelectors != null && fallbackOut.size() < cap
+                        && el.is(fallbackSelectors)) {
+                    await(el, pending, awaiting, parsed);
+                }
+
+                List<T> target = matchedAny ? out : fallbackOut;
+                while (!pending.isEmpty() && parsed.contains(scope(pending.peek())) && target.size() < cap)
+                    add(target, mapper, pending.poll());
+                if (out.size() >= cap)
+                    pending.clear();
+                if (pending.isEmpty() && (out.size() >= cap ? !insideLink(el) : underPageContainers(el)))
+                    el.remove();
+            }
+            // Document fully parsed: map what is left in order
+            List<T> target = matchedAny ? out : fallbackOut;
+            while (!pending.isEmpty() && target.size() < cap)
+                add(target, mapper, pending.poll());
+        }
+        return new Streamed<>(matchedAny ? out : fallbackOut, listing.value());
+    }
+
+    /**
+     * Items found by {@link #fromStream} and the listing fingerprint of the
+     * whole page.
+     */
+    record Streamed<T>(List<T> items, long listingFingerprint) {
+    }
+
+    private static boolean insideLink(Element el) {
+        for (Element p = el.parent(); p != null; p = p.parent())
+            if (p.normalName().equals("a"))
+                return true;
+        return false;
+    }
+
+    private static void await(Element link, Deque<Element> pending, Set<Element> awaiting, Set<Element> parsed) {
+        pending.add(link);
+        Element scope = scope(link);
+        if (scope == link)
+            parsed.add(link);
+        else
+            awaiting.add(scope);
+    }
+
+    /**
+     * Reader over the body with any leading byte order mark dropped.
+     */
+    private static Reader reader(byte[] body, Charset charset) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(body), charset));
+        reader.mark(1);
+        if (reader.read() != '\uFEFF')
+            reader.reset();
+        return reader;
+    }
+
+    private static <T> void add(List<T> out, Function<Element, T> mapper, Element link) {
+        T item = mapper.apply(link);
+        if (item != null)
+            out.add(item);
+    }
+
+    /**
+     * The highest element a link's row context and fallback title may read:
+     * its fourth ancestor, or the last one below body, html, main or article.
+     * The link itself when its parent is one of those.
+     */
+    private static Element scope(Element link) {
+        Element scope = link;
+        Element el = link.parent();
+        for (int depth = 1; depth < RowText.DATE_DEPTH && el != null; depth++) {
+            if (RowText.isPageContainer(el.normalName()))
+                break;
+            scope = el;
+            el = el.parent();
+        }
+        return scope;
+    }
+
+    /**
+     * True when every ancestor of {@code el} is a page container, so removing it
+     * changes no text a later link could read.
+     */
+    private static boolean underPageContainers(Element el) {
+        for (Element parent = el.parent(); parent != null; parent = parent.parent()) {
+            if (!(parent instanceof Document) && !RowText.isPageContainer(parent.normalName()))
+                return false;
+        }
+        return true;
+    }
+}
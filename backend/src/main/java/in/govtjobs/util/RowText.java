@@ -0,0 +1,145 @@
+package in.govtjobs.util;
+
+import org.jsoup.nodes.Element;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The ancestor walks behind ScraperUtils.extractDateFromAncestor and
+ * buildTitle's row-text fallback, with what each ancestor contributes (its
+ * first two dates, its title snippet) worked out once per page.
+ *
+ * Links in one row, or one layout cell holding the whole listing, share their
+ * ancestors; without the memo every link re-serialised those ancestors with
+ * text() and re-ran the date regex over them, which is quadratic in the number
+ * of rows. LinkCollector opens a memo for each page it maps; outside one every
+ * walk gets a fresh memo and behaves as before. The streaming path only maps a
+ * link once every ancestor these walks may read is fully parsed, so a memoized
+ * value never goes stale.
+ */
+final class RowText {
+
+    /** Ancestors climbed for dates: the link and up to four above it */
+    static final int DATE_DEPTH = 5;
+    /** Ancestors above the link tried for a fallback title */
+    static final int TITLE_DEPTH = 4;
+
+    private static final ThreadLocal<RowText> CURRENT = new ThreadLocal<>();
+
+    private final Map<Element, Level> levels = new IdentityHashMap<>();
+
+    /** Dates and title snippet of one element, each filled on first use */
+    private static final class Level {
+        private String[] dates;
+        private String snippet;
+        private boolean snippetDone;
+    }
+
+    /**
+     * Page-scoped memo for the current thread, until the scope is closed. A
+     * nested open shares the outer memo.
+     */
+    static Scope open() {
+        RowText outer = CURRENT.get();
+        if (outer != null)
+            return () -> {
+            };
+        RowText rows = new RowText();
+        CURRENT.set(rows);
+        return CURRENT::remove;
+    }
+
+    interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    static RowText current() {
+        RowText rows = CURRENT.get();
+        return rows != null ? rows : new RowText();
+    }
+
+    /**
+     * First and second date found climbing from the link: at each level the
+     * whole text of a row-level tag (a, span, td, th, p, li, tr) or the own
+     * text of anything else, stopping after a tr/li and before body, html,
+     * main or article.
+     *
+     * @return {published, last}, either may be null
+     */
+    String[] dates(Element link, Pattern datePattern) {
+        String published = null;
+        String last = null;
+        Element el = link;
+        for (int depth = 0; depth < DATE_DEPTH && el != null; depth++) {
+            String tag = el.normalName();
+            if (depth > 0 && isPageContainer(tag))
+                break;
+            Level level = level(el);
+            if (level.dates == null)
+                level.dates = datesOf(el, tag, datePattern);
+            String[] found = level.dates;
+            if (published == null)
+                published = found[0];
+            if (last == null)
+                last = found[1];
+            if (last != null || tag.equals("tr") || tag.equals("li"))
+                break;
+            el = el.parent();
+        }
+        return new String[] { published, last };
+    }
+
+    /**
+     * Opening of the first ancestor (up to four above the link, not past body,
+     * html, main or article) whose text is at least 15 characters, or null.
+     *
+     * @param clean title cleaner applied to the snippet
+     */
+    String fallbackTitle(Element link, Function<String, String> clean) {
+        Element ancestor = link.parent();
+        for (int d = 0; d < TITLE_DEPTH && ancestor != null; d++) {
+            if (isPageContainer(ancestor.normalName()))
+                break;
+            Level level = level(ancestor);
+            if (!level.snippetDone) {
+                level.snippet = snippet(ancestor.text(), clean);
+                level.snippetDone = true;
+            }
+            if (level.snippet != null)
+                return level.snippet;
+            ancestor = ancestor.parent();
+        }
+        return null;
+    }
+
+    private static String[] datesOf(Element el, String tag, Pattern datePattern) {
+        boolean rowLevel = tag.equals("tr") || tag.equals("li") || tag.equals("p")
+                || tag.equals("td") || tag.equals("th") || tag.equals("span") || tag.equals("a");
+        Matcher m = datePattern.matcher(rowLevel ? el.text() : el.ownText());
+        String[] found = new String[2];
+        for (int i = 0; i < found.length && m.find(); i++)
+            found[i] = m.group();
+        return found;
+    }
+
+    /** Null if {@code text} is under 15 characters, else its first 120 characters cleaned */
+    private static String snippet(String text, Function<String, String> clean) {
+        String rowText = text.trim();
+        if (rowText.length() < 15)
+            return null;
+        return clean.apply(rowText.length() > 120 ? rowText.substring(0, 120) + "…" : rowText);
+    }
+
+    private Level level(Element el) {
+        return levels.computeIfAbsent(el, e -> new Level());
+    }
+
+    static boolean isPageContainer(String tag) {
+        return tag.equals("body") || tag.equals("html") || tag.equals("main") || tag.equals("article");
+    }
+}
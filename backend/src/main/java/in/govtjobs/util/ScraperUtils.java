@@ -1,24 +1,36 @@
 package in.govtjobs.util;
 
+import in.govtjobs.fetch.CircuitOpenException;
+import in.govtjobs.fetch.Deadline;
+import in.govtjobs.fetch.FetchLimiter;
+import in.govtjobs.fetch.HostCircuitBreaker;
+import in.govtjobs.fetch.PageArchive;
+import in.govtjobs.fetch.PageCache;
+import in.govtjobs.fetch.PageFetcher;
+import in.govtjobs.fetch.PageFingerprint;
+import in.govtjobs.fetch.PageSource;
+import in.govtjobs.fetch.PageUnchangedException;
 import lombok.extern.slf4j.Slf4j;
-import org.jsoup.Connection;
+import org.jsoup.HttpStatusException;
 import org.jsoup.Jsoup;
+import org.jsoup.UnsupportedMimeTypeException;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
+import org.jsoup.select.Evaluator;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import javax.net.ssl.*;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
 import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
-import java.security.SecureRandom;
-import java.security.cert.X509Certificate;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -27,31 +39,106 @@ import java.util.regex.Pattern;
 public class ScraperUtils {
 
     @Value("${scraper.timeout.ms:10000}")
-    private int timeoutMs;
+    private int timeoutMs = 10000;
 
     @Value("${scraper.user-agent:GovtJobAggregator/1.0}")
-    private String userAgent;
+    private String userAgent = "GovtJobAggregator/1.0";
+
+    /** Tokenize capped pages incrementally and stop at the cap, see collectLinks */
+    @Value("${scraper.streaming.enabled:false}")
+    private boolean streamingEnabled;
+
+    private final FetchLimiter limiter;
+    private final PageCache pageCache;
+    private final PageSource pages;
+    private final HostCircuitBreaker breaker;
+    private final PageArchive archive;
+
+    /** Source whose page cache state this instance reads and writes, see forSource */
+    private final String source;
+
+    /** When this instance's fetches must be done by, see withDeadline; null for none */
+    private final Deadline deadline;
+
+    /**
+     * Standalone instance for debug harnesses run outside Spring.
+     */
+    public ScraperUtils() {
+        this(PageFetcher.standalone(), false);
+    }
+
+    /**
+     * Standalone instance that reads every page from {@code pages}, with its own
+     * limits and an in-memory page cache and nothing archived. Used by the
+     * extraction benchmarks on a fixed corpus, and to replay archived pages
+     * (ScraperService.reextract).
+     *
+     * @param streaming extract as with scraper.streaming.enabled
+     */
+    public ScraperUtils(PageSource pages, boolean streaming) {
+        this(FetchLimiter.standalone(), PageCache.inMemory(), pages, HostCircuitBreaker.standalone(),
+                PageArchive.disabled());
+        this.streamingEnabled = streaming;
+    }
+
+    @Autowired
+    public ScraperUtils(FetchLimiter limiter, PageCache pageCache, PageSource pages,
+            HostCircuitBreaker breaker, PageArchive archive) {
+        this(limiter, pageCache, pages, breaker, archive, null, null);
+    }
+
+    private ScraperUtils(FetchLimiter limiter, PageCache pageCache, PageSource pages,
+            HostCircuitBreaker breaker, PageArchive archive, String source, Deadline deadline) {
+        this.limiter = limiter;
+        this.pageCache = pageCache;
+        this.pages = pages;
+        this.breaker = breaker;
+        this.archive = archive;
+        this.source = source;
+        this.deadline = deadline;
+    }
+
+    /**
+     * This instance with its page cache state kept under {@code sourceName}, so
+     * a source only skips a page that is unchanged since it last read it, even
+     * if another source read the same URL in between. ScraperService binds
+     * every source this way for a run.
+     */
+    public ScraperUtils forSource(String sourceName) {
+        return copy(sourceName, deadline);
+    }
+
+    /**
+     * This instance with every fetch bounded by {@code deadline}: waits for a
+     * fetch slot and each request's timeout end when it passes, and no request
+     * starts after it. Nothing is interrupted, so a deadline never lands in
+     * the middle of persisting page state or an archived body.
+     */
+    public ScraperUtils withDeadline(Deadline deadline) {
+        return copy(source, deadline);
+    }
+
+    private ScraperUtils copy(String sourceName, Deadline fetchDeadline) {
+        ScraperUtils bound = new ScraperUtils(limiter, pageCache, pages, breaker, archive, sourceName,
+                fetchDeadline);
+        bound.timeoutMs = timeoutMs;
+        bound.userAgent = userAgent;
+        bound.streamingEnabled = streamingEnabled;
+        return bound;
+    }
+
+    /** Whether collectLinks tokenizes pages incrementally */
+    public boolean isStreamingEnabled() {
+        return streamingEnabled;
+    }
 
     // A real browser UA — many Indian govt sites block Java's default UA
     private static final String BROWSER_UA = "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 " +
             "(KHTML, like Gecko) Chrome/122.0.0.0 Safari/537.36";
 
-    private static final List<DateTimeFormatter> DATE_FORMATS = Arrays.asList(
-            DateTimeFormatter.ofPattern("dd-MM-yyyy"),
-            DateTimeFormatter.ofPattern("dd/MM/yyyy"),
-            DateTimeFormatter.ofPattern("dd.MM.yyyy"),
-            DateTimeFormatter.ofPattern("d MMM yyyy"),
-            DateTimeFormatter.ofPattern("dd MMM yyyy"),
-            DateTimeFormatter.ofPattern("MMMM dd, yyyy"),
-            DateTimeFormatter.ofPattern("yyyy-MM-dd"),
-            DateTimeFormatter.ofPattern("d-MM-yyyy"),
-            DateTimeFormatter.ofPattern("dd MMM, yyyy"),
-            DateTimeFormatter.ofPattern("d/M/yyyy"),
-            DateTimeFormatter.ofPattern("dd-MMM-yyyy"),
-            DateTimeFormatter.ofPattern("d-MMM-yyyy"),
-            DateTimeFormatter.ofPattern("MMM dd, yyyy"),
-            DateTimeFormatter.ofPattern("d MMMM yyyy"),
-            DateTimeFormatter.ofPattern("dd MMMM yyyy"));
+    private static final Pattern CHARSET_PARAM = Pattern.compile("(?i)charset=([^;]+)");
+    private static final Pattern META_CHARSET = Pattern.compile("(?i)<meta[^>]+charset=[\"']?([\\w-]+)");
+    private static final Pattern XML_CONTENT_TYPE = Pattern.compile("(?i)application/(\\w+\\+)?xml.*");
 
     /** Date pattern: matches dd-MM-yyyy, dd/MM/yyyy, dd.MM.yyyy variants */
     private static final Pattern DATE_REGEX = Pattern.compile(
@@ -79,45 +166,25 @@ public class ScraperUtils {
             "contact us", "skip to main content", "login", "register",
             "syllabus", "careers", "tenders", "rti", "archives");
 
-    static {
-        // Install a trust-all SSL context so Indian govt sites with self-signed
-        // or incomplete certificate chains don't cause scraper failures.
-        try {
-            TrustManager[] trustAll = new TrustManager[] {
-                    new X509TrustManager() {
-                        public X509Certificate[] getAcceptedIssuers() {
-                            return new X509Certificate[0];
-                        }
-
-                        public void checkClientTrusted(X509Certificate[] c, String a) {
-                        }
-
-                        public void checkServerTrusted(X509Certificate[] c, String a) {
-                        }
-                    }
-            };
-            SSLContext sc = SSLContext.getInstance("TLS");
-            sc.init(null, trustAll, new SecureRandom());
-            HttpsURLConnection.setDefaultSSLSocketFactory(sc.getSocketFactory());
-            HttpsURLConnection.setDefaultHostnameVerifier((hostname, session) -> true);
-        } catch (Exception e) {
-            // Non-fatal — scrapers will still attempt connections
-        }
-    }
+    private static final TitleClassifier CLASSIFIER = TitleClassifier.load();
 
     /**
-     * Fetch and parse an HTML page using Jsoup with standard headers.
+     * Fetch and parse an HTML page with standard headers. HTTP errors and
+     * non-HTML content types are thrown, as Jsoup did.
+     *
+     * @throws PageUnchangedException if the page is unchanged since the last
+     *                                run (304 or fingerprint match)
+     * @throws CircuitOpenException   if the host keeps failing and is not due
+     *                                for a probe
      */
     public Document fetchPage(String url) throws IOException {
-        return Jsoup.connect(url)
-                .userAgent(userAgent)
-                .timeout(timeoutMs)
-                .method(Connection.Method.GET)
-                .header("Accept", "text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8")
-                .header("Accept-Language", "en-IN,en;q=0.9")
-                .followRedirects(true)
-                .ignoreHttpErrors(false)
-                .get();
+        Map<String, String> headers = new LinkedHashMap<>();
+        headers.put("User-Agent", userAgent);
+        headers.put("Accept", "text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8");
+        headers.put("Accept-Language", "en-IN,en;q=0.9");
+        breaker.checkAllowed(url);
+        return fetchArchiving(url, changed -> limiter.fetch(url, deadline,
+                () -> fetchConditional(url, headers, timeoutMs, true, changed)));
     }
 
     /**
@@ -129,42 +196,245 @@ public class ScraperUtils {
 
     /**
      * Fetch page with browser UA, relaxed error handling, and custom timeout (ms).
+     *
+     * @throws PageUnchangedException if the page is unchanged since the last
+     *                                run (304 or fingerprint match)
      */
     public Document fetchPageLax(String url, int customTimeoutMs) throws IOException {
-        return Jsoup.connect(url)
-                .userAgent(BROWSER_UA)
-                .timeout(customTimeoutMs)
-                .method(Connection.Method.GET)
-                .header("Accept", "text/html,application/xhtml+xml,application/xml;q=0.9,image/webp,*/*;q=0.8")
-                .header("Accept-Language", "en-IN,en-GB;q=0.9,en;q=0.8")
-                .header("Connection", "keep-alive")
-                .header("Upgrade-Insecure-Requests", "1")
-                .followRedirects(true)
-                .ignoreHttpErrors(true)
-                .ignoreContentType(true)
-                .get();
-    }
-
-    /**
-     * Parse various Indian date formats into LocalDate. Returns null if
-     * unparseable.
+        breaker.checkAllowed(url);
+        return fetchArchiving(url, changed -> limiter.fetch(url, deadline,
+                () -> fetchConditional(url, laxHeaders(), customTimeoutMs, false, changed)));
+    }
+
+    private static Map<String, String> laxHeaders() {
+        Map<String, String> headers = new LinkedHashMap<>();
+        headers.put("User-Agent", BROWSER_UA);
+        headers.put("Accept", "text/html,application/xhtml+xml,application/xml;q=0.9,image/webp,*/*;q=0.8");
+        headers.put("Accept-Language", "en-IN,en-GB;q=0.9,en;q=0.8");
+        headers.put("Upgrade-Insecure-Requests", "1");
+        return headers;
+    }
+
+    /**
+     * Fetch a page (lax mode) and run {@code mapper} over links matching
+     * {@code selectors} until {@code cap} non-null items are collected. Falls
+     * back to {@code fallbackSelectors} when the primary ones match nothing.
+     *
+     * With scraper.streaming.enabled the page is tokenized incrementally,
+     * links are mapped as their rows complete and finished blocks are dropped,
+     * so the full DOM is never held; otherwise it is built and walked once.
+     * Either way an unchanged listing throws before the items are returned.
+     *
+     * @param mapper returns the item for a link, or null to skip it
+     * @throws PageUnchangedException if the page is unchanged since the last
+     *                                run
      */
-    public LocalDate parseDate(String dateStr) {
-        if (dateStr == null || dateStr.isBlank())
+    public <T> List<T> collectLinks(String url, int customTimeoutMs, Evaluator selectors, Evaluator fallbackSelectors,
+            int cap, Function<Element, T> mapper) throws IOException {
+        if (!streamingEnabled) {
+            Document doc = fetchPageLax(url, customTimeoutMs);
+            return LinkCollector.fromDocument(doc, selectors, fallbackSelectors, cap, mapper);
+        }
+        breaker.checkAllowed(url);
+        return fetchArchiving(url, archivable -> limiter.fetch(url, deadline, () -> {
+            ChangedPage changed = fetchUnlessUnchanged(url, laxHeaders(), customTimeoutMs, false, archivable);
+            PageFetcher.FetchedPage page = changed.page();
+            LinkCollector.Streamed<T> streamed = LinkCollector.fromStream(page.body(), streamCharset(page),
+                    page.finalUrl(), selectors, fallbackSelectors, cap, mapper);
+            if (page.status() != 200) {
+                pageCache.recordError(url);
+                return streamed.items();
+            }
+            // The listing is only known once the whole page is tokenized, so the items are dropped here
+            long listingFingerprint = streamed.listingFingerprint();
+            if (pageCache.isListingUnchanged(source, url, listingFingerprint)) {
+                pageCache.recordListingMatch(source, url, page.etag(), page.lastModified(),
+                        changed.bodyFingerprint(), listingFingerprint);
+                throw new PageUnchangedException(url);
+            }
+            pageCache.recordFullResponse(source, url, page.etag(), page.lastModified(), changed.bodyFingerprint(),
+                    listingFingerprint);
+            return streamed.items();
+        }));
+    }
+
+    /**
+     * {@link #collectLinks(String, int, Evaluator, Evaluator, int, Function)} with
+     * selector strings, compiled once and cached.
+     */
+    public <T> List<T> collectLinks(String url, int customTimeoutMs, String selectors, String fallbackSelectors,
+            int cap, Function<Element, T> mapper) throws IOException {
+        return collectLinks(url, customTimeoutMs, Selectors.compile(selectors),
+                Selectors.compileOrNull(fallbackSelectors), cap, mapper);
+    }
+
+    /**
+     * {@link #collectLinks(String, int, String, String, int, Function)} with the
+     * default timeout.
+     */
+    public <T> List<T> collectLinks(String url, String selectors, String fallbackSelectors, int cap,
+            Function<Element, T> mapper) throws IOException {
+        return collectLinks(url, timeoutMs, selectors, fallbackSelectors, cap, mapper);
+    }
+
+    /**
+     * GET through the {@link PageSource} and parse with Jsoup. A 304, or
+     * a body or anchor listing identical to the previous run, short-circuits
+     * before any selector / title / date extraction.
+     */
+    private Document fetchConditional(String url, Map<String, String> headers, int timeout, boolean strict,
+            AtomicReference<PageFetcher.FetchedPage> archivable) throws IOException {
+        ChangedPage changed = fetchUnlessUnchanged(url, headers, timeout, strict, archivable);
+        PageFetcher.FetchedPage page = changed.page();
+        if (page.status() != 200) {
+            pageCache.recordError(url);
+            return parse(page);
+        }
+
+        Document doc = parse(page);
+        long listingFingerprint = PageFingerprint.ofListing(doc);
+        if (pageCache.isListingUnchanged(source, url, listingFingerprint)) {
+            pageCache.recordListingMatch(source, url, page.etag(), page.lastModified(), changed.bodyFingerprint(),
+                    listingFingerprint);
+            throw new PageUnchangedException(url);
+        }
+        pageCache.recordFullResponse(source, url, page.etag(), page.lastModified(), changed.bodyFingerprint(),
+                listingFingerprint);
+        return doc;
+    }
+
+    /**
+     * Run a fetch and archive the changed 200 body it hands to
+     * {@code archivable}, once the fetch has returned or thrown. Archiving
+     * writes a blob and a row, so it happens after the host permit is given
+     * back.
+     */
+    private <T> T fetchArchiving(String url, ArchivingFetch<T> fetch) throws IOException {
+        AtomicReference<PageFetcher.FetchedPage> archivable = new AtomicReference<>();
+        try {
+            return fetch.run(archivable);
+        } finally {
+            PageFetcher.FetchedPage page = archivable.get();
+            if (page != null)
+                archive.store(url, page);
+        }
+    }
+
+    /**
+     * GET with If-None-Match / If-Modified-Since from the page cache. Throws on
+     * a 304 or a raw body identical to the previous run, before any parsing.
+     * A changed 200 body is put in {@code archivable} for later re-extraction.
+     */
+    private ChangedPage fetchUnlessUnchanged(String url, Map<String, String> headers, int timeout, boolean strict,
+            AtomicReference<PageFetcher.FetchedPage> archivable) throws IOException {
+        pageCache.validatorsFor(source, url).ifPresent(v -> {
+            if (v.getEtag() != null)
+                headers.put("If-None-Match", v.getEtag());
+            if (v.getLastModified() != null)
+                headers.put("If-Modified-Since", v.getLastModified());
+        });
+        int budget = deadline == null ? timeout : deadline.cap(timeout, url);
+        PageFetcher.FetchedPage page;
+        try {
+            page = pages.get(url, headers, budget);
+        } catch (IOException e) {
+            // A timeout the deadline cut short says nothing about the host
+            if (budget == timeout || !(e instanceof HttpTimeoutException))
+                breaker.recordFailure(url, e);
+            throw e;
+        }
+        breaker.recordResponse(url, page.status());
+
+        if (page.status() == 304) {
+            pageCache.recordNotModified(url);
+            throw new PageUnchangedException(url);
+        }
+        if (strict && (page.status() < 200 || page.status() >= 400))
+            throw new HttpStatusException("HTTP error fetching URL", page.status(), url);
+        if (strict && !isHtmlOrXml(page.contentType()))
+            throw new UnsupportedMimeTypeException("Unhandled content type", page.contentType(), url);
+        if (page.status() != 200)
+            return new ChangedPage(page, 0);
+
+        long bodyFingerprint = PageFingerprint.ofBody(page.body());
+        if (pageCache.isBodyUnchanged(source, url, bodyFingerprint)) {
+            pageCache.recordBodyMatch(url);
+            throw new PageUnchangedException(url);
+        }
+        archivable.set(page);
+        return new ChangedPage(page, bodyFingerprint);
+    }
+
+    /**
+     * Parse a raw response the way a live fetch would: charset from the
+     * Content-Type header, else sniffed, with the final URL as base URI.
+     */
+    public static Document parse(PageFetcher.FetchedPage page) throws IOException {
+        return Jsoup.parse(new ByteArrayInputStream(page.body()), charsetOf(page.contentType()), page.finalUrl());
+    }
+
+    /** Charset from the Content-Type header; null lets Jsoup sniff the meta tag */
+    private static String charsetOf(String contentType) {
+        if (contentType == null)
+            return null;
+        Matcher m = CHARSET_PARAM.matcher(contentType);
+        if (!m.find())
             return null;
-        String cleaned = dateStr.trim()
-                .replaceAll("\\s+", " ")
-                .replaceAll("(?i)(st|nd|rd|th)(?=\\s)", "")
-                .replaceAll("(?i)([a-z]+)[,.\\-]?\\s*-\\s*(\\d{4})", "$1 $2") // Handles "Feb - 2026"
-                .trim();
-        for (DateTimeFormatter fmt : DATE_FORMATS) {
-            try {
-                return LocalDate.parse(cleaned, fmt);
-            } catch (DateTimeParseException ignored) {
+        String charset = m.group(1).trim().replace("\"", "");
+        try {
+            return Charset.isSupported(charset) ? charset : null;
+        } catch (IllegalCharsetNameException e) {
+            return null;
+        }
+    }
+
+    /**
+     * The stream parser needs a decoded Reader up front: use the header charset,
+     * else a meta charset declared near the top of the page, else UTF-8.
+     */
+    static Charset streamCharset(PageFetcher.FetchedPage page) {
+        // A byte order mark wins over the header, as in Jsoup.parse(InputStream)
+        byte[] b = page.body();
+        if (b.length >= 2 && (b[0] & 0xFF) == 0xFE && (b[1] & 0xFF) == 0xFF
+                || b.length >= 2 && (b[0] & 0xFF) == 0xFF && (b[1] & 0xFF) == 0xFE)
+            return StandardCharsets.UTF_16;
+        if (b.length >= 3 && (b[0] & 0xFF) == 0xEF && (b[1] & 0xFF) == 0xBB && (b[2] & 0xFF) == 0xBF)
+            return StandardCharsets.UTF_8;
+        String charset = charsetOf(page.contentType());
+        if (charset == null) {
+            String head = new String(page.body(), 0, Math.min(page.body().length, 2048), StandardCharsets.ISO_8859_1);
+            Matcher m = META_CHARSET.matcher(head);
+            if (m.find()) {
+                try {
+                    charset = Charset.isSupported(m.group(1)) ? m.group(1) : null;
+                } catch (IllegalCharsetNameException ignored) {
+                }
             }
         }
-        log.debug("Could not parse date: '{}'", dateStr);
-        return null;
+        return charset == null ? StandardCharsets.UTF_8 : Charset.forName(charset);
+    }
+
+    private static boolean isHtmlOrXml(String contentType) {
+        return contentType == null || contentType.startsWith("text/") || XML_CONTENT_TYPE.matcher(contentType).matches();
+    }
+
+    /**
+     * Signal that the current thread is done with the last page it fetched, so
+     * another scraper thread may parse one.
+     */
+    public void releasePage() {
+        limiter.releaseDocument();
+    }
+
+    /**
+     * Parse various Indian date formats into LocalDate in a single pass, see
+     * {@link DateLexer}. Returns null if unparseable.
+     */
+    public LocalDate parseDate(String dateStr) {
+        LocalDate date = DateLexer.parse(dateStr);
+        if (date == null && dateStr != null && !dateStr.isBlank())
+            log.debug("Could not parse date: '{}'", dateStr);
+        return date;
     }
 
     /**
@@ -191,36 +461,26 @@ public class ScraperUtils {
      * Never climbs into body/main/section/div-that-contains-all-rows to avoid
      * attributing the FIRST date on the entire page to every notice.
      *
+     * Prefer {@link #rowContext}, which finds both dates in one walk.
+     *
      * @param link  the anchor element
      * @param index 0 = published date, 1 = last/closing date
      */
     public String extractDateFromAncestor(Element link, int index) {
-        Element el = link;
-        for (int depth = 0; depth < 5; depth++) {
-            if (el == null)
-                break;
-            String tag = el.tagName().toLowerCase();
-            // Stop if we've climbed into a page-level container
-            if (depth > 0 && (tag.equals("body") || tag.equals("html")
-                    || tag.equals("main") || tag.equals("article")))
-                break;
-            // Search text of this element (own text only, not deep children beyond row)
-            String text = el.ownText();
-            // For tr/li/p also include the full subtree text (these are row-level)
-            if (tag.equals("tr") || tag.equals("li") || tag.equals("p")
-                    || tag.equals("td") || tag.equals("th") || tag.equals("span")
-                    || tag.equals("a")) {
-                text = el.text();
-            }
-            String found = extractDate(text, index);
-            if (found != null)
-                return found;
-            // After reaching a row-boundary tag, stop climbing further
-            if (tag.equals("tr") || tag.equals("li"))
-                break;
-            el = el.parent();
-        }
-        return null;
+        if (index < 0 || index > 1)
+            throw new IllegalArgumentException("Date index must be 0 or 1: " + index);
+        return RowText.current().dates(link, DATE_REGEX)[index];
+    }
+
+    /**
+     * Published and last date for a link, from one walk up its ancestors.
+     * Within collectLinks each ancestor's text is read and searched once per
+     * page, however many links share it; buildTitle's row-text fallback uses
+     * the same memo.
+     */
+    public RowContext rowContext(Element link) {
+        String[] dates = RowText.current().dates(link, DATE_REGEX);
+        return new RowContext(parseDate(dates[0]), parseDate(dates[1]));
     }
 
     /**
@@ -258,19 +518,9 @@ public class ScraperUtils {
         }
 
         // 4. First meaningful segment from ancestor row text
-        Element ancestor = link.parent();
-        for (int d = 0; d < 4 && ancestor != null; d++) {
-            String tag = ancestor.tagName().toLowerCase();
-            if (tag.equals("body") || tag.equals("html") || tag.equals("main") || tag.equals("article")) {
-                break;
-            }
-            String rowText = ancestor.text().trim();
-            if (rowText.length() >= 15) {
-                // Take up to 120 chars
-                return cleanTitle(rowText.length() > 120 ? rowText.substring(0, 120) + "…" : rowText);
-            }
-            ancestor = ancestor.parent();
-        }
+        String rowTitle = RowText.current().fallbackTitle(link, this::cleanTitle);
+        if (rowTitle != null)
+            return rowTitle;
 
         return text; // Return whatever we have even if short
     }
@@ -293,47 +543,25 @@ public class ScraperUtils {
      * duplicates.
      */
     public String hash(String title, String sourceName) {
-        try {
-            MessageDigest md = MessageDigest.getInstance("SHA-256");
-            String normalizedTitle = normalizeTitleForDisplay(title);
-            String input = (normalizedTitle + "|" + sourceName).toLowerCase().trim();
-            byte[] digest = md.digest(input.getBytes(StandardCharsets.UTF_8));
-            return HexFormat.of().formatHex(digest);
-        } catch (NoSuchAlgorithmException e) {
-            return String.valueOf((title + sourceName).hashCode());
-        }
+        return TitleNormalizer.hash(title, sourceName);
     }
 
     /**
-     * Categorizes a notice into RECRUITMENT, EXAM_ADMIT_CARD, RESULT, CALENDAR, or
-     * GENERAL_INFO.
+     * Every keyword label (notice type, engineering branches, category, state,
+     * per-source relevance) found in the title, in one scan. The labels and
+     * their keywords are listed in title-keywords.txt.
      */
-    public String categorizeNoticeType(String title) {
-        if (title == null || title.isBlank())
-            return "GENERAL_INFO";
-        String lower = title.toLowerCase();
+    public TitleLabels classify(String title) {
+        return CLASSIFIER.classify(title);
+    }
 
-        if (lower.contains("result") || lower.contains("merit list") || lower.contains("selection list")
-                || lower.contains("marks") || lower.contains("cut off") || lower.contains("score")) {
-            return "RESULT";
-        }
-        if (lower.contains("admit card") || lower.contains("hall ticket") || lower.contains("exam date")
-                || lower.contains("interview schedule") || lower.contains("call letter")) {
-            return "EXAM_ADMIT_CARD";
-        }
-        if (lower.contains("calendar") || lower.contains("planner") || lower.contains("schedule")) {
-            return "CALENDAR";
-        }
-        if (lower.contains("apprentice") || lower.contains("nats") || lower.contains("trade apprentice")
-                || lower.contains("act apprentice") || lower.contains("apprenticeship")) {
-            return "APPRENTICESHIP";
-        }
-        if (lower.contains("recruit") || lower.contains("vacancy") || lower.contains("notification")
-                || lower.contains("advt") || lower.contains("apply") || lower.contains("post")
-                || lower.contains("officer") || lower.contains("clerk")) {
-            return "RECRUITMENT";
-        }
-        return "GENERAL_INFO";
+    /**
+     * Categorizes a notice into RECRUITMENT, EXAM_ADMIT_CARD, RESULT, CALENDAR,
+     * APPRENTICESHIP or GENERAL_INFO. Callers that need more than one label
+     * should {@link #classify} once instead.
+     */
+    public String categorizeNoticeType(String title) {
+        return classify(title).noticeType();
     }
 
     /**
@@ -343,37 +571,7 @@ public class ScraperUtils {
      * Codes: CIVIL, MECH, EEE, ECE, CSE, CHEM, INST, GENERAL_ENGG
      */
     public String inferEngineeringBranches(String title) {
-        if (title == null || title.isBlank())
-            return null;
-        String lower = title.toLowerCase();
-        java.util.List<String> branches = new java.util.ArrayList<>();
-
-        if (lower.contains("civil") || lower.contains("structural"))
-            branches.add("CIVIL");
-        if (lower.contains("mechanical") || lower.contains(" mech ") || lower.contains("machinist")
-                || lower.contains("fitter") || lower.contains("welder") || lower.contains("boiler"))
-            branches.add("MECH");
-        if (lower.contains("electrical") || lower.contains(" eee ") || lower.contains("electrician"))
-            branches.add("EEE");
-        if (lower.contains("electronics") || lower.contains(" ece ") || lower.contains("radio")
-                || lower.contains("telecommunication"))
-            branches.add("ECE");
-        if (lower.contains("computer") || lower.contains(" cse ") || lower.contains(" it ")
-                || lower.contains("software")
-                || lower.contains("programmer") || lower.contains("data entry"))
-            branches.add("CSE");
-        if (lower.contains("chemical") || lower.contains("petrochem"))
-            branches.add("CHEM");
-        if (lower.contains("instrumentation") || lower.contains("instrument"))
-            branches.add("INST");
-
-        // If title has generic engineering keywords but no specific branch detected
-        if (branches.isEmpty() && (lower.contains("engineer") || lower.contains(" je ") ||
-                lower.contains(" get ") || lower.contains("technical officer") ||
-                lower.contains("graduate engineer") || lower.contains("junior engineer")))
-            branches.add("GENERAL_ENGG");
-
-        return branches.isEmpty() ? null : String.join(",", branches);
+        return classify(title).engineeringBranches();
     }
 
     /**
@@ -389,27 +587,14 @@ public class ScraperUtils {
      * whitespace.
      */
     public String normalizeTitleForDisplay(String raw) {
-        if (raw == null)
-            return "";
-        String cleaned = cleanTitle(raw);
-        cleaned = cleaned
-                .replaceAll("(?i)^(Update:|Flash:|New:|Latest:|Notice:|Advertisement:|Advt:|Notification:)\\s*", "");
-        if (cleaned.length() > 200) {
-            cleaned = cleaned.substring(0, 197) + "...";
-        }
-        return cleaned.trim();
+        return TitleNormalizer.forDisplay(raw);
     }
 
     /**
      * Clean and normalize a title string.
      */
     public String cleanTitle(String raw) {
-        if (raw == null)
-            return "";
-        return raw.trim()
-                .replaceAll("\\s+", " ")
-                .replaceAll("[\\r\\n\\t]", " ")
-                .trim();
+        return TitleNormalizer.clean(raw);
     }
 
     /**
@@ -426,4 +611,19 @@ public class ScraperUtils {
             return base + relative.replaceFirst("^/", "");
         return base + "/" + relative.replaceFirst("^/", "");
     }
+
+    /**
+     * The dates in a link's row, see {@link #rowContext}; null when absent or
+     * unparseable.
+     */
+    public record RowContext(LocalDate publishedDate, LocalDate lastDate) {
+    }
+
+    private record ChangedPage(PageFetcher.FetchedPage page, long bodyFingerprint) {
+    }
+
+    @FunctionalInterface
+    private interface ArchivingFetch<T> {
+        T run(AtomicReference<PageFetcher.FetchedPage> archivable) throws IOException;
+    }
 }
@@ -0,0 +1,33 @@
+package in.govtjobs.util;
+
+import org.jsoup.select.Evaluator;
+import org.jsoup.select.QueryParser;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * CSS selectors compiled once into jsoup Evaluators and shared. doc.select(String)
+ * re-parses its query on every call; scrapers use a handful of fixed queries,
+ * so each is parsed only the first time it is seen.
+ */
+public final class Selectors {
+
+    private static final Map<String, Evaluator> CACHE = new ConcurrentHashMap<>();
+
+    private Selectors() {
+    }
+
+    /**
+     * @throws org.jsoup.select.Selector.SelectorParseException if the query is
+     *                                                          invalid
+     */
+    public static Evaluator compile(String css) {
+        return CACHE.computeIfAbsent(css.trim(), QueryParser::parse);
+    }
+
+    /** Null-tolerant {@link #compile}, for optional fallback selectors */
+    public static Evaluator compileOrNull(String css) {
+        return css == null || css.isBlank() ? null : compile(css);
+    }
+}
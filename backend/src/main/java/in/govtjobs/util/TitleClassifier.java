@@ -0,0 +1,119 @@
+package in.govtjobs.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The keyword dictionary (title-keywords.txt) compiled into a
+ * {@link KeywordAutomaton}. Labels are numbered in dictionary order, which is
+ * the precedence order within a group.
+ */
+final class TitleClassifier {
+
+    static final String DICTIONARY = "/title-keywords.txt";
+
+    private final KeywordAutomaton automaton;
+    /** Label name ("type.RESULT") to id */
+    private final Map<String, Integer> ids = new HashMap<>();
+    /** Group ("type") to label ids in dictionary order */
+    private final Map<String, int[]> groups = new HashMap<>();
+    /** Label id to the value after the group ("RESULT") */
+    private final String[] values;
+
+    private TitleClassifier(Map<String, List<String>> dictionary) {
+        List<String> keywords = new ArrayList<>();
+        List<Integer> keywordLabels = new ArrayList<>();
+        Map<String, List<Integer>> members = new LinkedHashMap<>();
+        values = new String[dictionary.size()];
+        int id = 0;
+        for (Map.Entry<String, List<String>> entry : dictionary.entrySet()) {
+            String label = entry.getKey();
+            int dot = label.indexOf('.');
+            if (dot <= 0 || dot == label.length() - 1)
+                throw new IllegalArgumentException("Label must be group.VALUE: '" + label + "'");
+            ids.put(label, id);
+            values[id] = label.substring(dot + 1);
+            members.computeIfAbsent(label.substring(0, dot), g -> new ArrayList<>()).add(id);
+            for (String keyword : entry.getValue()) {
+                keywords.add(keyword);
+                keywordLabels.add(id);
+            }
+            id++;
+        }
+        members.forEach((group, list) -> groups.put(group, list.stream().mapToInt(Integer::intValue).toArray()));
+        automaton = new KeywordAutomaton(keywords, keywordLabels.stream().mapToInt(Integer::intValue).toArray(), id);
+    }
+
+    /** Compiled from the dictionary on the classpath */
+    static TitleClassifier load() {
+        try (InputStream in = TitleClassifier.class.getResourceAsStream(DICTIONARY)) {
+            if (in == null)
+                throw new IllegalStateException("Missing keyword dictionary " + DICTIONARY);
+            return new TitleClassifier(parse(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    TitleLabels classify(String title) {
+        String text = title != null ? title : "";
+        return new TitleLabels(this, text, automaton.scan(text));
+    }
+
+    int id(String label) {
+        Integer id = ids.get(label);
+        if (id == null)
+            throw new IllegalArgumentException("Unknown label '" + label + "' in " + DICTIONARY);
+        return id;
+    }
+
+    int[] group(String group) {
+        int[] members = groups.get(group);
+        if (members == null)
+            throw new IllegalArgumentException("Unknown label group '" + group + "' in " + DICTIONARY);
+        return members;
+    }
+
+    String value(int id) {
+        return values[id];
+    }
+
+    /**
+     * "label: kw, kw, ..." lines; '#' starts a comment line, quotes keep
+     * surrounding spaces. A label listed twice gets both keyword lists.
+     */
+    private static Map<String, List<String>> parse(BufferedReader reader) throws IOException {
+        Map<String, List<String>> dictionary = new LinkedHashMap<>();
+        String line;
+        int lineNo = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNo++;
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("#"))
+                continue;
+            int colon = trimmed.indexOf(':');
+            if (colon <= 0)
+                throw new IllegalArgumentException(DICTIONARY + ":" + lineNo + ": expected 'label: keywords'");
+            List<String> keywords = dictionary.computeIfAbsent(trimmed.substring(0, colon).trim(),
+                    l -> new ArrayList<>());
+            for (String keyword : trimmed.substring(colon + 1).split(",")) {
+                keyword = keyword.trim();
+                if (keyword.length() >= 2 && keyword.startsWith("\"") && keyword.endsWith("\""))
+                    keyword = keyword.substring(1, keyword.length() - 1);
+                if (keyword.isEmpty())
+                    throw new IllegalArgumentException(DICTIONARY + ":" + lineNo + ": empty keyword");
+                keywords.add(keyword);
+            }
+        }
+        return dictionary;
+    }
+}
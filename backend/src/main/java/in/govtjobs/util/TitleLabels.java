@@ -0,0 +1,82 @@
+package in.govtjobs.util;
+
+import java.util.StringJoiner;
+
+/**
+ * Every dictionary label found in one notice title, from a single scan. See
+ * title-keywords.txt for the labels; {@link #has} throws on a label that is
+ * not in the dictionary, so a typo fails loudly instead of filtering
+ * everything out.
+ */
+public final class TitleLabels {
+
+    private final TitleClassifier classifier;
+    private final String title;
+    private final long[] mask;
+
+    TitleLabels(TitleClassifier classifier, String title, long[] mask) {
+        this.classifier = classifier;
+        this.title = title;
+        this.mask = mask;
+    }
+
+    public String title() {
+        return title;
+    }
+
+    /** True if a keyword of {@code label} ("relevant.ssc") occurs in the title */
+    public boolean has(String label) {
+        return isSet(classifier.id(label));
+    }
+
+    /**
+     * RESULT, EXAM_ADMIT_CARD, CALENDAR, APPRENTICESHIP, RECRUITMENT or
+     * GENERAL_INFO.
+     */
+    public String noticeType() {
+        return first("type", "GENERAL_INFO");
+    }
+
+    /**
+     * Comma-separated branch codes (CIVIL, MECH, EEE, ECE, CSE, CHEM, INST), or
+     * GENERAL_ENGG for generic engineering titles, or null.
+     */
+    public String engineeringBranches() {
+        StringJoiner branches = new StringJoiner(",");
+        String general = null;
+        for (int id : classifier.group("branch")) {
+            if (!isSet(id))
+                continue;
+            String branch = classifier.value(id);
+            if (branch.equals("GENERAL_ENGG"))
+                general = branch;
+            else
+                branches.add(branch);
+        }
+        if (branches.length() > 0)
+            return branches.toString();
+        return general;
+    }
+
+    /** Recruiter category named in the title, OTHERS if none */
+    public String category() {
+        return first("category", "OTHERS");
+    }
+
+    /** State or union territory named in the title, Central if none */
+    public String state() {
+        return first("state", "Central");
+    }
+
+    private String first(String group, String fallback) {
+        for (int id : classifier.group(group)) {
+            if (isSet(id))
+                return classifier.value(id);
+        }
+        return fallback;
+    }
+
+    private boolean isSet(int id) {
+        return (mask[id >>> 6] & 1L << id) != 0;
+    }
+}
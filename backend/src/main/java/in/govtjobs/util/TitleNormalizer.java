@@ -0,0 +1,245 @@
+package in.govtjobs.util;
+
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+
+/**
+ * Single-pass versions of ScraperUtils.cleanTitle, normalizeTitleForDisplay
+ * and the dedup key behind ScraperUtils.hash. Each walks the title once,
+ * collapsing whitespace, stripping a leading "Update:"-style prefix,
+ * truncating and (for the key) lower-casing as it goes, and gives exactly the
+ * result the regex chain did:
+ *
+ * <pre>
+ * clean:   trim, \s+ to " ", trim
+ * display: clean, strip ^(Update:|...|Notification:)\s* (ASCII case-insensitive),
+ *          over 200 chars: first 197 + "...", trim
+ * key:     (display + "|" + sourceName).toLowerCase().trim()
+ * </pre>
+ *
+ * The key is built in a per-thread buffer and hashed with a per-thread
+ * SHA-256 digest, so hashing a notice allocates only the hex string.
+ */
+final class TitleNormalizer {
+
+    static final int MAX_DISPLAY_LENGTH = 200;
+
+    private static final String[] PREFIXES = { "update:", "flash:", "new:", "latest:", "notice:",
+            "advertisement:", "advt:", "notification:" };
+
+    private static final HexFormat HEX = HexFormat.of();
+
+    private static final ThreadLocal<KeyBuffer> BUFFERS = ThreadLocal.withInitial(KeyBuffer::new);
+
+    private TitleNormalizer() {
+    }
+
+    static String clean(String raw) {
+        if (raw == null)
+            return "";
+        StringBuilder out = new StringBuilder(raw.length());
+        appendCollapsed(raw, trimStart(raw, 0), trimEnd(raw), out);
+        return out.toString();
+    }
+
+    static String forDisplay(String raw) {
+        if (raw == null)
+            return "";
+        StringBuilder out = new StringBuilder(Math.min(raw.length(), MAX_DISPLAY_LENGTH));
+        appendDisplay(raw, out);
+        return out.toString();
+    }
+
+    /** Hex SHA-256 of the dedup key of a title and source */
+    static String hash(String title, String sourceName) {
+        KeyBuffer buffer = BUFFERS.get();
+        StringBuilder key = buffer.key;
+        key.setLength(0);
+        boolean asciiOnly = appendDisplay(title != null ? title : "", key);
+        key.append('|');
+        String source = String.valueOf(sourceName);
+        for (int i = 0; i < source.length(); i++) {
+            char c = source.charAt(i);
+            asciiOnly &= c < 0x80;
+            key.append(c);
+        }
+        int end = key.length();
+        while (end > 0 && key.charAt(end - 1) <= ' ')
+            end--;
+        key.setLength(end);
+
+        // toLowerCase() is locale- and context-sensitive outside plain ASCII
+        // (Turkish dotless i, final sigma); defer to it there so keys match
+        if (asciiOnly && !isSpecialCaseLocale()) {
+            for (int i = 0; i < end; i++) {
+                char c = key.charAt(i);
+                if (c >= 'A' && c <= 'Z')
+                    key.setCharAt(i, (char) (c | 0x20));
+            }
+            return buffer.digest(key);
+        }
+        return buffer.digest(key.toString().toLowerCase());
+    }
+
+    /**
+     * Appends the display form of {@code raw} to {@code out}.
+     *
+     * @return true if the appended text is plain ASCII
+     */
+    private static boolean appendDisplay(String raw, StringBuilder out) {
+        int from = trimStart(raw, 0);
+        int to = trimEnd(raw);
+        if (from < to) {
+            int afterPrefix = prefixEnd(raw, from, to);
+            if (afterPrefix > from) {
+                from = afterPrefix;
+                while (from < to && isRegexSpace(raw.charAt(from)))
+                    from++;
+            }
+        }
+
+        int start = out.length();
+        boolean asciiOnly = appendCollapsed(raw, from, to, out);
+        if (out.length() - start > MAX_DISPLAY_LENGTH) {
+            out.setLength(start + MAX_DISPLAY_LENGTH - 3);
+            out.append("...");
+        }
+        // Final trim: only reachable with control characters right after a prefix
+        int lead = start;
+        while (lead < out.length() && out.charAt(lead) <= ' ')
+            lead++;
+        if (lead > start)
+            out.delete(start, lead);
+        int end = out.length();
+        while (end > start && out.charAt(end - 1) <= ' ')
+            end--;
+        out.setLength(end);
+        return asciiOnly;
+    }
+
+    /**
+     * Appends raw[from, to) with each run of regex whitespace as one space.
+     *
+     * @return true if the appended text is plain ASCII
+     */
+    private static boolean appendCollapsed(String raw, int from, int to, StringBuilder out) {
+        boolean asciiOnly = true;
+        boolean inSpace = false;
+        for (int i = from; i < to; i++) {
+            char c = raw.charAt(i);
+            if (isRegexSpace(c)) {
+                if (!inSpace)
+                    out.append(' ');
+                inSpace = true;
+                continue;
+            }
+            inSpace = false;
+            asciiOnly &= c < 0x80;
+            out.append(c);
+        }
+        return asciiOnly;
+    }
+
+    /** End of a display prefix at {@code from}, or {@code from} if there is none */
+    private static int prefixEnd(String raw, int from, int to) {
+        for (String prefix : PREFIXES) {
+            int n = prefix.length();
+            if (to - from < n)
+                continue;
+            int i = 0;
+            while (i < n && asciiLower(raw.charAt(from + i)) == prefix.charAt(i))
+                i++;
+            if (i == n)
+                return from + n;
+        }
+        return from;
+    }
+
+    private static int trimStart(String s, int from) {
+        while (from < s.length() && s.charAt(from) <= ' ')
+            from++;
+        return from;
+    }
+
+    private static int trimEnd(String s) {
+        int end = s.length();
+        while (end > 0 && s.charAt(end - 1) <= ' ')
+            end--;
+        return end;
+    }
+
+    /** The characters \s matches without UNICODE_CHARACTER_CLASS */
+    private static boolean isRegexSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    private static char asciiLower(char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c | 0x20) : c;
+    }
+
+    /** Locales where even ASCII letters do not lower-case to themselves plus 0x20 */
+    private static boolean isSpecialCaseLocale() {
+        String language = Locale.getDefault().getLanguage();
+        return language.equals("tr") || language.equals("az") || language.equals("lt");
+    }
+
+    /** Per-thread key builder, UTF-8 scratch and SHA-256 instance */
+    private static final class KeyBuffer {
+        private final StringBuilder key = new StringBuilder(256);
+        private final MessageDigest digest;
+        private final byte[] hash = new byte[32];
+        private byte[] utf8 = new byte[512];
+
+        private KeyBuffer() {
+            try {
+                digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 not available", e);
+            }
+        }
+
+        /**
+         * SHA-256 of the UTF-8 encoding of {@code text}, encoded as
+         * String.getBytes(UTF_8) does (unpaired surrogates become '?').
+         */
+        private String digest(CharSequence text) {
+            int n = text.length();
+            if (utf8.length < n * 3)
+                utf8 = new byte[n * 3];
+            byte[] b = utf8;
+            int len = 0;
+            for (int i = 0; i < n; i++) {
+                char c = text.charAt(i);
+                if (c < 0x80) {
+                    b[len++] = (byte) c;
+                } else if (c < 0x800) {
+                    b[len++] = (byte) (0xC0 | c >> 6);
+                    b[len++] = (byte) (0x80 | c & 0x3F);
+                } else if (Character.isHighSurrogate(c) && i + 1 < n
+                        && Character.isLowSurrogate(text.charAt(i + 1))) {
+                    int cp = Character.toCodePoint(c, text.charAt(++i));
+                    b[len++] = (byte) (0xF0 | cp >> 18);
+                    b[len++] = (byte) (0x80 | cp >> 12 & 0x3F);
+                    b[len++] = (byte) (0x80 | cp >> 6 & 0x3F);
+                    b[len++] = (byte) (0x80 | cp & 0x3F);
+                } else if (Character.isSurrogate(c)) {
+                    b[len++] = '?';
+                } else {
+                    b[len++] = (byte) (0xE0 | c >> 12);
+                    b[len++] = (byte) (0x80 | c >> 6 & 0x3F);
+                    b[len++] = (byte) (0x80 | c & 0x3F);
+                }
+            }
+            digest.update(b, 0, len);
+            try {
+                digest.digest(hash, 0, hash.length);
+            } catch (DigestException e) {
+                throw new IllegalStateException(e);
+            }
+            return HEX.formatHex(hash);
+        }
+    }
+}
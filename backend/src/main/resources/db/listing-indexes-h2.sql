@@ -0,0 +1,17 @@
+-- Deadline indexes for the /api/notices listing (JobNoticeListingImpl) on H2,
+-- applied after Hibernate's schema update on every start when
+-- spring.sql.init.platform=h2. The newest and fetched indexes are declared
+-- on JobNotice; these are here because @Index can't express
+-- "last_date NULLS LAST", which H2 needs to read them in the listing's order.
+-- Other databases have no script and sort deadline pages.
+
+CREATE INDEX IF NOT EXISTS idx_deadline ON job_notices (last_date ASC NULLS LAST, fetched_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_state_deadline ON job_notices (state, last_date ASC NULLS LAST, fetched_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_category_deadline ON job_notices (category, last_date ASC NULLS LAST, fetched_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_notice_type_deadline ON job_notices (notice_type, last_date ASC NULLS LAST, fetched_at DESC, id DESC);
+
+-- Single-column indexes the composites lead with, from before they existed
+DROP INDEX IF EXISTS idx_category;
+DROP INDEX IF EXISTS idx_state;
+DROP INDEX IF EXISTS idx_notice_type;
+DROP INDEX IF EXISTS idx_published_date;
@@ -0,0 +1,140 @@
+package in.govtjobs.bench;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import in.govtjobs.fetch.PageFetcher;
+import in.govtjobs.fetch.PageSource;
+import in.govtjobs.scraper.JobNoticeSource;
+import in.govtjobs.scraper.impl.EmploymentNewsScraper;
+import in.govtjobs.scraper.impl.IbpsScraper;
+import in.govtjobs.scraper.impl.MedicalJobsScraper;
+import in.govtjobs.scraper.impl.PsuScraper;
+import in.govtjobs.scraper.impl.RrbScraper;
+import in.govtjobs.scraper.impl.SbiScraper;
+import in.govtjobs.scraper.impl.SscScraper;
+import in.govtjobs.scraper.impl.StateGovtScraper;
+import in.govtjobs.scraper.impl.TnpscScraper;
+import in.govtjobs.scraper.impl.UpscScraper;
+import in.govtjobs.util.ScraperUtils;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * The offline page corpus in src/test/resources/corpus, keyed by the URL each
+ * scraper requests. See manifest.properties for what is real and what is
+ * synthetic.
+ */
+public final class Corpus {
+
+    private final String version;
+    private final Map<String, String> files = new LinkedHashMap<>();
+    private final Map<String, byte[]> bodies = new LinkedHashMap<>();
+
+    private Corpus() throws IOException {
+        Properties manifest = new Properties();
+        try (InputStream in = resource("manifest.properties")) {
+            manifest.load(in);
+        }
+        version = manifest.getProperty("corpus.version");
+        for (String url : manifest.stringPropertyNames()) {
+            if (url.startsWith("corpus."))
+                continue;
+            String file = manifest.getProperty(url);
+            try (InputStream in = resource(file)) {
+                files.put(url, file);
+                bodies.put(url, in.readAllBytes());
+            }
+        }
+    }
+
+    public static Corpus load() {
+        try {
+            return new Corpus();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    String version() {
+        return version;
+    }
+
+    /** Raw bytes of the page captured for {@code file} */
+    byte[] bodyOfFile(String file) {
+        return files.entrySet().stream()
+                .filter(e -> e.getValue().equals(file))
+                .map(e -> bodies.get(e.getKey()))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Not in corpus: " + file));
+    }
+
+    /**
+     * The captured response for {@code url} as the fetcher would return it, or
+     * null if the corpus has no page for it.
+     */
+    public PageFetcher.FetchedPage page(String url) {
+        byte[] body = bodies.get(url);
+        return body == null ? null : new PageFetcher.FetchedPage(200, url, null, null, null, body);
+    }
+
+    /** Every URL the corpus has a page for */
+    public Set<String> urls() {
+        return Collections.unmodifiableSet(bodies.keySet());
+    }
+
+    public static Document parse(byte[] body, String url) {
+        try {
+            return Jsoup.parse(new ByteArrayInputStream(body), null, url);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * A scraper wired to an offline ScraperUtils; {@code pages} answers every
+     * page request.
+     *
+     * @param streaming extract as with scraper.streaming.enabled, the default
+     */
+    public static JobNoticeSource scraper(String name, Function<String, PageFetcher.FetchedPage> pages,
+            boolean streaming) {
+        ScraperUtils utils = new ScraperUtils(PageSource.offline(pages), streaming);
+        return switch (name) {
+            case "SSC" -> new SscScraper(utils);
+            case "IBPS" -> new IbpsScraper(utils);
+            case "SBI" -> new SbiScraper(utils);
+            case "UPSC" -> new UpscScraper(utils);
+            case "TNPSC" -> new TnpscScraper(utils);
+            case "RRB" -> new RrbScraper(utils);
+            case "PSU" -> new PsuScraper(utils);
+            case "Medical" -> new MedicalJobsScraper(utils);
+            case "EmploymentNews" -> new EmploymentNewsScraper(utils);
+            case "StateGovt" -> new StateGovtScraper(utils);
+            default -> throw new IllegalArgumentException("Unknown scraper: " + name);
+        };
+    }
+
+    /** Scrapers log every page; keep that out of the measurement */
+    static void silenceLogging() {
+        ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.OFF);
+    }
+
+    private static InputStream resource(String name) throws IOException {
+        InputStream in = Corpus.class.getResourceAsStream("/corpus/" + name);
+        if (in == null)
+            throw new IOException("Missing corpus resource: " + name);
+        return in;
+    }
+}
@@ -0,0 +1,56 @@
+package in.govtjobs.bench;
+
+import in.govtjobs.util.ScraperUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ScraperUtils.parseDate against the DateTimeFormatter cascade it replaced
+ * ({@link LegacyDateParser}), one call per input. Inputs are chosen to hit the
+ * first format, a late format, a text month and an unparseable string, which
+ * the cascade pays for with one exception per format tried.
+ *
+ * mvn -P bench test-compile exec:exec -Djmh.args="DateParseBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DateParseBenchmark {
+
+    @Param({ "12-01-2025", "1/4/2025", "13 Feb - 2026", "21st Jan 2025", "December 31, 2024", "12-01-2025 10:30" })
+    public String input;
+
+    private ScraperUtils utils;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Corpus.silenceLogging();
+        utils = new ScraperUtils();
+    }
+
+    @Benchmark
+    public void lexer(Blackhole bh) {
+        bh.consume(utils.parseDate(input));
+    }
+
+    @Benchmark
+    public void legacy(Blackhole bh) {
+        bh.consume(LegacyDateParser.parse(input));
+    }
+}
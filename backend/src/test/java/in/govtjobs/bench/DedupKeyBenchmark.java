@@ -0,0 +1,74 @@
+package in.govtjobs.bench;
+
+import in.govtjobs.dto.RawNotice;
+import in.govtjobs.util.ScraperUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The per-notice title work in ScraperService.processNotice (cleanTitle plus
+ * the dedup hash) against the regex and per-call MessageDigest version it
+ * replaced ({@link LegacyTitleKey}). Each op is one notice, cycling through
+ * every notice the scrapers extract from the offline corpus.
+ *
+ * mvn -P bench test-compile exec:exec -Djmh.args="DedupKeyBenchmark -prof gc"
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DedupKeyBenchmark {
+
+    private static final String[] SCRAPERS = { "SSC", "IBPS", "SBI", "UPSC", "TNPSC", "RRB", "PSU", "Medical",
+            "EmploymentNews", "StateGovt" };
+
+    private ScraperUtils utils;
+    private RawNotice[] notices;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Corpus.silenceLogging();
+        utils = new ScraperUtils();
+        Corpus corpus = Corpus.load();
+        List<RawNotice> all = new ArrayList<>();
+        for (String scraper : SCRAPERS)
+            all.addAll(Corpus.scraper(scraper, corpus::page, true).fetchRaw());
+        notices = all.toArray(new RawNotice[0]);
+    }
+
+    @Benchmark
+    public String current() {
+        RawNotice raw = nextNotice();
+        String title = utils.cleanTitle(raw.getTitle());
+        return utils.hash(title, raw.getSourceName());
+    }
+
+    @Benchmark
+    public String legacy() {
+        RawNotice raw = nextNotice();
+        LegacyTitleKey.cleanTitle(raw.getTitle());
+        return LegacyTitleKey.hash(raw.getTitle(), raw.getSourceName());
+    }
+
+    private RawNotice nextNotice() {
+        RawNotice raw = notices[next];
+        next = next + 1 == notices.length ? 0 : next + 1;
+        return raw;
+    }
+}
@@ -0,0 +1,83 @@
+package in.govtjobs.bench;
+
+import in.govtjobs.dto.RawNotice;
+import in.govtjobs.scraper.JobNoticeSource;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Each scraper's extraction path, from the captured response bytes to
+ * List&lt;RawNotice&gt;, over the offline corpus. With streaming (the
+ * default, scraper.streaming.enabled) tokenizing and extraction are one pass,
+ * so both settings include parsing; {@link ParseBenchmark} measures parsing
+ * alone.
+ *
+ * The notices and pages counters are reported per second; with -prof gc,
+ * gc.alloc.rate.norm is bytes per scraper run, divide by pages/ops for bytes
+ * per page.
+ *
+ * mvn -P bench test-compile exec:exec -Djmh.args="ExtractionBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExtractionBenchmark {
+
+    @Param({ "SSC", "IBPS", "SBI", "UPSC", "TNPSC", "RRB", "PSU", "Medical", "EmploymentNews", "StateGovt" })
+    public String scraper;
+
+    @Param({ "true", "false" })
+    public boolean streaming;
+
+    private Corpus corpus;
+    private JobNoticeSource source;
+    private Counters current;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Corpus.silenceLogging();
+        corpus = Corpus.load();
+        source = Corpus.scraper(scraper, url -> {
+            current.pages++;
+            return corpus.page(url);
+        }, streaming);
+    }
+
+    @Benchmark
+    public List<RawNotice> extract(Counters counters) {
+        current = counters;
+        List<RawNotice> notices = source.fetchRaw();
+        counters.notices += notices.size();
+        return notices;
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Counters {
+        public long notices;
+        public long pages;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            notices = 0;
+            pages = 0;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package in.govtjobs.bench;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * ScraperUtils.parseDate as it was before the single-pass DateLexer: three
+ * regex rewrites, then up to 15 DateTimeFormatters tried in turn. Kept as the
+ * baseline for {@link DateParseBenchmark} and the date conformance test.
+ */
+public final class LegacyDateParser {
+
+    private static final List<DateTimeFormatter> DATE_FORMATS = Arrays.asList(
+            DateTimeFormatter.ofPattern("dd-MM-yyyy"),
+            DateTimeFormatter.ofPattern("dd/MM/yyyy"),
+            DateTimeFormatter.ofPattern("dd.MM.yyyy"),
+            DateTimeFormatter.ofPattern("d MMM yyyy"),
+            DateTimeFormatter.ofPattern("dd MMM yyyy"),
+            DateTimeFormatter.ofPattern("MMMM dd, yyyy"),
+            DateTimeFormatter.ofPattern("yyyy-MM-dd"),
+            DateTimeFormatter.ofPattern("d-MM-yyyy"),
+            DateTimeFormatter.ofPattern("dd MMM, yyyy"),
+            DateTimeFormatter.ofPattern("d/M/yyyy"),
+            DateTimeFormatter.ofPattern("dd-MMM-yyyy"),
+            DateTimeFormatter.ofPattern("d-MMM-yyyy"),
+            DateTimeFormatter.ofPattern("MMM dd, yyyy"),
+            DateTimeFormatter.ofPattern("d MMMM yyyy"),
+            DateTimeFormatter.ofPattern("dd MMMM yyyy"));
+
+    private LegacyDateParser() {
+    }
+
+    public static LocalDate parse(String dateStr) {
+        if (dateStr == null || dateStr.isBlank())
+            return null;
+        String cleaned = dateStr.trim()
+                .replaceAll("\\s+", " ")
+                .replaceAll("(?i)(st|nd|rd|th)(?=\\s)", "")
+                .replaceAll("(?i)([a-z]+)[,.\\-]?\\s*-\\s*(\\d{4})", "$1 $2") // Handles "Feb - 2026"
+                .trim();
+        for (DateTimeFormatter fmt : DATE_FORMATS) {
+            try {
+                return LocalDate.parse(cleaned, fmt);
+            } catch (DateTimeParseException ignored) {
+            }
+        }
+        return null;
+    }
+}
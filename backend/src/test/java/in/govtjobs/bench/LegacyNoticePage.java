@@ -0,0 +1,82 @@
+package in.govtjobs.bench;
+
+import in.govtjobs.dto.JobNoticeDto;
+import in.govtjobs.model.JobNotice;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * An unfiltered "newest" /api/notices page as JobNoticeService built it
+ * before the Row projection: managed JobNotice entities, loaded in the
+ * request's EntityManager (as open-in-view gave it, with no transaction),
+ * each mapped to a DTO. Kept as the baseline for {@link NoticePageBenchmark}.
+ */
+public final class LegacyNoticePage {
+
+    private static final String NEWEST = "SELECT j FROM JobNotice j"
+            + " ORDER BY j.publishedDate DESC NULLS LAST, j.fetchedAt DESC, j.id DESC";
+
+    private LegacyNoticePage() {
+    }
+
+    public static Page<JobNoticeDto> page(EntityManagerFactory entityManagerFactory, long total, int page, int size) {
+        PageRequest pageable = PageRequest.of(page, size);
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            List<JobNotice> notices = entityManager.createQuery(NEWEST, JobNotice.class)
+                    .setFirstResult(Math.toIntExact(pageable.getOffset()))
+                    .setMaxResults(size)
+                    .getResultList();
+            return new PageImpl<>(notices, pageable, total).map(LegacyNoticePage::toDto);
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    /** One notice as the page mapped it, domain and flags computed per row */
+    public static JobNoticeDto toDto(JobNotice n) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate today = LocalDate.now();
+        boolean isNew = n.getFetchedAt() != null && n.getFetchedAt().isAfter(now.minusHours(24));
+        boolean isDeadlineSoon = n.getLastDate() != null
+                && !n.getLastDate().isBefore(today)
+                && n.getLastDate().isBefore(today.plusDays(4));
+        return JobNoticeDto.builder()
+                .id(n.getId())
+                .title(n.getTitle())
+                .category(n.getCategory())
+                .state(n.getState())
+                .noticeType(n.getNoticeType())
+                .engineeringBranches(n.getEngineeringBranches())
+                .sourceName(n.getSourceName())
+                .sourceUrl(n.getSourceUrl())
+                .applyUrl(n.getApplyUrl())
+                .publishedDate(n.getPublishedDate())
+                .lastDate(n.getLastDate())
+                .fetchedAt(n.getFetchedAt())
+                .isNew(isNew)
+                .isDeadlineSoon(isDeadlineSoon)
+                .sourceDomain(extractDomain(n.getSourceUrl()))
+                .build();
+    }
+
+    private static String extractDomain(String url) {
+        if (url == null || url.isBlank())
+            return null;
+        try {
+            String host = java.net.URI.create(url).getHost();
+            if (host == null)
+                return null;
+            return host.startsWith("www.") ? host.substring(4) : host;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package in.govtjobs.bench;
+
+import in.govtjobs.util.ScraperUtils;
+import org.jsoup.nodes.Element;
+
+/**
+ * ScraperUtils.extractDateFromAncestor and buildTitle as they were before
+ * RowText: every call walks the link's ancestors afresh and re-reads their
+ * text. Kept as the baseline for the row context test; cleanTitle,
+ * isJunkTitle and extractDate come from the current ScraperUtils, which the
+ * dedup key and date tests cover.
+ */
+public final class LegacyRowWalk {
+
+    private LegacyRowWalk() {
+    }
+
+    public static String extractDateFromAncestor(ScraperUtils utils, Element link, int index) {
+        Element el = link;
+        for (int depth = 0; depth < 5; depth++) {
+            if (el == null)
+                break;
+            String tag = el.tagName().toLowerCase();
+            if (depth > 0 && (tag.equals("body") || tag.equals("html")
+                    || tag.equals("main") || tag.equals("article")))
+                break;
+            String text = el.ownText();
+            if (tag.equals("tr") || tag.equals("li") || tag.equals("p")
+                    || tag.equals("td") || tag.equals("th") || tag.equals("span")
+                    || tag.equals("a")) {
+                text = el.text();
+            }
+            String found = utils.extractDate(text, index);
+            if (found != null)
+                return found;
+            if (tag.equals("tr") || tag.equals("li"))
+                break;
+            el = el.parent();
+        }
+        return null;
+    }
+
+    public static String buildTitle(ScraperUtils utils, Element link) {
+        String text = utils.cleanTitle(link.text());
+        if (text.length() >= 12 && !utils.isJunkTitle(text))
+            return text;
+
+        String titleAttr = utils.cleanTitle(link.attr("title"));
+        if (titleAttr.length() >= 12 && !utils.isJunkTitle(titleAttr))
+            return titleAttr;
+
+        String href = link.attr("href");
+        if (href != null && !href.isBlank()) {
+            String filename = href;
+            if (filename.contains("/"))
+                filename = filename.substring(filename.lastIndexOf('/') + 1);
+            if (filename.contains("?"))
+                filename = filename.substring(0, filename.indexOf('?'));
+            filename = filename.replaceAll("(?i)\\.(pdf|doc|docx|htm|html|php|aspx)$", "")
+                    .replace("_", " ").replace("-", " ").replaceAll("\\s+", " ").trim();
+            if (filename.length() >= 12 && !utils.isJunkTitle(filename))
+                return filename;
+        }
+
+        Element ancestor = link.parent();
+        for (int d = 0; d < 4 && ancestor != null; d++) {
+            String tag = ancestor.tagName().toLowerCase();
+            if (tag.equals("body") || tag.equals("html") || tag.equals("main") || tag.equals("article")) {
+                break;
+            }
+            String rowText = ancestor.text().trim();
+            if (rowText.length() >= 15) {
+                return utils.cleanTitle(rowText.length() > 120 ? rowText.substring(0, 120) + "…" : rowText);
+            }
+            ancestor = ancestor.parent();
+        }
+
+        return text;
+    }
+}
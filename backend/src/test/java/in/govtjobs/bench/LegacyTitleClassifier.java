@@ -0,0 +1,193 @@
+package in.govtjobs.bench;
+
+/**
+ * The keyword checks as they were before title-keywords.txt: each one
+ * lower-cases the title and runs its own chain of contains() calls. Notice
+ * type and branches come from ScraperUtils, category and state from
+ * EmploymentNewsScraper, and each relevance check from its scraper. Kept as
+ * the baseline for the title classifier test.
+ */
+public final class LegacyTitleClassifier {
+
+    private LegacyTitleClassifier() {
+    }
+
+    public static String categorizeNoticeType(String title) {
+        if (title == null || title.isBlank())
+            return "GENERAL_INFO";
+        String lower = title.toLowerCase();
+        if (lower.contains("result") || lower.contains("merit list") || lower.contains("selection list")
+                || lower.contains("marks") || lower.contains("cut off") || lower.contains("score")) {
+            return "RESULT";
+        }
+        if (lower.contains("admit card") || lower.contains("hall ticket") || lower.contains("exam date")
+                || lower.contains("interview schedule") || lower.contains("call letter")) {
+            return "EXAM_ADMIT_CARD";
+        }
+        if (lower.contains("calendar") || lower.contains("planner") || lower.contains("schedule")) {
+            return "CALENDAR";
+        }
+        if (lower.contains("apprentice") || lower.contains("nats") || lower.contains("trade apprentice")
+                || lower.contains("act apprentice") || lower.contains("apprenticeship")) {
+            return "APPRENTICESHIP";
+        }
+        if (lower.contains("recruit") || lower.contains("vacancy") || lower.contains("notification")
+                || lower.contains("advt") || lower.contains("apply") || lower.contains("post")
+                || lower.contains("officer") || lower.contains("clerk")) {
+            return "RECRUITMENT";
+        }
+        return "GENERAL_INFO";
+    }
+
+    public static String inferEngineeringBranches(String title) {
+        if (title == null || title.isBlank())
+            return null;
+        String lower = title.toLowerCase();
+        StringBuilder branches = new StringBuilder();
+        if (lower.contains("civil") || lower.contains("structural"))
+            append(branches, "CIVIL");
+        if (lower.contains("mechanical") || lower.contains(" mech ") || lower.contains("machinist")
+                || lower.contains("fitter") || lower.contains("welder") || lower.contains("boiler"))
+            append(branches, "MECH");
+        if (lower.contains("electrical") || lower.contains(" eee ") || lower.contains("electrician"))
+            append(branches, "EEE");
+        if (lower.contains("electronics") || lower.contains(" ece ") || lower.contains("radio")
+                || lower.contains("telecommunication"))
+            append(branches, "ECE");
+        if (lower.contains("computer") || lower.contains(" cse ") || lower.contains(" it ")
+                || lower.contains("software")
+                || lower.contains("programmer") || lower.contains("data entry"))
+            append(branches, "CSE");
+        if (lower.contains("chemical") || lower.contains("petrochem"))
+            append(branches, "CHEM");
+        if (lower.contains("instrumentation") || lower.contains("instrument"))
+            append(branches, "INST");
+        if (branches.length() == 0 && (lower.contains("engineer") || lower.contains(" je ") ||
+                lower.contains(" get ") || lower.contains("technical officer") ||
+                lower.contains("graduate engineer") || lower.contains("junior engineer")))
+            append(branches, "GENERAL_ENGG");
+        return branches.length() == 0 ? null : branches.toString();
+    }
+
+    private static void append(StringBuilder branches, String branch) {
+        if (branches.length() > 0)
+            branches.append(',');
+        branches.append(branch);
+    }
+
+    public static String deriveCategory(String title) {
+        String t = title.toLowerCase();
+        if (t.contains("bank") || t.contains("rbi") || t.contains("nabard") || t.contains("ibps"))
+            return "BANK";
+        if (t.contains("ssc") || t.contains("staff selection"))
+            return "SSC";
+        if (t.contains("railway") || t.contains("rrb"))
+            return "RAILWAYS";
+        if (t.contains("upsc") || t.contains("civil service") || t.contains("ias"))
+            return "UPSC";
+        if (t.contains("defence") || t.contains("army") || t.contains("navy") || t.contains("air force"))
+            return "DEFENCE";
+        if (t.contains("doctor") || t.contains("medical") || t.contains("nurse") || t.contains("health")
+                || t.contains("aiims") || t.contains("esic") || t.contains("nhm"))
+            return "MEDICAL";
+        if (t.contains("psu") || t.contains("bhel") || t.contains("ongc") || t.contains("ntpc"))
+            return "PSU";
+        return "OTHERS";
+    }
+
+    /** Only these eight states were recognised; everything else was Central */
+    public static String deriveState(String title) {
+        String t = title.toLowerCase();
+        if (t.contains("tamil nadu") || t.contains("tnpsc"))
+            return "Tamil Nadu";
+        if (t.contains("maharashtra"))
+            return "Maharashtra";
+        if (t.contains("karnataka"))
+            return "Karnataka";
+        if (t.contains("kerala"))
+            return "Kerala";
+        if (t.contains("delhi") || t.contains("ndmc"))
+            return "Delhi";
+        if (t.contains("gujarat"))
+            return "Gujarat";
+        if (t.contains("rajasthan"))
+            return "Rajasthan";
+        if (t.contains("uttar pradesh") || t.contains("uppsc"))
+            return "Uttar Pradesh";
+        return "Central";
+    }
+
+    /**
+     * The per-scraper relevance check behind dictionary label {@code label}
+     * ("relevant.ssc").
+     */
+    public static boolean has(String label, String title) {
+        String t = title.toLowerCase();
+        return switch (label) {
+            case "relevant.ssc" -> t.contains("recruitment") || t.contains("vacancy") || t.contains("notification")
+                    || t.contains("adverti") || t.contains("selection") || t.contains("examination")
+                    || t.contains("result") || t.contains("admit card") || t.contains("cgl")
+                    || t.contains("chsl") || t.contains("gd") || t.contains("cpo")
+                    || t.contains("steno") || t.contains("mts") || t.contains("phase")
+                    || t.contains("call letter") || t.contains("cut off") || t.contains("merit list");
+            case "relevant.rrb" -> t.contains("recruitment") || t.contains("vacancy") || t.contains("notification")
+                    || t.contains("ntpc") || t.contains("group d") || t.contains("group-d")
+                    || t.contains("alp") || t.contains("technician") || t.contains("je ")
+                    || t.contains("junior engineer") || t.contains("rrb") || t.contains("rrc")
+                    || t.contains("railway") || t.contains("result") || t.contains("admit")
+                    || t.contains("selection") || t.contains("apprent") || t.contains("loco pilot")
+                    || t.contains("paramedical") || t.contains("ministerial");
+            case "relevant.ibps" -> t.contains("recruit") || t.contains("notification") || t.contains("vacancy")
+                    || t.contains("ibps") || t.contains("clerk") || t.contains("po ")
+                    || t.contains("officer") || t.contains("specialist") || t.contains("so ")
+                    || t.contains("rrb") || t.contains("crp") || t.contains("advt")
+                    || t.contains("advertisement") || t.contains("apply") || t.contains("result")
+                    || t.contains("admit") || t.contains("score card") || t.contains("selection")
+                    || t.contains("interview") || t.contains("exam") || t.contains("mains")
+                    || t.contains("prelim");
+            case "relevant.sbi" -> t.contains("recruit") || t.contains("officer") || t.contains("clerk")
+                    || t.contains("specialist") || t.contains("appointment") || t.contains("vacancy")
+                    || t.contains("post") || t.contains("notification");
+            case "relevant.upsc" -> t.contains("recruit") || t.contains("vacancy") || t.contains("adverti")
+                    || t.contains("exam") || t.contains("post") || t.contains("selection")
+                    || t.contains("notification") || t.contains("civil service") || t.contains("upsc");
+            case "relevant.tnpsc" -> t.contains("recruit") || t.contains("notification") || t.contains("post")
+                    || t.contains("exam") || t.contains("vacancy") || t.contains("selection")
+                    || t.contains("group") || t.contains("combined") || t.contains("tnpsc");
+            case "relevant.psu" -> t.contains("recruit") || t.contains("vacancy") || t.contains("notification")
+                    || t.contains("career") || t.contains("job") || t.contains("post")
+                    || t.contains("engineer") || t.contains("officer") || t.contains("apprentice");
+            case "relevant.state" -> t.contains("recruit") || t.contains("vacancy") || t.contains("notification")
+                    || t.contains("advt") || t.contains("advertisement") || t.contains("post")
+                    || t.contains("officer") || t.contains("engineer") || t.contains("inspector")
+                    || t.contains("grade") || t.contains("group") || t.contains("combined")
+                    || t.contains("direct recruit");
+            case "excluded.state" -> t.contains("result") || t.contains("answer key") || t.contains("admit card")
+                    || t.contains("syllabus") || t.contains("mark sheet") || t.contains("corrigendum")
+                    || t.contains("examination rules");
+            case "relevant.medical" -> t.contains("recruit") || t.contains("vacancy") || t.contains("notification")
+                    || t.contains("advt") || t.contains("advertisement") || t.contains("job")
+                    || t.contains("doctor") || t.contains("nurse") || t.contains("physician")
+                    || t.contains("pharmacist") || t.contains("radiographer") || t.contains("technician")
+                    || t.contains("specialist") || t.contains("surgeon") || t.contains("dental")
+                    || t.contains("paramedic") || t.contains("anm") || t.contains("assistant")
+                    || t.contains("officer") || t.contains("engineer") || t.contains("clerk")
+                    || t.contains("mrb") || t.contains("aiims") || t.contains("esic");
+            case "recruitment.medical" -> t.contains("recruit") || t.contains("vacancy")
+                    || t.contains("notification") || t.contains("advt") || t.contains("advertisement")
+                    || t.contains("application") || t.contains("selection") || t.contains("walk-in")
+                    || t.contains("walkin") || t.contains("engage") || t.contains("appoint")
+                    || t.contains("post of") || t.contains("position") || t.contains("hiring");
+            case "relevant.govt" -> t.contains("govt") || t.contains("government") || t.contains("central")
+                    || t.contains("state") || t.contains("psu") || t.contains("upsc")
+                    || t.contains("ssc") || t.contains("rrb") || t.contains("ibps")
+                    || t.contains("bank") || t.contains("railway") || t.contains("recruit")
+                    || t.contains("vacancy") || t.contains("notification") || t.contains("officer")
+                    || t.contains("clerk") || t.contains("defence") || t.contains("air force")
+                    || t.contains("navy") || t.contains("army") || t.contains("police")
+                    || t.contains("aiims") || t.contains("esic") || t.contains("nhm")
+                    || t.contains("public service");
+            default -> throw new IllegalArgumentException("No legacy check for " + label);
+        };
+    }
+}
@@ -0,0 +1,50 @@
+package in.govtjobs.bench;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * ScraperUtils.cleanTitle, normalizeTitleForDisplay and hash as they were
+ * before the single-pass TitleNormalizer: a chain of regex replacements and a
+ * fresh MessageDigest per call. Kept as the baseline for
+ * {@link DedupKeyBenchmark} and the dedup key test.
+ */
+public final class LegacyTitleKey {
+
+    private LegacyTitleKey() {
+    }
+
+    public static String hash(String title, String sourceName) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            String input = (normalizeTitleForDisplay(title) + "|" + sourceName).toLowerCase().trim();
+            byte[] hash = md.digest(input.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            return String.valueOf((title + sourceName).hashCode());
+        }
+    }
+
+    public static String normalizeTitleForDisplay(String raw) {
+        if (raw == null)
+            return "";
+        String cleaned = cleanTitle(raw);
+        cleaned = cleaned.replaceAll(
+                "(?i)^(Update:|Flash:|New:|Latest:|Notice:|Advertisement:|Advt:|Notification:)\\s*", "");
+        if (cleaned.length() > 200) {
+            cleaned = cleaned.substring(0, 197) + "...";
+        }
+        return cleaned.trim();
+    }
+
+    public static String cleanTitle(String raw) {
+        if (raw == null)
+            return "";
+        return raw.trim()
+                .replaceAll("\\s+", " ")
+                .replaceAll("[\\r\\n\\t]", " ")
+                .trim();
+    }
+}
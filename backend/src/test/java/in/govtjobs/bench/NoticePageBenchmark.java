@@ -0,0 +1,137 @@
+package in.govtjobs.bench;
+
+import in.govtjobs.dto.JobNoticeDto;
+import in.govtjobs.model.JobNotice;
+import in.govtjobs.repository.JobNoticeRepository;
+import in.govtjobs.service.JobNoticeService;
+import in.govtjobs.service.NoticeCounts;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One unfiltered "newest" /api/notices page through JobNoticeService (Row
+ * projections in a read-only transaction) against the managed-entity path it
+ * replaced ({@link LegacyNoticePage}), over an in-memory H2 database of
+ * generated notices. Only the listing beans are started: no scrapers, no
+ * scheduler, no web server.
+ *
+ * mvn -P bench test-compile exec:exec -Djmh.args="NoticePageBenchmark -prof gc"
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NoticePageBenchmark {
+
+    private static final int NOTICES = 5000;
+
+    @Param({ "0", "10" })
+    private int page;
+
+    /** The frontend asks for 15 or 18; the service allows up to 50 */
+    @Param({ "20", "50" })
+    private int size;
+
+    private ConfigurableApplicationContext context;
+    private JobNoticeService service;
+    private EntityManagerFactory entityManagerFactory;
+    private long total;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Corpus.silenceLogging();
+        context = new SpringApplicationBuilder(Listing.class)
+                .properties("spring.main.web-application-type=none",
+                        "spring.main.banner-mode=off",
+                        "spring.datasource.url=jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=OFF")
+                .run();
+        service = context.getBean(JobNoticeService.class);
+        entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        context.getBean(JobNoticeRepository.class).upsertByContentHash(notices());
+        context.getBean(JdbcTemplate.class).execute("ANALYZE");
+        NoticeCounts counts = context.getBean(NoticeCounts.class);
+        counts.rebuild();
+        total = counts.count(null, null, null, null, null, null).orElseThrow();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<JobNoticeDto> projection() {
+        return service.getNotices(null, null, null, null, "all", "newest", page, size);
+    }
+
+    @Benchmark
+    public Page<JobNoticeDto> entities() {
+        return LegacyNoticePage.page(entityManagerFactory, total, page, size);
+    }
+
+    private static List<JobNotice> notices() {
+        String[] categories = { "BANK", "SSC", "RAILWAYS", "UPSC", "PSU", "STATE", "MEDICAL", "DEFENCE", "OTHERS" };
+        Random random = new Random(7);
+        LocalDateTime now = LocalDateTime.now();
+        List<JobNotice> notices = new ArrayList<>();
+        for (int i = 0; i < NOTICES; i++) {
+            String sourceUrl = "https://www.source" + random.nextInt(40) + ".gov.in/recruitment/notice-" + i + ".pdf";
+            notices.add(JobNotice.builder()
+                    .title("Recruitment of Assistant Engineer and other posts, advertisement no. " + i)
+                    .category(categories[random.nextInt(categories.length)])
+                    .state(random.nextInt(3) == 0 ? "Central" : "State " + random.nextInt(30))
+                    .noticeType("RECRUITMENT")
+                    .sourceName("Source " + random.nextInt(40))
+                    .sourceUrl(sourceUrl)
+                    .sourceDomain(JobNotice.domainOf(sourceUrl))
+                    .applyUrl(random.nextBoolean() ? "https://apply.source.gov.in/" + i : null)
+                    .publishedDate(random.nextInt(3) == 0 ? null : LocalDate.now().minusDays(random.nextInt(200)))
+                    .lastDate(random.nextInt(2) == 0 ? null : LocalDate.now().plusDays(random.nextInt(90) - 20))
+                    .contentHash(String.format("%064x", i))
+                    .fetchedAt(now.minusMinutes(random.nextInt(300_000)))
+                    .build());
+        }
+        return notices;
+    }
+
+    /** The beans /api/notices reads through, and what they need */
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan("in.govtjobs.model")
+    @EnableJpaRepositories("in.govtjobs.repository")
+    @Import({ JobNoticeService.class, NoticeCounts.class })
+    static class Listing {
+    }
+}
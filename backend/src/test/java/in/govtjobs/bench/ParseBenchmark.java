@@ -0,0 +1,48 @@
+package in.govtjobs.bench;
+
+import org.jsoup.nodes.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jsoup parse cost per corpus page, bytes to Document, so extraction numbers
+ * from {@link ExtractionBenchmark} can be put next to what parsing costs.
+ *
+ * mvn -P bench test-compile exec:exec -Djmh.args="ParseBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParseBenchmark {
+
+    @Param({ "opsc_home.html", "ssc_nr_latest.html", "ibps_recruitment.html", "tnpsc_home.html",
+            "aiims_jodhpur_recruitment.html" })
+    public String page;
+
+    private byte[] body;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        body = Corpus.load().bodyOfFile(page);
+    }
+
+    @Benchmark
+    public Document parse() {
+        return Corpus.parse(body, "https://example.gov.in/");
+    }
+}
@@ -0,0 +1,157 @@
+package in.govtjobs.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import in.govtjobs.model.JobNotice;
+import in.govtjobs.repository.JobNoticeRepository;
+import in.govtjobs.scheduler.ScraperScheduler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Paging /api/notices by cursor must return every matching notice exactly
+ * once, in the same order as paging by number, under every sortBy: including
+ * notices with no published or last date and runs of notices with equal sort
+ * keys. A cursor that is malformed or was issued for another sortBy is a 400.
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT,
+        properties = "spring.datasource.url=jdbc:h2:mem:notice-cursor;DB_CLOSE_DELAY=-1")
+public class NoticeCursorTest {
+
+    private static final String[] SORTS = { "newest", "deadline", "fetched" };
+    private static final int NOTICES = 130;
+
+    private static boolean seeded;
+
+    /** No startup scrape adding notices between pages */
+    @MockBean
+    private ScraperScheduler scheduler;
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    @Autowired
+    private JobNoticeRepository repository;
+
+    private final ObjectMapper json = new ObjectMapper();
+
+    /** Few distinct dates and fetch times, so sort keys tie often; a third of each date is null */
+    @BeforeEach
+    public void seed() {
+        if (seeded)
+            return;
+        LocalDate day = LocalDate.now();
+        LocalDateTime fetched = LocalDateTime.now().withNano(0);
+        List<JobNotice> notices = new ArrayList<>();
+        for (int i = 0; i < NOTICES; i++) {
+            notices.add(JobNotice.builder()
+                    .title("Cursor notice " + i)
+                    .category(i % 2 == 0 ? "BANK" : "SSC")
+                    .state("Central")
+                    .engineeringBranches(i % 5 == 0 ? "CIVIL" : null)
+                    .publishedDate(i % 3 == 0 ? null : day.minusDays(i % 4))
+                    .lastDate(i % 3 == 1 ? null : day.plusDays(i % 2))
+                    .sourceName("Test")
+                    .sourceUrl("https://example.org/")
+                    .contentHash(String.format("%064x", 3_000_000 + i))
+                    .fetchedAt(fetched.minusHours(i % 3))
+                    .build());
+        }
+        repository.upsertByContentHash(notices);
+        seeded = true;
+    }
+
+    @Test
+    public void everyNoticeOnceInPageOrder() throws Exception {
+        for (String sort : SORTS) {
+            for (String filter : new String[] { "", "&category=BANK", "&branch=CIVIL", "&period=today" }) {
+                List<String> byNumber = byPageNumber(sort, filter);
+                for (int size : new int[] { 1, 7, 50 }) {
+                    List<String> byCursor = byCursor(sort, filter, size);
+                    String shape = sort + filter + " size " + size;
+                    assertEquals(new HashSet<>(byCursor).size(), byCursor.size(), shape + ": a notice repeated");
+                    assertEquals(byNumber, byCursor, shape);
+                }
+                if (filter.isEmpty())
+                    assertEquals(NOTICES, byNumber.size(), sort);
+                else
+                    assertFalse(byNumber.isEmpty(), sort + filter);
+            }
+        }
+    }
+
+    @Test
+    public void badCursorIsBadRequest() throws Exception {
+        String newest = get("/api/notices?sortBy=newest&size=5&cursor=").path("data").path("nextCursor").asText();
+        List<String> bad = List.of("not base64!", encode("NEWEST|2025-01-01"), encode("NEWEST|x|y|z"),
+                encode("NEWEST||2025-01-01T00:00|not-a-uuid"), encode("OLDEST||2025-01-01T00:00|" + new java.util.UUID(0, 0)));
+        for (String cursor : bad)
+            assertEquals(HttpStatus.BAD_REQUEST, status("newest", cursor), cursor);
+        // Issued for newest, continued under another sort
+        assertEquals(HttpStatus.BAD_REQUEST, status("deadline", newest));
+        assertEquals(HttpStatus.OK, status("newest", newest));
+    }
+
+    private List<String> byCursor(String sort, String filter, int size) throws Exception {
+        List<String> ids = new ArrayList<>();
+        String cursor = "";
+        Set<String> cursors = new HashSet<>();
+        do {
+            JsonNode page = get("/api/notices?sortBy=" + sort + filter + "&size=" + size + "&cursor=" + cursor)
+                    .path("data");
+            page.path("content").forEach(notice -> ids.add(notice.path("id").asText()));
+            cursor = page.path("nextCursor").isNull() ? null : page.path("nextCursor").asText();
+            assertTrue(cursor == null || cursors.add(cursor), "cursor repeated");
+        } while (cursor != null);
+        return ids;
+    }
+
+    /** Stops at the first empty page: totals come from counts this test's direct upsert never fed */
+    private List<String> byPageNumber(String sort, String filter) throws Exception {
+        List<String> ids = new ArrayList<>();
+        for (int page = 0;; page++) {
+            JsonNode data = get("/api/notices?sortBy=" + sort + filter + "&size=50&page=" + page).path("data");
+            if (data.path("content").isEmpty())
+                return ids;
+            data.path("content").forEach(notice -> ids.add(notice.path("id").asText()));
+        }
+    }
+
+    private JsonNode get(String path) throws Exception {
+        ResponseEntity<String> response = rest.getForEntity(
+                UriComponentsBuilder.fromUriString(path).build().encode().toUri().toString(), String.class);
+        assertEquals(HttpStatus.OK, response.getStatusCode(), path);
+        return json.readTree(response.getBody());
+    }
+
+    private HttpStatus status(String sort, String cursor) {
+        return HttpStatus.valueOf(rest.getForEntity(UriComponentsBuilder.fromPath("/api/notices")
+                .queryParam("sortBy", sort).queryParam("cursor", cursor).build().encode().toUri().toString(),
+                String.class).getStatusCode().value());
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
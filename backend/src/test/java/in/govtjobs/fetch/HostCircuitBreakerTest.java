@@ -0,0 +1,90 @@
+package in.govtjobs.fetch;
+
+import in.govtjobs.model.HostCircuit;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.ConnectException;
+import java.net.http.HttpTimeoutException;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Only 5xx responses, connection errors and fetch timeouts open a host's
+ * circuit. A 4xx on one path, a cancelled fetch or an unreadable body must
+ * leave the host alone, and snapshot() must not hand out the live state.
+ */
+public class HostCircuitBreakerTest {
+
+    private static final String URL = "https://psc.example.gov.in/notices";
+
+    @Test
+    public void clientErrorsDoNotOpenTheHost() {
+        HostCircuitBreaker breaker = HostCircuitBreaker.standalone();
+        for (int i = 0; i < 10; i++) {
+            breaker.recordResponse(URL, 404);
+            breaker.recordResponse("https://psc.example.gov.in/other", 403);
+        }
+        assertDoesNotThrow(() -> breaker.checkAllowed(URL));
+        assertTrue(breaker.snapshot().isEmpty());
+    }
+
+    @Test
+    public void serverErrorsAndTimeoutsOpenTheHost() {
+        HostCircuitBreaker breaker = HostCircuitBreaker.standalone();
+        breaker.recordResponse(URL, 503);
+        breaker.recordFailure(URL, new HttpTimeoutException("Timed out after 10000 ms"));
+        assertDoesNotThrow(() -> breaker.checkAllowed(URL));
+        breaker.recordFailure(URL, new ConnectException("Connection refused"));
+        assertThrows(CircuitOpenException.class, () -> breaker.checkAllowed(URL));
+    }
+
+    @Test
+    public void cancelledAndUnreadableFetchesAreIgnored() {
+        HostCircuitBreaker breaker = HostCircuitBreaker.standalone();
+        for (int i = 0; i < 5; i++) {
+            breaker.recordFailure(URL, new InterruptedIOException("Interrupted while fetching " + URL));
+            breaker.recordFailure(URL, new PageFetcher.UnreadableBodyException("Response body exceeds 10 bytes"));
+        }
+        try {
+            Thread.currentThread().interrupt();
+            breaker.recordFailure(URL, new IOException("Connection reset"));
+        } finally {
+            Thread.interrupted();
+        }
+        assertTrue(breaker.snapshot().isEmpty());
+    }
+
+    @Test
+    public void successClosesAfterServerErrors() {
+        HostCircuitBreaker breaker = HostCircuitBreaker.standalone();
+        breaker.recordResponse(URL, 500);
+        breaker.recordResponse(URL, 200);
+        assertTrue(breaker.snapshot().isEmpty());
+    }
+
+    @Test
+    public void snapshotIsACopy() {
+        HostCircuitBreaker breaker = HostCircuitBreaker.standalone();
+        breaker.recordResponse(URL, 502);
+        Map<String, HostCircuit> snapshot = breaker.snapshot();
+        HostCircuit circuit = snapshot.get("psc.example.gov.in");
+        assertEquals(1, circuit.getConsecutiveFailures());
+
+        circuit.setConsecutiveFailures(99);
+        circuit.setOpenUntil(LocalDateTime.now().plusDays(1));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.remove("psc.example.gov.in"));
+
+        HostCircuit live = breaker.snapshot().get("psc.example.gov.in");
+        assertEquals(1, live.getConsecutiveFailures());
+        assertNull(live.getOpenUntil());
+        assertDoesNotThrow(() -> breaker.checkAllowed(URL));
+    }
+}
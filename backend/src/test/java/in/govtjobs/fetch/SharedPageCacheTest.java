@@ -0,0 +1,89 @@
+package in.govtjobs.fetch;
+
+import in.govtjobs.dto.RawNotice;
+import in.govtjobs.scraper.JobNoticeSource;
+import in.govtjobs.scraper.impl.StateGovtScraper;
+import in.govtjobs.scraper.impl.TnpscScraper;
+import in.govtjobs.util.ScraperUtils;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * TnpscScraper and StateGovtScraper both read TNPSC home.aspx, and the poll
+ * scheduler runs them in separate runs. The page cache is kept per source, so
+ * the second one must still get the page instead of a 304 or a fingerprint
+ * skip left behind by the first, and each must skip it once it has seen it.
+ */
+public class SharedPageCacheTest {
+
+    private static final String TNPSC_URL = "https://www.tnpsc.gov.in/home.aspx";
+    private static final String ETAG = "\"tnpsc-v1\"";
+
+    @Test
+    public void sourcesSharingAUrlEachSeeItOnceWithValidators() throws IOException {
+        assertEachSourceSeesPageOnce(true);
+    }
+
+    @Test
+    public void sourcesSharingAUrlEachSeeItOnceByFingerprint() throws IOException {
+        assertEachSourceSeesPageOnce(false);
+    }
+
+    private void assertEachSourceSeesPageOnce(boolean sendEtag) throws IOException {
+        byte[] body = tnpscPage();
+        PageSource pages = (url, headers, timeoutMs) -> {
+            if (!url.equals(TNPSC_URL))
+                return new PageFetcher.FetchedPage(404, url, "text/html", null, null, new byte[0]);
+            if (sendEtag && ETAG.equals(headers.get("If-None-Match")))
+                return new PageFetcher.FetchedPage(304, url, null, ETAG, null, new byte[0]);
+            return new PageFetcher.FetchedPage(200, url, "text/html; charset=UTF-8", sendEtag ? ETAG : null, null,
+                    body);
+        };
+        PageCache cache = PageCache.inMemory();
+        ScraperUtils utils = new ScraperUtils(FetchLimiter.standalone(), cache, pages,
+                HostCircuitBreaker.standalone(), PageArchive.disabled());
+        JobNoticeSource tnpsc = new TnpscScraper(utils);
+        JobNoticeSource state = new StateGovtScraper(utils);
+
+        cache.beginRun();
+        assertFalse(run(tnpsc, utils, cache).isEmpty(), "TNPSC finds notices on its first read");
+
+        cache.beginRun();
+        List<RawNotice> stateNotices = run(state, utils, cache);
+        assertFalse(stateNotices.isEmpty(), "StateGovt is not skipped because TNPSC read the page first");
+        assertTrue(stateNotices.stream().allMatch(n -> "Tamil Nadu".equals(n.getState())));
+
+        cache.beginRun();
+        long unchangedBefore = cache.unchangedCount();
+        assertTrue(run(tnpsc, utils, cache).isEmpty(), "TNPSC skips the page it has already seen");
+        assertTrue(run(state, utils, cache).isEmpty(), "StateGovt skips the page it has already seen");
+        assertEquals(2, cache.unchangedCount() - unchangedBefore);
+    }
+
+    /**
+     * As ScraperService runs a source: bound to its own page cache state, which
+     * is kept once its notices are stored
+     */
+    private static List<RawNotice> run(JobNoticeSource source, ScraperUtils utils, PageCache cache) {
+        try {
+            List<RawNotice> notices = source.withUtils(utils.forSource(source.getSourceName())).fetchRaw();
+            cache.commit(source.getSourceName());
+            return notices;
+        } finally {
+            utils.releasePage();
+        }
+    }
+
+    private static byte[] tnpscPage() throws IOException {
+        try (InputStream in = SharedPageCacheTest.class.getResourceAsStream("/corpus/tnpsc_home.html")) {
+            return in.readAllBytes();
+        }
+    }
+}
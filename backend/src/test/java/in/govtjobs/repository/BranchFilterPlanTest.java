@@ -0,0 +1,87 @@
+package in.govtjobs.repository;
+
+import in.govtjobs.model.JobNotice;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The branch filter must be answered from idx_notice_branch, not by scanning
+ * job_notices: the SQL Hibernate actually sends is captured and run through
+ * H2's EXPLAIN.
+ */
+@SpringBootTest(properties = SqlCapture.PROPERTY)
+public class BranchFilterPlanTest {
+
+    private static final String[] BRANCHES = { "CIVIL", "MECH", "EEE", "ECE", "CSE", "CHEM", "INST" };
+
+    @Autowired
+    private JobNoticeRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    public void seed() {
+        if (repository.countMatching(new JobNoticeListing.Filters("PLANTEST", null, null, null, null, null)) > 0)
+            return;
+        List<JobNotice> notices = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            notices.add(JobNotice.builder()
+                    .title("Notice " + i)
+                    .category("PLANTEST")
+                    .state("Central")
+                    .noticeType(i % 2 == 0 ? "RECRUITMENT" : "RESULT")
+                    .engineeringBranches(BRANCHES[i % BRANCHES.length] + "," + BRANCHES[(i + 3) % BRANCHES.length])
+                    .sourceName("Test")
+                    .sourceUrl("https://example.org/" + i)
+                    .contentHash(String.format("%064x", i))
+                    .fetchedAt(LocalDateTime.now().minusMinutes(i))
+                    .build());
+        }
+        repository.upsertByContentHash(notices);
+    }
+
+    @Test
+    public void branchFilterUsesBranchIndex() {
+        JobNoticeListing.Filters f = new JobNoticeListing.Filters(null, null, null, "CIVIL", null, null);
+        String plan = explain(() -> repository.findPage(f, JobNoticeListing.Order.NEWEST, 0, 20));
+        assertIndexed(plan);
+    }
+
+    @Test
+    public void branchAndTypeFilterUsesBranchIndex() {
+        JobNoticeListing.Filters f = new JobNoticeListing.Filters(null, null, "RECRUITMENT", "CSE", null, null);
+        assertIndexed(explain(() -> repository.findPage(f, JobNoticeListing.Order.DEADLINE, 0, 20)));
+        assertIndexed(explain(() -> repository.countMatching(f)));
+    }
+
+    @Test
+    public void branchCodesMatchExactly() {
+        // "EE" is a prefix of a stored code; the old LIKE '%EE%' matched EEE
+        assertEquals(0, repository.countMatching(
+                new JobNoticeListing.Filters("PLANTEST", null, null, "EE", null, null)));
+        assertEquals(200 / BRANCHES.length * 2 + 1, repository.countMatching(
+                new JobNoticeListing.Filters("PLANTEST", null, null, "CIVIL", null, null)));
+    }
+
+    private static void assertIndexed(String plan) {
+        String upper = plan.toUpperCase();
+        assertTrue(upper.contains("IDX_NOTICE_BRANCH"), () -> "branch index not used:\n" + plan);
+        assertFalse(upper.contains("JOB_NOTICES.TABLESCAN"), () -> "job_notices scanned:\n" + plan);
+    }
+
+    private String explain(Runnable query) {
+        return SqlCapture.explain(jdbc, "notice_branches", query);
+    }
+}
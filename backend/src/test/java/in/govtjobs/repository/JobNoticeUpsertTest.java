@@ -0,0 +1,157 @@
+package in.govtjobs.repository;
+
+import in.govtjobs.model.JobNotice;
+import in.govtjobs.scheduler.ScraperScheduler;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * upsertByContentHash, through the H2 MERGE and through the portable path
+ * other databases take: new hashes are inserted with their branches, stored
+ * ones get a changed lastDate or applyUrl refreshed (a null never overwrites,
+ * and nothing else is touched), unchanged and archived ones are left alone,
+ * and each notice is reported as exactly one of these.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:notice-upsert;DB_CLOSE_DELAY=-1")
+public class JobNoticeUpsertTest {
+
+    private static final LocalDate CLOSES = LocalDate.of(2025, 3, 31);
+
+    /** No startup scrape writing to the table under test */
+    @MockBean
+    private ScraperScheduler scheduler;
+
+    @Autowired
+    private JobNoticeRepository repository;
+
+    @Autowired
+    private ArchivedNoticeRepository archived;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private TransactionTemplate transactions;
+
+    @Test
+    public void mergeUpserts() {
+        assertUpserts("merge", repository::upsertByContentHash);
+    }
+
+    @Test
+    public void portableUpserts() {
+        JobNoticeUpsertImpl portable = new JobNoticeUpsertImpl(jdbc);
+        assertUpserts("portable", portable::upsertPortably);
+    }
+
+    private void assertUpserts(String run, Function<List<JobNotice>, JobNoticeUpsert.Result> upsert) {
+        JobNotice a = notice(run, "a", CLOSES, "https://example.org/a", "CIVIL,MECH");
+        JobNotice b = notice(run, "b", null, null, null);
+        JobNotice c = notice(run, "c", CLOSES, "https://example.org/c", "CSE");
+        JobNotice d = notice(run, "d", null, "https://example.org/d", null);
+        JobNotice archivedNotice = notice(run, "archived", CLOSES, null, null);
+
+        // Insert
+        assertResult(List.of(hash(a), hash(b), hash(c), hash(d), hash(archivedNotice)), List.of(), 0,
+                upsert.apply(List.of(a, b, c, d, archivedNotice)));
+        assertEquals(List.of("CIVIL", "MECH"), branches(a));
+        assertEquals(List.of("CSE"), branches(c));
+        archive(archivedNotice);
+
+        // Unchanged: the same values, and no values at all, under a new id and title
+        JobNotice sameA = notice(run, "a", CLOSES, "https://example.org/a", "EEE");
+        JobNotice emptyC = notice(run, "c", null, null, null);
+        sameA.setTitle("Another title with the same hash");
+        assertResult(List.of(), List.of(), 2, upsert.apply(List.of(sameA, emptyC)));
+        assertStored(a, CLOSES, "https://example.org/a");
+        assertStored(c, CLOSES, "https://example.org/c");
+
+        // Update: a changed value is refreshed, a null keeps what is stored
+        JobNotice laterA = notice(run, "a", CLOSES.plusDays(10), null, null);
+        JobNotice datedB = notice(run, "b", CLOSES, null, null);
+        JobNotice movedC = notice(run, "c", null, "https://example.org/c2", null);
+        JobNotice sameD = notice(run, "d", null, "https://example.org/d", null);
+        JobNotice againArchived = notice(run, "archived", CLOSES.plusDays(1), "https://example.org/x", null);
+        JobNotice e = notice(run, "e", null, null, "EEE");
+        assertResult(List.of(hash(e)), List.of(hash(a), hash(b), hash(c)), 2,
+                upsert.apply(List.of(laterA, datedB, movedC, sameD, againArchived, e)));
+        assertStored(a, CLOSES.plusDays(10), "https://example.org/a");
+        assertStored(b, CLOSES, null);
+        assertStored(c, CLOSES, "https://example.org/c2");
+        assertStored(d, null, "https://example.org/d");
+        assertEquals(0, jdbc.queryForObject("SELECT COUNT(*) FROM job_notices WHERE content_hash = ?",
+                Integer.class, hash(archivedNotice)));
+        assertEquals(List.of("EEE"), branches(e));
+
+        // Conflict: the stored row keeps its id, title and branches
+        Map<String, Object> row = jdbc.queryForMap("SELECT id, title FROM job_notices WHERE content_hash = ?",
+                hash(a));
+        assertEquals(a.getId(), row.get("id"));
+        assertNotEquals(sameA.getId(), a.getId());
+        assertEquals(a.getTitle(), row.get("title"));
+        assertEquals(List.of("CIVIL", "MECH"), branches(a));
+    }
+
+    private static void assertResult(List<String> inserted, List<String> updated, int unchanged,
+            JobNoticeUpsert.Result result) {
+        assertEquals(inserted.stream().sorted().toList(), result.inserted().stream().sorted().toList(), "inserted");
+        assertEquals(updated.stream().sorted().toList(), result.updated().stream().sorted().toList(), "updated");
+        assertEquals(unchanged, result.unchanged(), "unchanged");
+    }
+
+    private void assertStored(JobNotice notice, LocalDate lastDate, String applyUrl) {
+        Map<String, Object> row = jdbc.queryForMap(
+                "SELECT last_date, apply_url FROM job_notices WHERE content_hash = ?", hash(notice));
+        Object stored = row.get("last_date");
+        assertEquals(lastDate, stored == null ? null : ((java.sql.Date) stored).toLocalDate(), "last date");
+        assertEquals(applyUrl, row.get("apply_url"), "apply url");
+    }
+
+    private List<String> branches(JobNotice notice) {
+        return jdbc.queryForList("SELECT branch FROM notice_branches WHERE notice_id = ? ORDER BY branch",
+                String.class, notice.getId());
+    }
+
+    /** As NoticeArchive moves a notice */
+    private void archive(JobNotice notice) {
+        transactions.executeWithoutResult(status -> {
+            archived.copyFromNotices(List.of(notice.getId()), LocalDateTime.now());
+            jdbc.update("DELETE FROM notice_branches WHERE notice_id = ?", notice.getId());
+            repository.deleteByIdIn(List.of(notice.getId()));
+        });
+    }
+
+    private static JobNotice notice(String run, String name, LocalDate lastDate, String applyUrl, String branches) {
+        return JobNotice.builder()
+                .id(UUID.randomUUID())
+                .title("Upsert " + run + " " + name)
+                .category("OTHERS")
+                .state("Central")
+                .engineeringBranches(branches)
+                .sourceName("Test")
+                .sourceUrl("https://example.org/")
+                .applyUrl(applyUrl)
+                .lastDate(lastDate)
+                .contentHash(run + "-" + name)
+                .fetchedAt(LocalDateTime.now())
+                .build();
+    }
+
+    private static String hash(JobNotice notice) {
+        return notice.getContentHash();
+    }
+}
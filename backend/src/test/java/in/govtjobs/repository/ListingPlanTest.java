@@ -0,0 +1,136 @@
+package in.govtjobs.repository;
+
+import in.govtjobs.model.JobNotice;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Every filter and sort combination the frontend sends to /api/notices must
+ * read job_notices through an index, in order: the SQL Hibernate sends is
+ * run through H2's EXPLAIN, and a plan that scans the table or sorts fails.
+ * The exceptions are bounded sets: a period filter with nothing else to lead
+ * with ranges over idx_fetched, and a branch filter may look its notices up
+ * by id, before sorting what that returned.
+ */
+@SpringBootTest(properties = SqlCapture.PROPERTY)
+public class ListingPlanTest {
+
+    private static final String[] CATEGORIES = { "BANK", "SSC", "RAILWAYS", "UPSC", "PSU", "STATE", "MEDICAL",
+            "DEFENCE", "OTHERS" };
+    private static final String[] TYPES = { "RECRUITMENT", "APPRENTICESHIP", "EXAM_ADMIT_CARD", "RESULT",
+            "CALENDAR", "GENERAL_INFO" };
+    private static final String[] BRANCHES = { "CIVIL", "MECH", "EEE", "ECE", "CSE" };
+
+    private static boolean seeded;
+
+    @Autowired
+    private JobNoticeRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    /** Enough varied rows, with statistics, for H2 to cost plans as it would in use */
+    @BeforeEach
+    public void seed() {
+        if (seeded)
+            return;
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.now();
+        List<JobNotice> notices = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            notices.add(JobNotice.builder()
+                    .title("Listing notice " + i)
+                    .category(CATEGORIES[random.nextInt(CATEGORIES.length)])
+                    .state(random.nextInt(3) == 0 ? "Central" : "State " + random.nextInt(30))
+                    .noticeType(random.nextInt(5) == 0 ? null : TYPES[random.nextInt(TYPES.length)])
+                    .engineeringBranches(random.nextInt(5) == 0 ? BRANCHES[random.nextInt(BRANCHES.length)] : null)
+                    .publishedDate(random.nextInt(3) == 0 ? null : LocalDate.now().minusDays(random.nextInt(200)))
+                    .lastDate(random.nextInt(2) == 0 ? null : LocalDate.now().plusDays(random.nextInt(90) - 20))
+                    .sourceName("Test")
+                    .sourceUrl("https://example.org/listing/" + i)
+                    .contentHash(String.format("%064x", 1_000_000 + i))
+                    .fetchedAt(now.minusMinutes(random.nextInt(300_000)))
+                    .build());
+        }
+        repository.upsertByContentHash(notices);
+        jdbc.execute("ANALYZE");
+        seeded = true;
+    }
+
+    @Test
+    public void listingShapesReadAnIndexInOrder() {
+        LocalDateTime weekAgo = LocalDate.now().minusDays(7).atStartOfDay();
+        LocalDateTime endOfToday = LocalDate.now().atTime(23, 59, 59);
+        List<String> failures = new ArrayList<>();
+        List<JobNoticeListing.Filters> shapes = new ArrayList<>();
+        // category, state and notice type pills/selects, each optional, with and without a period
+        for (int mask = 0; mask < 8; mask++) {
+            String category = (mask & 1) != 0 ? "BANK" : null;
+            String state = (mask & 2) != 0 ? "Central" : null;
+            String type = (mask & 4) != 0 ? "RECRUITMENT" : null;
+            shapes.add(new JobNoticeListing.Filters(category, state, type, null, null, null));
+            shapes.add(new JobNoticeListing.Filters(category, state, type, null, weekAgo, endOfToday));
+        }
+        // Engineering tab: branch, optionally with a notice type
+        shapes.add(new JobNoticeListing.Filters(null, null, null, "CIVIL", null, null));
+        shapes.add(new JobNoticeListing.Filters(null, null, "RECRUITMENT", "CIVIL", null, null));
+
+        for (JobNoticeListing.Filters f : shapes) {
+            for (JobNoticeListing.Order order : JobNoticeListing.Order.values()) {
+                String plan = SqlCapture.explain(jdbc, "order by", () -> repository.findPage(f, order, 0, 20));
+                String problem = problem(f, plan);
+                if (problem != null)
+                    failures.add(problem + " for " + f + " " + order + ":\n" + plan);
+            }
+        }
+        assertTrue(failures.isEmpty(), () -> String.join("\n\n", failures));
+    }
+
+    @Test
+    public void filteredCountsUseAnIndex() {
+        List<String> failures = new ArrayList<>();
+        List<JobNoticeListing.Filters> shapes = List.of(
+                new JobNoticeListing.Filters("BANK", null, null, null, null, null),
+                new JobNoticeListing.Filters(null, "Central", null, null, null, null),
+                new JobNoticeListing.Filters(null, null, "RESULT", null, null, null),
+                new JobNoticeListing.Filters("BANK", "Central", "RESULT", null, null, null),
+                new JobNoticeListing.Filters(null, null, null, null,
+                        LocalDate.now().atStartOfDay(), LocalDate.now().atTime(23, 59, 59)));
+        for (JobNoticeListing.Filters f : shapes) {
+            String plan = SqlCapture.explain(jdbc, "count(", () -> repository.countMatching(f));
+            if (scans(plan))
+                failures.add("table scan for " + f + ":\n" + plan);
+        }
+        assertTrue(failures.isEmpty(), () -> String.join("\n\n", failures));
+    }
+
+    /** Why {@code plan} is not acceptable for {@code f}, or null if it is */
+    private static String problem(JobNoticeListing.Filters f, String plan) {
+        String upper = plan.toUpperCase();
+        if (scans(plan))
+            return "table scan";
+        if (upper.contains("/* INDEX SORTED */"))
+            return null;
+        boolean leads = f.category() != null || f.state() != null || f.noticeType() != null;
+        if (!leads && f.fromDate() != null && upper.contains("IDX_FETCHED: FETCHED_AT"))
+            return null;
+        if (f.branch() != null && upper.contains("PRIMARY_KEY") && upper.contains("IDX_NOTICE_BRANCH"))
+            return null;
+        return "sort";
+    }
+
+    private static boolean scans(String plan) {
+        return plan.toUpperCase().contains("JOB_NOTICES.TABLESCAN");
+    }
+}
@@ -0,0 +1,36 @@
+package in.govtjobs.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Records the SQL Hibernate sends, so the plan tests can EXPLAIN exactly
+ * what a repository call runs. Registered through {@link #PROPERTY}.
+ */
+public class SqlCapture implements StatementInspector {
+
+    static final String PROPERTY = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+            + "in.govtjobs.repository.SqlCapture";
+
+    private static final List<String> statements = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        statements.add(sql);
+        return sql;
+    }
+
+    /** H2's plan for the first statement {@code query} sends that contains {@code marker} */
+    static String explain(JdbcTemplate jdbc, String marker, Runnable query) {
+        statements.clear();
+        query.run();
+        String sql = statements.stream()
+                .filter(s -> s.toLowerCase().contains(marker))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("no statement with '" + marker + "' in " + statements));
+        return jdbc.queryForObject("EXPLAIN " + sql, String.class);
+    }
+}
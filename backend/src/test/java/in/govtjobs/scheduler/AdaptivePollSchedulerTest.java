@@ -0,0 +1,112 @@
+package in.govtjobs.scheduler;
+
+import in.govtjobs.model.SourcePollState;
+import in.govtjobs.repository.SourcePollStateRepository;
+import in.govtjobs.scraper.JobNoticeSource;
+import in.govtjobs.service.ScraperService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Only a source that was actually polled learns from it and moves to its
+ * next interval. One that threw, or that was not run because another run
+ * held the guard, is polled again after retry-minutes. snapshot() must not
+ * hand out the live state.
+ */
+public class AdaptivePollSchedulerTest {
+
+    private static final long RETRY_MINUTES = 10;
+    private static final long MIN_INTERVAL_MINUTES = 30;
+
+    private final ScraperService scraperService = mock(ScraperService.class);
+    private AdaptivePollScheduler scheduler;
+
+    @BeforeEach
+    public void setUp() {
+        List<JobNoticeSource> sources = List.of(source("Polled"), source("Failed"));
+        when(scraperService.getSources()).thenReturn(sources);
+        scheduler = new AdaptivePollScheduler(scraperService, mock(SourcePollStateRepository.class));
+        ReflectionTestUtils.setField(scheduler, "enabled", true);
+        // Every source due on the first tick
+        ReflectionTestUtils.setField(scheduler, "initialIntervalMinutes", 0L);
+        ReflectionTestUtils.setField(scheduler, "minIntervalMinutes", MIN_INTERVAL_MINUTES);
+        ReflectionTestUtils.setField(scheduler, "maxIntervalMinutes", 1440L);
+        ReflectionTestUtils.setField(scheduler, "retryMinutes", RETRY_MINUTES);
+    }
+
+    @Test
+    public void skippedRunRetriesEverySourceSoon() {
+        // runSources returns without running anything
+        LocalDateTime before = LocalDateTime.now();
+        scheduler.pollDueSources();
+
+        for (SourcePollState state : scheduler.snapshot().values()) {
+            assertRetried(state, before);
+            assertEquals(0, state.getPolls());
+        }
+    }
+
+    @Test
+    public void onlyPolledSourceMovesToItsInterval() {
+        doAnswer(call -> {
+            Map<String, Integer> savedBySource = call.getArgument(1);
+            savedBySource.put("Polled", 2);
+            return null;
+        }).when(scraperService).runSources(anyList(), anyMap());
+        LocalDateTime before = LocalDateTime.now();
+        scheduler.pollDueSources();
+
+        Map<String, SourcePollState> states = scheduler.snapshot();
+        SourcePollState polled = states.get("Polled");
+        assertNotNull(polled.getLastPolledAt());
+        assertNotNull(polled.getLastChangedAt());
+        long minutes = Duration.between(before, polled.getNextPollAt()).toMinutes();
+        assertTrue(minutes >= MIN_INTERVAL_MINUTES * 0.85 - 1, "next poll in " + minutes + " min");
+        assertRetried(states.get("Failed"), before);
+    }
+
+    @Test
+    public void snapshotIsACopy() {
+        Map<String, SourcePollState> snapshot = scheduler.snapshot();
+        SourcePollState state = snapshot.get("Polled");
+        LocalDateTime nextPollAt = state.getNextPollAt();
+
+        state.setNextPollAt(nextPollAt.plusDays(1));
+        state.setPolls(99);
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.remove("Polled"));
+
+        SourcePollState live = scheduler.snapshot().get("Polled");
+        assertEquals(nextPollAt, live.getNextPollAt());
+        assertEquals(0, live.getPolls());
+    }
+
+    private static void assertRetried(SourcePollState state, LocalDateTime before) {
+        assertNull(state.getLastPolledAt(), state.getSourceName());
+        long minutes = Duration.between(before, state.getNextPollAt()).toMinutes();
+        assertTrue(minutes >= RETRY_MINUTES - 1 && minutes <= RETRY_MINUTES,
+                state.getSourceName() + " next poll in " + minutes + " min");
+    }
+
+    private static JobNoticeSource source(String name) {
+        JobNoticeSource source = mock(JobNoticeSource.class);
+        when(source.getSourceName()).thenReturn(name);
+        return source;
+    }
+}
@@ -0,0 +1,88 @@
+package in.govtjobs.scraper.impl;
+
+import in.govtjobs.fetch.FetchLimiter;
+import in.govtjobs.fetch.HostCircuitBreaker;
+import in.govtjobs.fetch.PageArchive;
+import in.govtjobs.fetch.PageCache;
+import in.govtjobs.fetch.PageFetcher;
+import in.govtjobs.fetch.PageSource;
+import in.govtjobs.scraper.JobNoticeSource;
+import in.govtjobs.util.ScraperUtils;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * SSC, RRB and Employment News read backup pages when their primary page
+ * finds too few notices. A primary page that answers 304 is up and its
+ * notices are stored, so the backups must not be fetched.
+ */
+public class FallbackChainTest {
+
+    private static final String ETAG = "\"primary-v1\"";
+    private static final byte[] EMPTY_PAGE = "<html><body><p>No notices</p></body></html>"
+            .getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    public void unchangedSscRegionSkipsBackupRegions() {
+        assertBackupsSkippedWhenPrimaryUnchanged(SscScraper::new);
+    }
+
+    @Test
+    public void unchangedRrbBoardSkipsBackupBoards() {
+        assertBackupsSkippedWhenPrimaryUnchanged(RrbScraper::new);
+    }
+
+    @Test
+    public void unchangedEmploymentNewsRootSkipsNcs() {
+        assertBackupsSkippedWhenPrimaryUnchanged(EmploymentNewsScraper::new);
+    }
+
+    /**
+     * The first page requested is the primary; it has no notices and sends an
+     * ETag, every other page is a 404.
+     */
+    private void assertBackupsSkippedWhenPrimaryUnchanged(Function<ScraperUtils, JobNoticeSource> scraper) {
+        List<String> requested = new ArrayList<>();
+        AtomicReference<String> primary = new AtomicReference<>();
+        PageSource pages = (url, headers, timeoutMs) -> {
+            requested.add(url);
+            primary.compareAndSet(null, url);
+            if (!url.equals(primary.get()))
+                return new PageFetcher.FetchedPage(404, url, "text/html", null, null, new byte[0]);
+            if (ETAG.equals(headers.get("If-None-Match")))
+                return new PageFetcher.FetchedPage(304, url, null, ETAG, null, new byte[0]);
+            return new PageFetcher.FetchedPage(200, url, "text/html; charset=UTF-8", ETAG, null, EMPTY_PAGE);
+        };
+        PageCache cache = PageCache.inMemory();
+        ScraperUtils utils = new ScraperUtils(FetchLimiter.standalone(), cache, pages,
+                HostCircuitBreaker.standalone(), PageArchive.disabled());
+        JobNoticeSource source = scraper.apply(utils);
+
+        cache.beginRun();
+        run(source, utils, cache);
+        assertTrue(requested.size() > 1, "an empty primary page falls back to the backups");
+
+        cache.beginRun();
+        requested.clear();
+        run(source, utils, cache);
+        assertEquals(List.of(primary.get()), requested, "only the unchanged primary is requested");
+    }
+
+    /** As ScraperService runs a source, keeping its page state once its notices are stored */
+    private static void run(JobNoticeSource source, ScraperUtils utils, PageCache cache) {
+        try {
+            source.withUtils(utils.forSource(source.getSourceName())).fetchRaw();
+            cache.commit(source.getSourceName());
+        } finally {
+            utils.releasePage();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package in.govtjobs.scraper.impl;
+
+import in.govtjobs.dto.RawNotice;
+import in.govtjobs.fetch.FetchLimiter;
+import in.govtjobs.fetch.HostCircuitBreaker;
+import in.govtjobs.fetch.PageArchive;
+import in.govtjobs.fetch.PageCache;
+import in.govtjobs.fetch.PageFetcher;
+import in.govtjobs.fetch.PageSource;
+import in.govtjobs.util.ScraperUtils;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpTimeoutException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * scraper.state.board-timeout-ms bounds each board from when it starts. Slow
+ * boards are cut off after about that long each, wherever they sit in the
+ * board list, through their fetch timeouts rather than interrupts, and the
+ * other boards' notices still come back.
+ */
+public class StateGovtBoardTimeoutTest {
+
+    private static final long BOARD_TIMEOUT_MS = 400;
+
+    private static final Set<String> SLOW_URLS = Set.of("https://apsc.nic.in", "https://hpsc.gov.in",
+            "https://opsc.gov.in", "https://andaman.gov.in");
+    private static final String TNPSC_URL = "https://www.tnpsc.gov.in/home.aspx";
+
+    @Test
+    public void slowBoardsAreCutOffEachAfterTheirOwnTimeout() throws IOException {
+        byte[] tnpsc = resource("/corpus/tnpsc_home.html");
+        Map<String, Long> slowRunMs = new ConcurrentHashMap<>();
+        Set<String> served = ConcurrentHashMap.newKeySet();
+        Set<Thread> interrupted = ConcurrentHashMap.newKeySet();
+        PageSource pages = (url, headers, timeoutMs) -> {
+            if (SLOW_URLS.contains(url)) {
+                // A host that never answers: the request ends when its timeout does
+                long start = System.nanoTime();
+                try {
+                    Thread.sleep(Math.min(timeoutMs, 30_000));
+                } catch (InterruptedException e) {
+                    interrupted.add(Thread.currentThread());
+                    Thread.currentThread().interrupt();
+                } finally {
+                    slowRunMs.put(url, (System.nanoTime() - start) / 1_000_000);
+                }
+                throw new HttpTimeoutException("request timed out");
+            }
+            served.add(url);
+            byte[] body = url.equals(TNPSC_URL) ? tnpsc : new byte[0];
+            return new PageFetcher.FetchedPage(200, url, "text/html; charset=UTF-8", null, null, body);
+        };
+        ScraperUtils utils = new ScraperUtils(new FetchLimiter(16, 16, 0), PageCache.inMemory(), pages,
+                HostCircuitBreaker.standalone(), PageArchive.disabled());
+        StateGovtScraper scraper = new StateGovtScraper(utils);
+        ReflectionTestUtils.setField(scraper, "parallelEnabled", true);
+        ReflectionTestUtils.setField(scraper, "parallelThreads", 8);
+        ReflectionTestUtils.setField(scraper, "boardTimeoutMs", BOARD_TIMEOUT_MS);
+
+        long start = System.nanoTime();
+        List<RawNotice> notices = scraper.fetchRaw();
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(SLOW_URLS, slowRunMs.keySet(), "every slow board was started and stopped");
+        slowRunMs.forEach((url, ms) -> assertTrue(ms < BOARD_TIMEOUT_MS * 2,
+                url + " ran " + ms + " ms, timeout " + BOARD_TIMEOUT_MS + " ms"));
+        assertTrue(elapsedMs < BOARD_TIMEOUT_MS * 4, "run took " + elapsedMs + " ms");
+        assertTrue(interrupted.isEmpty(), "no board thread is interrupted");
+
+        assertFalse(notices.isEmpty(), "fast boards' notices are kept");
+        assertTrue(notices.stream().allMatch(n -> "Tamil Nadu".equals(n.getState())));
+        assertTrue(served.contains(TNPSC_URL));
+        assertTrue(served.stream().noneMatch(SLOW_URLS::contains));
+    }
+
+    private static byte[] resource(String name) throws IOException {
+        try (InputStream in = StateGovtBoardTimeoutTest.class.getResourceAsStream(name)) {
+            return in.readAllBytes();
+        }
+    }
+}
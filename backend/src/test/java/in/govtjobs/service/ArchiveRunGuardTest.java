@@ -0,0 +1,73 @@
+package in.govtjobs.service;
+
+import in.govtjobs.fetch.PageFetcher;
+import in.govtjobs.fetch.PageSource;
+import in.govtjobs.scheduler.ScraperScheduler;
+import in.govtjobs.scraper.JobNoticeSource;
+import in.govtjobs.scraper.impl.TnpscScraper;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Archiving takes the scrape run guard. Asked for while a run is fetching, it
+ * waits for that run to finish and then happens once.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:archive-guard;DB_CLOSE_DELAY=-1")
+public class ArchiveRunGuardTest {
+
+    /** No startup scrape or scheduled archive of its own */
+    @MockBean
+    private ScraperScheduler scheduler;
+
+    @MockBean
+    private PageSource pages;
+
+    @SpyBean
+    private NoticeArchive archive;
+
+    @Autowired
+    private ScraperService service;
+
+    @Test
+    public void archiveDuringRunWaitsForIt() throws IOException {
+        AtomicInteger archivedDuringRun = new AtomicInteger(-1);
+        when(pages.get(anyString(), anyMap(), anyInt())).thenAnswer(call -> {
+            String url = call.getArgument(0);
+            if (archivedDuringRun.get() < 0) {
+                service.archiveNotices();
+                archivedDuringRun.set(Mockito.mockingDetails(archive).getInvocations().size());
+            }
+            return new PageFetcher.FetchedPage(404, url, "text/html", null, null, new byte[0]);
+        });
+        JobNoticeSource tnpsc = service.getSources().stream()
+                .filter(TnpscScraper.class::isInstance)
+                .findFirst()
+                .orElseThrow();
+
+        service.runSources(List.of(tnpsc), new HashMap<>());
+
+        assertEquals(0, archivedDuringRun.get(), "not archived while the run held the guard");
+        verify(archive, times(1)).archiveExpired();
+
+        // With no run in progress it archives straight away
+        service.archiveNotices();
+        verify(archive, times(2)).archiveExpired();
+    }
+}
@@ -0,0 +1,54 @@
+package in.govtjobs.service;
+
+import in.govtjobs.repository.ArchivedNoticeRepository;
+import in.govtjobs.repository.JobNoticeRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * A stored notice is current only while an upsert would not change it. A new
+ * applyUrl must count as a change even when its String.hashCode() matches the
+ * old one, and a null field keeps what was recorded.
+ */
+public class DedupIndexTest {
+
+    private static final String HASH = "a".repeat(64);
+    private static final LocalDate LAST_DATE = LocalDate.of(2026, 11, 30);
+
+    @Test
+    public void applyUrlWithEqualHashCodeIsAChange() {
+        String stored = "https://example.org/apply?k=Aa";
+        String changed = "https://example.org/apply?k=BB";
+        assertEquals(stored.hashCode(), changed.hashCode());
+
+        DedupIndex index = loadedIndex();
+        index.record(HASH, LAST_DATE, stored);
+
+        assertTrue(index.isCurrent(HASH, LAST_DATE, stored));
+        assertFalse(index.isCurrent(HASH, LAST_DATE, changed));
+    }
+
+    @Test
+    public void nullFieldsKeepWhatWasRecorded() {
+        DedupIndex index = loadedIndex();
+        index.record(HASH, LAST_DATE, "https://example.org/apply");
+        index.record(HASH, null, null);
+
+        assertTrue(index.isCurrent(HASH, LAST_DATE, "https://example.org/apply"));
+        assertTrue(index.isCurrent(HASH, null, null));
+        assertFalse(index.isCurrent(HASH, LAST_DATE.plusDays(1), null));
+        assertFalse(index.isCurrent("b".repeat(64), null, null));
+    }
+
+    private static DedupIndex loadedIndex() {
+        DedupIndex index = new DedupIndex(mock(JobNoticeRepository.class), mock(ArchivedNoticeRepository.class));
+        assertTrue(index.isReady());
+        return index;
+    }
+}
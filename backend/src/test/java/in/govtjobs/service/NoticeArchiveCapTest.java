@@ -0,0 +1,86 @@
+package in.govtjobs.service;
+
+import in.govtjobs.model.JobNotice;
+import in.govtjobs.repository.ArchivedNoticeRepository;
+import in.govtjobs.repository.JobNoticeRepository;
+import in.govtjobs.scheduler.ScraperScheduler;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Over max-hot-rows, only notices whose last date has passed are archived
+ * early. An archived hash is never ingested again, so taking an open notice
+ * would lose it; open and undated notices stay even if the cap is missed.
+ */
+@SpringBootTest(properties = { "spring.datasource.url=jdbc:h2:mem:archive-cap;DB_CLOSE_DELAY=-1",
+        "scraper.notice-archive.max-hot-rows=4" })
+public class NoticeArchiveCapTest {
+
+    /** No startup scrape adding notices over the cap */
+    @MockBean
+    private ScraperScheduler scheduler;
+
+    @Autowired
+    private NoticeArchive archive;
+
+    @Autowired
+    private JobNoticeRepository repository;
+
+    @Autowired
+    private ArchivedNoticeRepository archived;
+
+    @Test
+    public void capNeverArchivesOpenNotices() {
+        LocalDate today = LocalDate.now();
+        List<JobNotice> open = new ArrayList<>();
+        List<JobNotice> undated = new ArrayList<>();
+        List<JobNotice> closed = new ArrayList<>();
+        // The open ones were fetched first, so oldest-first alone would take them
+        for (int i = 0; i < 3; i++)
+            open.add(notice("open-" + i, today.plusDays(i), 300 - i));
+        for (int i = 0; i < 2; i++)
+            undated.add(notice("undated-" + i, null, 150 - i));
+        for (int i = 0; i < 3; i++)
+            closed.add(notice("closed-" + i, today.minusDays(1 + i), 100 - i));
+        List<JobNotice> all = new ArrayList<>(open);
+        all.addAll(undated);
+        all.addAll(closed);
+        repository.upsertByContentHash(all);
+
+        assertEquals(3, archive.archiveExpired());
+
+        for (JobNotice notice : closed)
+            assertTrue(archived.existsById(notice.getId()), notice.getContentHash());
+        for (JobNotice notice : open)
+            assertFalse(archived.existsById(notice.getId()), notice.getContentHash());
+        for (JobNotice notice : undated)
+            assertFalse(archived.existsById(notice.getId()), notice.getContentHash());
+        assertEquals(5, repository.count(), "the cap is missed rather than lose open notices");
+    }
+
+    private static JobNotice notice(String name, LocalDate lastDate, int daysAgo) {
+        return JobNotice.builder()
+                .id(UUID.randomUUID())
+                .title("Capped notice " + name)
+                .category("OTHERS")
+                .state("Central")
+                .sourceName("Test")
+                .sourceUrl("https://example.org/cap/" + name)
+                .lastDate(lastDate)
+                .contentHash("cap-" + name)
+                .fetchedAt(LocalDateTime.now().minusDays(daysAgo))
+                .build();
+    }
+}
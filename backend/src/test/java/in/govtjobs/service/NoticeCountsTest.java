@@ -0,0 +1,191 @@
+package in.govtjobs.service;
+
+import in.govtjobs.model.JobNotice;
+import in.govtjobs.repository.JobNoticeListing;
+import in.govtjobs.repository.JobNoticeRepository;
+import in.govtjobs.repository.JobNoticeUpsert;
+import in.govtjobs.scheduler.ScraperScheduler;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The in-memory totals must agree with counting in the database, for every
+ * listing filter and period and for the rolling 24-hour count, after
+ * notices are inserted, after NoticeArchive moves some out and when a
+ * rebuild falls in the middle of an insert. Asking for a later window must
+ * not change what an earlier one returns.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:notice-counts;DB_CLOSE_DELAY=-1")
+public class NoticeCountsTest {
+
+    private static final String[] CATEGORIES = { "BANK", "SSC", "PSU", "OTHERS" };
+    private static final String[] STATES = { "Central", "Odisha", "Tamil Nadu" };
+    private static final String[] TYPES = { "RECRUITMENT", "RESULT", null };
+    private static final String[] BRANCHES = { "CIVIL", "MECH", "CIVIL,MECH", "CSE", null };
+
+    /** No startup scrape writing to the table while counts are compared */
+    @MockBean
+    private ScraperScheduler scheduler;
+
+    @Autowired
+    private NoticeCounts noticeCounts;
+
+    @Autowired
+    private NoticeWriter writer;
+
+    @Autowired
+    private NoticeArchive archive;
+
+    @Autowired
+    private JobNoticeRepository repository;
+
+    private final Random random = new Random(7);
+    /** Static: the methods share one database, and each notice needs its own hash */
+    private static int next;
+
+    @Test
+    public void matchDatabaseAfterInsertsAndArchiving() {
+        assertTrue(noticeCounts.isReady());
+        insert(400);
+        assertMatchDatabase();
+
+        assertTrue(archive.archiveExpired() > 0, "nothing archived");
+        assertMatchDatabase();
+
+        insert(100);
+        assertMatchDatabase();
+    }
+
+    @Test
+    public void countingNewDoesNotForgetEarlierNotices() {
+        insert(50);
+        LocalDateTime dayAgo = LocalDateTime.now().minusHours(24);
+        long day = noticeCounts.countFetchedAfter(dayAgo).orElseThrow();
+        noticeCounts.countFetchedAfter(LocalDateTime.now().minusMinutes(5));
+        assertEquals(day, noticeCounts.countFetchedAfter(dayAgo).orElseThrow());
+        assertEquals(repository.countByFetchedAtAfter(dayAgo), day);
+    }
+
+    @Test
+    public void rebuildDuringInsertCountsItOnce() throws Exception {
+        assertTrue(noticeCounts.isReady());
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch rebuilding = new CountDownLatch(1);
+        Thread rebuild = new Thread(() -> {
+            try {
+                written.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            rebuilding.countDown();
+            noticeCounts.rebuild();
+        });
+        rebuild.start();
+
+        // The rebuild is released between the write and the added() call
+        List<JobNotice> notices = notices(20);
+        noticeCounts.inserting(() -> {
+            JobNoticeUpsert.Result result = writer.upsert(notices);
+            written.countDown();
+            awaitFinishedOrParked(rebuild, rebuilding);
+            Set<String> inserted = new HashSet<>(result.inserted());
+            noticeCounts.added(
+                    notices.stream().filter(notice -> inserted.contains(notice.getContentHash())).toList());
+        });
+        rebuild.join();
+
+        // Without the lock the rebuild sees the rows and added() counts them again
+        assertMatchDatabase();
+    }
+
+    /** Until {@code thread} has rebuilt, or is waiting for the insert to finish first */
+    private static void awaitFinishedOrParked(Thread thread, CountDownLatch started) {
+        try {
+            started.await();
+            long until = System.nanoTime() + 5_000_000_000L;
+            while (thread.getState() == Thread.State.RUNNABLE && System.nanoTime() < until)
+                Thread.sleep(10);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private List<JobNotice> notices(int n) {
+        LocalDateTime now = LocalDateTime.now();
+        List<JobNotice> notices = new ArrayList<>();
+        for (int i = 0; i < n; i++, next++) {
+            notices.add(JobNotice.builder()
+                    .title("Counted notice " + next)
+                    .category(CATEGORIES[random.nextInt(CATEGORIES.length)])
+                    .state(STATES[random.nextInt(STATES.length)])
+                    .noticeType(TYPES[random.nextInt(TYPES.length)])
+                    .engineeringBranches(BRANCHES[random.nextInt(BRANCHES.length)])
+                    .lastDate(random.nextInt(3) == 0 ? LocalDate.now().minusDays(random.nextInt(200)) : null)
+                    .sourceName("Test")
+                    .sourceUrl("https://example.org/counts/" + next)
+                    .contentHash(String.format("%064x", 2_000_000 + next))
+                    // A third within the last day, the rest over the past 300 days
+                    .fetchedAt(random.nextInt(3) == 0 ? now.minusMinutes(random.nextInt(24 * 60))
+                            : now.minusDays(random.nextInt(300)))
+                    .build());
+        }
+        return notices;
+    }
+
+    /** Upserted and recorded the way ScraperService ingests */
+    private void insert(int n) {
+        List<JobNotice> notices = notices(n);
+        noticeCounts.inserting(() -> {
+            JobNoticeUpsert.Result result = writer.upsert(notices);
+            Set<String> inserted = new HashSet<>(result.inserted());
+            noticeCounts.added(
+                    notices.stream().filter(notice -> inserted.contains(notice.getContentHash())).toList());
+        });
+    }
+
+    private void assertMatchDatabase() {
+        LocalDate today = LocalDate.now();
+        LocalDate[][] periods = { { null, null }, { today, today }, { today.minusDays(7), today },
+                { today.minusDays(100), null }, { null, today.minusDays(30) } };
+        for (String category : withNull(CATEGORIES))
+            for (String state : withNull(STATES))
+                for (String type : withNull(TYPES))
+                    for (String branch : new String[] { null, "CIVIL", "MECH", "CSE" })
+                        for (LocalDate[] period : periods) {
+                            JobNoticeListing.Filters filters = new JobNoticeListing.Filters(category, state, type,
+                                    branch, period[0] == null ? null : period[0].atStartOfDay(),
+                                    period[1] == null ? null : period[1].atTime(23, 59, 59, 999999999));
+                            assertEquals(repository.countMatching(filters),
+                                    noticeCounts.count(category, state, type, branch, period[0], period[1])
+                                            .orElseThrow(),
+                                    filters.toString());
+                        }
+        for (int hours : new int[] { 1, 12, 24 }) {
+            LocalDateTime since = LocalDateTime.now().minusHours(hours);
+            assertEquals(repository.countByFetchedAtAfter(since), noticeCounts.countFetchedAfter(since).orElseThrow(),
+                    "fetched in the last " + hours + " hours");
+        }
+    }
+
+    private static String[] withNull(String[] values) {
+        List<String> all = new ArrayList<>(Arrays.asList(values));
+        if (!all.contains(null))
+            all.add(null);
+        return all.toArray(new String[0]);
+    }
+}
@@ -0,0 +1,129 @@
+package in.govtjobs.service;
+
+import in.govtjobs.bench.LegacyNoticePage;
+import in.govtjobs.dto.JobNoticeDto;
+import in.govtjobs.model.JobNotice;
+import in.govtjobs.repository.ArchivedNoticeRepository;
+import in.govtjobs.repository.JobNoticeRepository;
+import in.govtjobs.scheduler.ScraperScheduler;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * sourceDomain, isNew and isDeadlineSoon come out of the page-number
+ * listing, the cursor listing and getById (listed and archived notices)
+ * exactly as the entity-mapping LegacyNoticePage computed them per request:
+ * for domains set at ingest and filled in by SourceDomainBackfill, and for
+ * URLs with www, a port, an IPv6 host, user info or no usable host at all.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:notice-dto;DB_CLOSE_DELAY=-1")
+public class NoticeDtoParityTest {
+
+    private static final List<String> URLS = List.of(
+            "https://www.upsc.gov.in/recruitment",
+            "https://ssc.gov.in:8443/notices?id=1",
+            "http://www.ibps.in:8080/",
+            "http://[2001:db8::1]:8080/jobs",
+            "https://user@www.bank.in/careers",
+            "ftp://WWW.Example.org/file.pdf",
+            "https://my_host.gov.in/jobs",
+            "/relative/notice.pdf",
+            "mailto:jobs@example.org",
+            "not a url",
+            "https://example.org/a path with spaces");
+
+    /** No startup scrape adding notices to the listing */
+    @MockBean
+    private ScraperScheduler scheduler;
+
+    @Autowired
+    private JobNoticeService service;
+
+    @Autowired
+    private JobNoticeRepository repository;
+
+    @Autowired
+    private ArchivedNoticeRepository archived;
+
+    @Autowired
+    private SourceDomainBackfill domains;
+
+    @Autowired
+    private TransactionTemplate transactions;
+
+    @Test
+    public void dtosMatchLegacyMapping() {
+        LocalDate today = LocalDate.now();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate[] lastDates = { null, today.minusDays(1), today, today.plusDays(3), today.plusDays(4) };
+        LocalDateTime[] fetched = { now.minusHours(1), now.minusHours(23), now.minusHours(25), now.minusDays(9) };
+
+        // Every URL twice: once with the domain set at ingest, once left for the backfill
+        List<JobNotice> notices = new ArrayList<>();
+        for (int i = 0; i < URLS.size() * 2; i++) {
+            String url = URLS.get(i % URLS.size());
+            notices.add(JobNotice.builder()
+                    .id(UUID.randomUUID())
+                    .title("Parity notice " + i)
+                    .category("OTHERS")
+                    .state("Central")
+                    .sourceName("Test")
+                    .sourceUrl(url)
+                    .sourceDomain(i < URLS.size() ? JobNotice.domainOf(url) : null)
+                    .lastDate(lastDates[i % lastDates.length])
+                    .fetchedAt(fetched[i % fetched.length])
+                    .contentHash("dto-" + i)
+                    .build());
+        }
+        repository.upsertByContentHash(notices);
+        List<JobNotice> moved = List.of(notices.get(0), notices.get(3), notices.get(URLS.size() + 1),
+                notices.get(URLS.size() + 4));
+        transactions.executeWithoutResult(status -> {
+            List<UUID> ids = moved.stream().map(JobNotice::getId).toList();
+            archived.copyFromNotices(ids, now);
+            repository.deleteByIdIn(ids);
+        });
+        domains.afterSingletonsInstantiated();
+
+        Map<UUID, JobNoticeDto> expected = new HashMap<>();
+        for (JobNotice notice : notices) {
+            assertEquals(LegacyNoticePage.toDto(notice).getSourceDomain(), JobNotice.domainOf(notice.getSourceUrl()),
+                    notice.getSourceUrl());
+            expected.put(notice.getId(), LegacyNoticePage.toDto(notice));
+        }
+
+        int listed = notices.size() - moved.size();
+        for (String sort : new String[] { "newest", "deadline", "fetched" }) {
+            List<JobNoticeDto> page = service.getNotices(null, null, null, null, "all", sort, 0, 50).getContent();
+            List<JobNoticeDto> cursor = service.getNoticesAfter(null, null, null, null, "all", sort, "", 50)
+                    .getContent();
+            assertEquals(listed, page.size(), sort);
+            assertEquals(listed, cursor.size(), sort);
+            page.forEach(dto -> assertMatches(expected, dto, sort + " page"));
+            cursor.forEach(dto -> assertMatches(expected, dto, sort + " cursor"));
+        }
+        for (JobNotice notice : notices)
+            assertMatches(expected, service.getById(notice.getId()).orElseThrow(), "getById");
+    }
+
+    private static void assertMatches(Map<UUID, JobNoticeDto> expected, JobNoticeDto actual, String path) {
+        JobNoticeDto legacy = expected.get(actual.getId());
+        String shape = path + " " + actual.getSourceUrl() + " " + actual.getFetchedAt() + " " + actual.getLastDate();
+        assertEquals(legacy.getSourceDomain(), actual.getSourceDomain(), shape);
+        assertEquals(legacy.isNew(), actual.isNew(), shape);
+        assertEquals(legacy.isDeadlineSoon(), actual.isDeadlineSoon(), shape);
+    }
+}
@@ -0,0 +1,129 @@
+package in.govtjobs.service;
+
+import in.govtjobs.dto.RawNotice;
+import in.govtjobs.scheduler.ScraperScheduler;
+import in.govtjobs.scraper.JobNoticeSource;
+import in.govtjobs.util.ScraperUtils;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * ScraperService upserts a source's notices in chunks; a chunk that fails is
+ * retried row by row, so a bad notice costs only itself, not the notices it
+ * was batched with. The notice type and branches a scraper classified are
+ * stored with the notice, and each branch gets its notice_branches row.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:notice-ingest;DB_CLOSE_DELAY=-1")
+public class NoticeIngestTest {
+
+    private static final String SOURCE = "Ingest isolation";
+
+    /** No startup scrape holding the run guard */
+    @MockBean
+    private ScraperScheduler scheduler;
+
+    @Autowired
+    private ScraperService service;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    public void badRowDoesNotLoseItsChunk() {
+        List<RawNotice> notices = new ArrayList<>();
+        for (int i = 0; i < 10; i++)
+            notices.add(notice("Recruitment notice number " + i, "https://example.org/notice/" + i));
+        // Longer than apply_url allows: fails the batch it is in, then alone
+        notices.set(4, notice("Recruitment notice with a broken link", "https://example.org/" + "x".repeat(1100)));
+
+        Map<String, Integer> savedBySource = new HashMap<>();
+        ScraperService.ScraperResult result = service.runSources(List.of(new FixedSource(notices)), savedBySource);
+
+        assertEquals(10, result.total());
+        assertEquals(9, result.saved());
+        assertEquals(1, result.errors());
+        assertEquals(9, savedBySource.get(SOURCE));
+        assertEquals(9, jdbc.queryForObject("SELECT COUNT(*) FROM job_notices WHERE source_name = ?",
+                Integer.class, SOURCE));
+
+        // Next run: the stored nine are skipped, the bad one fails again on its own
+        result = service.runSources(List.of(new FixedSource(notices)), new HashMap<>());
+        assertEquals(0, result.saved());
+        assertEquals(9, result.skipped());
+        assertEquals(1, result.errors());
+    }
+
+    @Test
+    public void storesTypeAndBranches() {
+        RawNotice notice = notice("Assistant Engineer civil and mechanical recruitment",
+                "https://example.org/ae");
+        notice.setNoticeType("RECRUITMENT");
+        notice.setEngineeringBranches("CIVIL,MECH");
+        // Not counted with the other test's notices
+        notice.setSourceName("Ingest classification");
+
+        service.runSources(List.of(new FixedSource(List.of(notice))), new HashMap<>());
+
+        Map<String, Object> row = jdbc.queryForMap(
+                "SELECT id, notice_type, engineering_branches FROM job_notices WHERE title = ?", notice.getTitle());
+        assertEquals("RECRUITMENT", row.get("notice_type"));
+        assertEquals("CIVIL,MECH", row.get("engineering_branches"));
+        assertEquals(List.of("CIVIL", "MECH"), jdbc.queryForList(
+                "SELECT branch FROM notice_branches WHERE notice_id = ? ORDER BY branch", String.class,
+                row.get("id")));
+    }
+
+    private static RawNotice notice(String title, String applyUrl) {
+        return RawNotice.builder()
+                .title(title)
+                .applyUrl(applyUrl)
+                .sourceName(SOURCE)
+                .sourceUrl("https://example.org/")
+                .category("OTHERS")
+                .state("Central")
+                .build();
+    }
+
+    private record FixedSource(List<RawNotice> notices) implements JobNoticeSource {
+
+        @Override
+        public String getSourceName() {
+            return SOURCE;
+        }
+
+        @Override
+        public String getSourceUrl() {
+            return "https://example.org/";
+        }
+
+        @Override
+        public String getCategory() {
+            return "OTHERS";
+        }
+
+        @Override
+        public String getState() {
+            return "Central";
+        }
+
+        @Override
+        public List<RawNotice> fetchRaw() {
+            return notices;
+        }
+
+        @Override
+        public JobNoticeSource withUtils(ScraperUtils utils) {
+            return this;
+        }
+    }
+}
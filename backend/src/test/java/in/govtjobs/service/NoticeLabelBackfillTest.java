@@ -0,0 +1,131 @@
+package in.govtjobs.service;
+
+import in.govtjobs.dto.JobNoticeDto;
+import in.govtjobs.model.JobNotice;
+import in.govtjobs.repository.ArchivedNoticeRepository;
+import in.govtjobs.repository.JobNoticeRepository;
+import in.govtjobs.scheduler.ScraperScheduler;
+import in.govtjobs.util.ScraperUtils;
+import in.govtjobs.util.TitleLabels;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * NoticeLabelBackfill gives notices stored without a type (before
+ * ScraperService copied it) the type and branches of their title, with
+ * notice_branches rows for listed ones so the branch filter finds them;
+ * notices that already have a type are left alone, and a second run finds
+ * nothing.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:notice-labels;DB_CLOSE_DELAY=-1")
+public class NoticeLabelBackfillTest {
+
+    private static final String ENGINEERING = "Recruitment of Junior Engineer (Civil) and (Mechanical) 2025";
+    private static final String RESULT = "Combined Graduate Level Examination Result Declared";
+
+    /** No startup scrape writing to the tables under test */
+    @MockBean
+    private ScraperScheduler scheduler;
+
+    @Autowired
+    private NoticeLabelBackfill backfill;
+
+    @Autowired
+    private JobNoticeRepository repository;
+
+    @Autowired
+    private ArchivedNoticeRepository archived;
+
+    @Autowired
+    private JobNoticeService service;
+
+    @Autowired
+    private ScraperUtils utils;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private TransactionTemplate transactions;
+
+    @Test
+    public void classifiesNoticesStoredWithoutType() {
+        JobNotice engineering = notice("engineering", ENGINEERING, null, null);
+        JobNotice result = notice("result", RESULT, null, null);
+        JobNotice labelled = notice("labelled", ENGINEERING, "GENERAL_INFO", "CSE");
+        JobNotice moved = notice("moved", ENGINEERING, null, null);
+        repository.upsertByContentHash(List.of(engineering, result, labelled, moved));
+        archive(moved);
+
+        TitleLabels labels = utils.classify(ENGINEERING);
+        assertNotNull(labels.engineeringBranches(), "test title names no branch");
+
+        backfill.afterSingletonsInstantiated();
+
+        assertLabels("job_notices", engineering, labels.noticeType(), labels.engineeringBranches());
+        assertLabels("job_notices", result, utils.classify(RESULT).noticeType(),
+                utils.classify(RESULT).engineeringBranches());
+        assertLabels("job_notices", labelled, "GENERAL_INFO", "CSE");
+        assertLabels("archived_notices", moved, labels.noticeType(), labels.engineeringBranches());
+
+        List<String> codes = List.of(labels.engineeringBranches().split(","));
+        assertEquals(codes.stream().sorted().toList(), branches(engineering));
+        assertEquals(List.of("CSE"), branches(labelled));
+        for (String code : codes) {
+            List<UUID> listed = service.getNotices(null, null, null, code, "all", "newest", 0, 50)
+                    .map(JobNoticeDto::getId).getContent();
+            assertEquals(List.of(engineering.getId()), listed, code);
+        }
+
+        // Nothing left to classify, so no duplicate notice_branches rows
+        backfill.afterSingletonsInstantiated();
+        assertEquals(codes.size(), branches(engineering).size());
+    }
+
+    private void assertLabels(String table, JobNotice notice, String type, String branches) {
+        Map<String, Object> row = jdbc.queryForMap(
+                "SELECT notice_type, engineering_branches FROM " + table + " WHERE id = ?", notice.getId());
+        assertEquals(type, row.get("notice_type"), table + " type of " + notice.getTitle());
+        assertEquals(branches, row.get("engineering_branches"), table + " branches of " + notice.getTitle());
+    }
+
+    private List<String> branches(JobNotice notice) {
+        return jdbc.queryForList("SELECT branch FROM notice_branches WHERE notice_id = ? ORDER BY branch",
+                String.class, notice.getId());
+    }
+
+    /** As NoticeArchive moves a notice */
+    private void archive(JobNotice notice) {
+        transactions.executeWithoutResult(status -> {
+            archived.copyFromNotices(List.of(notice.getId()), LocalDateTime.now());
+            repository.deleteByIdIn(List.of(notice.getId()));
+        });
+    }
+
+    private static JobNotice notice(String name, String title, String type, String branches) {
+        return JobNotice.builder()
+                .id(UUID.randomUUID())
+                .title(title)
+                .category("OTHERS")
+                .state("Central")
+                .noticeType(type)
+                .engineeringBranches(branches)
+                .sourceName("Test")
+                .sourceUrl("https://example.org/")
+                .contentHash("labels-" + name)
+                .fetchedAt(LocalDateTime.now())
+                .build();
+    }
+}
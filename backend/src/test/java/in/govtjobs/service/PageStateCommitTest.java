@@ -0,0 +1,121 @@
+package in.govtjobs.service;
+
+import in.govtjobs.fetch.PageFetcher;
+import in.govtjobs.fetch.PageSource;
+import in.govtjobs.scheduler.ScraperScheduler;
+import in.govtjobs.scraper.JobNoticeSource;
+import in.govtjobs.scraper.impl.TnpscScraper;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.when;
+
+/**
+ * A source's page cache state is only kept once its notices are stored. When
+ * ingest fails, the validators and fingerprints from that run are dropped, so
+ * the next run fetches the page without them and parses it again instead of
+ * taking a 304 for a page whose notices were lost.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:page-state;DB_CLOSE_DELAY=-1")
+public class PageStateCommitTest {
+
+    private static final String TNPSC_URL = "https://www.tnpsc.gov.in/home.aspx";
+    private static final String ETAG = "\"tnpsc-v1\"";
+
+    /** No startup scrape reading pages or holding the run guard */
+    @MockBean
+    private ScraperScheduler scheduler;
+
+    @MockBean
+    private PageSource pages;
+
+    @SpyBean
+    private NoticeWriter writer;
+
+    @Autowired
+    private ScraperService service;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    public void failedIngestParsesThePageAgain() throws IOException {
+        byte[] body = tnpscPage();
+        List<String> validatorsSent = new ArrayList<>();
+        when(pages.get(anyString(), anyMap(), anyInt())).thenAnswer(call -> {
+            String url = call.getArgument(0);
+            Map<String, String> headers = call.getArgument(1);
+            if (!url.equals(TNPSC_URL))
+                return new PageFetcher.FetchedPage(404, url, "text/html", null, null, new byte[0]);
+            validatorsSent.add(headers.get("If-None-Match"));
+            if (ETAG.equals(headers.get("If-None-Match")))
+                return new PageFetcher.FetchedPage(304, url, null, ETAG, null, new byte[0]);
+            return new PageFetcher.FetchedPage(200, url, "text/html; charset=UTF-8", ETAG, null, body);
+        });
+        JobNoticeSource tnpsc = service.getSources().stream()
+                .filter(TnpscScraper.class::isInstance)
+                .findFirst()
+                .orElseThrow();
+
+        // Every upsert fails: nothing is stored, so neither is the page state
+        doThrow(new DataAccessResourceFailureException("disk full")).when(writer).upsert(anyList());
+        ScraperService.ScraperResult failed = service.runSources(List.of(tnpsc), new HashMap<>());
+        assertTrue(failed.total() > 0, "TNPSC finds notices");
+        assertEquals(0, failed.saved());
+        assertTrue(failed.errors() > 0);
+        assertEquals(0, storedStates(tnpsc));
+
+        // Next run sends no validators, parses the page and stores its notices
+        Mockito.reset(writer);
+        Map<String, Integer> savedBySource = new HashMap<>();
+        ScraperService.ScraperResult retried = service.runSources(List.of(tnpsc), savedBySource);
+        assertEquals(failed.total(), retried.total());
+        assertTrue(retried.saved() > 0);
+        assertEquals(0, retried.errors());
+        assertEquals(0, retried.unchanged());
+        assertEquals(retried.saved(), savedBySource.get(tnpsc.getSourceName()));
+        assertEquals(1, storedStates(tnpsc));
+
+        // Once stored, the page is skipped on its validators
+        ScraperService.ScraperResult unchanged = service.runSources(List.of(tnpsc), new HashMap<>());
+        assertEquals(0, unchanged.total());
+        assertEquals(1, unchanged.unchanged());
+
+        assertEquals(3, validatorsSent.size());
+        assertNull(validatorsSent.get(0));
+        assertNull(validatorsSent.get(1), "dropped state sent no validators");
+        assertEquals(ETAG, validatorsSent.get(2));
+    }
+
+    private int storedStates(JobNoticeSource source) {
+        return jdbc.queryForObject("SELECT COUNT(*) FROM source_page_cache WHERE source = ?", Integer.class,
+                source.getSourceName());
+    }
+
+    private static byte[] tnpscPage() throws IOException {
+        try (InputStream in = PageStateCommitTest.class.getResourceAsStream("/corpus/tnpsc_home.html")) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package in.govtjobs.util;
+
+import in.govtjobs.bench.LegacyDateParser;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the date strings in dates/conformance.tsv through ScraperUtils.parseDate.
+ * Every row must give its expected date, and every string the old
+ * DateTimeFormatter cascade understood must still give the same date.
+ */
+public class DateLexerConformanceTest {
+
+    private final ScraperUtils utils = new ScraperUtils();
+
+    @Test
+    public void parsesConformanceCorpus() throws IOException {
+        List<String[]> rows = rows();
+        assertTrue(rows.size() > 50, "conformance corpus not loaded");
+        for (String[] row : rows) {
+            LocalDate expected = row[1].equals("-") ? null : LocalDate.parse(row[1]);
+            assertEquals(expected, utils.parseDate(row[0]), "parseDate(\"" + row[0] + "\")");
+        }
+    }
+
+    @Test
+    public void agreesWithLegacyParserWhereItParsed() throws IOException {
+        for (String[] row : rows()) {
+            LocalDate legacy = LegacyDateParser.parse(row[0]);
+            if (legacy != null)
+                assertEquals(legacy, utils.parseDate(row[0]), "parseDate(\"" + row[0] + "\")");
+        }
+    }
+
+    private static List<String[]> rows() throws IOException {
+        List<String[]> rows = new ArrayList<>();
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(
+                DateLexerConformanceTest.class.getResourceAsStream("/dates/conformance.tsv"),
+                StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.isEmpty() || line.startsWith("#"))
+                    continue;
+                int tab = line.lastIndexOf('\t');
+                rows.add(new String[] { line.substring(0, tab), line.substring(tab + 1) });
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,120 @@
+package in.govtjobs.util;
+
+import in.govtjobs.bench.LegacyTitleKey;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Element;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The dedup key is what existing rows were stored under, so ScraperUtils.hash
+ * (and cleanTitle and normalizeTitleForDisplay, which feed it) must give
+ * exactly what the regex implementation in {@link LegacyTitleKey} gave, for
+ * every link text in the offline corpus and for awkward hand-picked titles.
+ */
+public class DedupKeyTest {
+
+    private static final String[] SOURCES = { "SSC", "IBPS", "Tamil Nadu PSC", "State PSC (Odisha) ", null, "" };
+
+    private final ScraperUtils utils = new ScraperUtils();
+
+    @Test
+    public void matchesLegacyKeyOnCorpusTitles() throws IOException {
+        List<String> titles = corpusTitles();
+        assertTrue(titles.size() > 100, "corpus titles not loaded");
+        for (String title : titles)
+            assertSameAsLegacy(title);
+    }
+
+    @Test
+    public void matchesLegacyKeyOnEdgeCases() {
+        for (String title : edgeCases())
+            assertSameAsLegacy(title);
+    }
+
+    @Test
+    public void matchesLegacyKeyInTurkishLocale() {
+        Locale saved = Locale.getDefault();
+        try {
+            Locale.setDefault(new Locale("tr", "TR"));
+            for (String title : edgeCases())
+                assertSameAsLegacy(title);
+        } finally {
+            Locale.setDefault(saved);
+        }
+    }
+
+    private void assertSameAsLegacy(String title) {
+        String shown = title == null ? "null" : "\"" + title + "\"";
+        assertEquals(LegacyTitleKey.cleanTitle(title), utils.cleanTitle(title), "cleanTitle(" + shown + ")");
+        assertEquals(LegacyTitleKey.normalizeTitleForDisplay(title), utils.normalizeTitleForDisplay(title),
+                "normalizeTitleForDisplay(" + shown + ")");
+        for (String source : SOURCES) {
+            assertEquals(LegacyTitleKey.hash(title, source), utils.hash(title, source),
+                    "hash(" + shown + ", " + source + ")");
+            // ScraperService hashes the cleaned title
+            assertEquals(LegacyTitleKey.hash(title, source), utils.hash(utils.cleanTitle(title), source),
+                    "hash(cleanTitle(" + shown + "), " + source + ")");
+        }
+    }
+
+    private static List<String> edgeCases() {
+        List<String> titles = new ArrayList<>(List.of(
+                "", " ", "\t\r\n", "SSC CGL 2025",
+                "  SSC   CGL\t2025 \r\n Notification  ",
+                "Update: SSC CGL", "UPDATE:SSC CGL", "update:   SSC CGL", "Flash: x", "new: x", "LATEST:x",
+                "Notice:\tRecruitment", "Advertisement: 01/2025", "Advt: 01/2025", "Notification: GD",
+                "Update:", "Update: ", "Notification:Update: twice", "Newsletter: not a prefix",
+                "x Update: not at start", "Update :spaced", "Update:\u0001\u0002 control after prefix",
+                "\u0001leading control", "trailing control\u0007", "vertical\u000Btab and\fform feed",
+                "non-breaking\u00A0space\u00A0", "em\u2003space", "Tamil தமிழ் title",
+                "हिंदी अधिसूचना 2025", "İSTANBUL Iğdır", "ΟΔΟΣ final sigma", "ǅ titlecase",
+                "KELVIN K sign", "emoji 📢 notice", "lone high \uD800 surrogate",
+                "lone low \uDC00 surrogate", "ends in high surrogate \uD83D"));
+        String word = "Recruitment of Junior Engineer ";
+        StringBuilder longTitle = new StringBuilder();
+        while (longTitle.length() < 260)
+            longTitle.append(word);
+        titles.add(longTitle.toString());
+        titles.add("Update: " + longTitle);
+        // Cut lands inside a run of spaces, and on the first half of a surrogate pair
+        titles.add("a".repeat(196) + "        tail " + "b".repeat(20));
+        titles.add("a".repeat(196) + "📢" + "b".repeat(20));
+        titles.add("a".repeat(197) + "  ");
+        titles.add("a".repeat(200));
+        titles.add("a".repeat(201));
+        titles.add("Update: " + "a".repeat(200));
+        titles.add("Update:\u0001" + "a".repeat(199) + "   ");
+        titles.add(null);
+        return titles;
+    }
+
+    /** Every anchor text and title attribute in the offline corpus pages */
+    private static List<String> corpusTitles() throws IOException {
+        Properties manifest = new Properties();
+        try (InputStream in = DedupKeyTest.class.getResourceAsStream("/corpus/manifest.properties")) {
+            manifest.load(in);
+        }
+        List<String> titles = new ArrayList<>();
+        for (String url : manifest.stringPropertyNames()) {
+            if (url.startsWith("corpus."))
+                continue;
+            try (InputStream in = DedupKeyTest.class.getResourceAsStream("/corpus/" + manifest.getProperty(url))) {
+                for (Element a : Jsoup.parse(in, null, url).select("a, td, li")) {
+                    titles.add(a.text());
+                    titles.add(a.wholeText());
+                }
+            }
+        }
+        return titles;
+    }
+}
@@ -0,0 +1,71 @@
+package in.govtjobs.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * KeywordAutomaton.scan must report exactly the labels whose keywords a plain
+ * case-insensitive contains() finds, including keywords that overlap, end
+ * inside one another or are only reached through failure links.
+ */
+public class KeywordAutomatonTest {
+
+    @Test
+    public void findsOverlappingKeywords() {
+        List<String> keywords = List.of("he", "she", "his", "hers", "ppsc", "appsc", "pps", " it ");
+        KeywordAutomaton automaton = automaton(keywords);
+        for (String text : List.of("", "ushers", "ahishers", "APPSC Group 1", "hppsc", "apppsc",
+                "Posts in IT dept", "Posts in it", " it ", "ＨＥ full width", "Ŝhe", "İt is", "hhhhhe",
+                "sshhiiss", "pps c"))
+            assertArrayEquals(contains(keywords, text), automaton.scan(text), "'" + text + "'");
+    }
+
+    @Test
+    public void spansSeveralMaskWords() {
+        List<String> keywords = new ArrayList<>();
+        for (int i = 0; i < 150; i++)
+            keywords.add("k" + i + "x");
+        KeywordAutomaton automaton = automaton(keywords);
+        for (String text : List.of("k0x", "k63x k64x", "K149X and k127x", "k1 x", "k100xk7x"))
+            assertArrayEquals(contains(keywords, text), automaton.scan(text), "'" + text + "'");
+    }
+
+    @Test
+    public void sharesALabelAcrossKeywords() {
+        KeywordAutomaton automaton = new KeywordAutomaton(List.of("result", "merit list", "recruit"),
+                new int[] { 0, 0, 1 }, 2);
+        assertEquals(1L, automaton.scan("Merit List 2025")[0]);
+        assertEquals(3L, automaton.scan("Recruitment result")[0]);
+        assertEquals(0L, automaton.scan("merit  list")[0]);
+    }
+
+    @Test
+    public void rejectsKeywordsItCannotMatch() {
+        assertThrows(IllegalArgumentException.class, () -> automaton(List.of("Upper")));
+        assertThrows(IllegalArgumentException.class, () -> automaton(List.of("तमिल")));
+        assertThrows(IllegalArgumentException.class, () -> automaton(List.of("")));
+    }
+
+    /** One label per keyword, in order */
+    private static KeywordAutomaton automaton(List<String> keywords) {
+        int[] labels = new int[keywords.size()];
+        for (int i = 0; i < labels.length; i++)
+            labels[i] = i;
+        return new KeywordAutomaton(keywords, labels, labels.length);
+    }
+
+    private static long[] contains(List<String> keywords, String text) {
+        long[] hits = new long[(keywords.size() + 63) >>> 6];
+        String lower = text.toLowerCase();
+        for (int i = 0; i < keywords.size(); i++)
+            if (lower.contains(keywords.get(i)))
+                hits[i >>> 6] |= 1L << i;
+        return hits;
+    }
+}
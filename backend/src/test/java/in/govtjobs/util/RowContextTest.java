@@ -0,0 +1,78 @@
+package in.govtjobs.util;
+
+import in.govtjobs.bench.Corpus;
+import in.govtjobs.bench.LegacyRowWalk;
+import in.govtjobs.fetch.PageFetcher;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Evaluator;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * buildTitle and rowContext read a link's row through the RowText memo; for
+ * every anchor in the offline corpus, on the classic and the streaming path,
+ * they must give the title and dates the fresh walks in {@link LegacyRowWalk}
+ * give on the fully parsed page.
+ */
+public class RowContextTest {
+
+    private static final Evaluator ANCHORS = Selectors.compile("a");
+
+    private final ScraperUtils utils = new ScraperUtils();
+    private final Corpus corpus = Corpus.load();
+
+    @Test
+    public void matchesLegacyWalksOnCorpusAnchors() throws IOException {
+        int anchors = 0;
+        for (String url : corpus.urls())
+            anchors += assertSameAsLegacy(corpus.page(url));
+        assertTrue(anchors > 800, "corpus anchors not loaded: " + anchors);
+    }
+
+    @Test
+    public void matchesLegacyWalksOnSharedRows() throws IOException {
+        StringBuilder cell = new StringBuilder("<table><tr><td>Notices updated 01/01/2025");
+        for (int i = 0; i < 50; i++)
+            cell.append("<br><a href='/n").append(i).append(".pdf'>pdf</a> Advt ").append(i)
+                    .append(" of 2025 closes ").append(10 + i % 18).append("/03/2025");
+        cell.append("</td></tr></table>");
+        assertSameAsLegacy(page(cell.toString()));
+        assertSameAsLegacy(page("<ul><li><span><a href='/x'>x</a></span> Junior Engineer 02/02/2025 "
+                + "03/03/2025</li><li><a href='/y'>y</a></li></ul><div><a href='/z'>z</a></div>"));
+    }
+
+    /** @return how many anchors were compared */
+    private int assertSameAsLegacy(PageFetcher.FetchedPage page) throws IOException {
+        List<String> legacy = new ArrayList<>();
+        for (Element link : ScraperUtils.parse(page).getElementsByTag("a"))
+            legacy.add(LegacyRowWalk.buildTitle(utils, link)
+                    + " | " + utils.parseDate(LegacyRowWalk.extractDateFromAncestor(utils, link, 0))
+                    + " | " + utils.parseDate(LegacyRowWalk.extractDateFromAncestor(utils, link, 1)));
+
+        Document doc = ScraperUtils.parse(page);
+        assertEquals(legacy, LinkCollector.fromDocument(doc, ANCHORS, null, Integer.MAX_VALUE, this::describe),
+                page.finalUrl() + " classic");
+        assertEquals(legacy, LinkCollector.fromStream(page.body(), ScraperUtils.streamCharset(page),
+                page.finalUrl(), ANCHORS, null, Integer.MAX_VALUE, this::describe).items(),
+                page.finalUrl() + " streaming");
+        return legacy.size();
+    }
+
+    private String describe(Element link) {
+        ScraperUtils.RowContext row = utils.rowContext(link);
+        return utils.buildTitle(link) + " | " + row.publishedDate() + " | " + row.lastDate();
+    }
+
+    private static PageFetcher.FetchedPage page(String html) {
+        return new PageFetcher.FetchedPage(200, "https://example.gov.in/", "text/html; charset=UTF-8", null, null,
+                html.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,139 @@
+package in.govtjobs.util;
+
+import in.govtjobs.bench.Corpus;
+import in.govtjobs.dto.RawNotice;
+import in.govtjobs.fetch.PageFetcher;
+import in.govtjobs.fetch.PageFingerprint;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Evaluator;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Streaming extraction (scraper.streaming.enabled, the default) must give
+ * what the full-DOM path gives: the same notices from every scraper on the
+ * offline corpus, the same titles and row dates for any selector and cap, and
+ * the listing fingerprint PageFingerprint.ofListing computes from the parsed
+ * page. It must also drop finished blocks instead of holding the whole page.
+ */
+public class StreamingParityTest {
+
+    private static final String[] SCRAPERS = { "SSC", "IBPS", "SBI", "UPSC", "TNPSC", "RRB", "PSU", "Medical",
+            "EmploymentNews", "StateGovt" };
+
+    private static final String[][] SELECTORS = {
+            { "a", null },
+            { "table tr td a, ul li a", "a[href]" },
+            { "a[href*='pdf'], a[href*='recruit']", null },
+            { "nav.nothing a", "a[href]" },
+    };
+
+    private static final int[] CAPS = { 1, 5, 30, Integer.MAX_VALUE };
+
+    private final Corpus corpus = Corpus.load();
+    private final ScraperUtils utils = new ScraperUtils();
+
+    @Test
+    public void scrapersReturnTheSameNotices() {
+        for (String scraper : SCRAPERS) {
+            List<RawNotice> full = Corpus.scraper(scraper, corpus::page, false).fetchRaw();
+            List<RawNotice> streamed = Corpus.scraper(scraper, corpus::page, true).fetchRaw();
+            assertFalse(full.isEmpty(), scraper + " found nothing in the corpus");
+            assertEquals(full, streamed, scraper);
+        }
+    }
+
+    @Test
+    public void linksMapAlikeForEverySelectorAndCap() throws IOException {
+        for (String url : corpus.urls())
+            assertSameLinks(corpus.page(url));
+        for (String html : edgeCases())
+            assertSameLinks(page("https://example.gov.in/", html));
+    }
+
+    @Test
+    public void listingFingerprintMatchesTheParsedPage() throws IOException {
+        for (String url : corpus.urls()) {
+            PageFetcher.FetchedPage page = corpus.page(url);
+            for (int cap : CAPS) {
+                long streamed = stream(page, Selectors.compile("a"), null, cap, this::describe)
+                        .listingFingerprint();
+                assertEquals(PageFingerprint.ofListing(ScraperUtils.parse(page)), streamed, url + " cap " + cap);
+            }
+        }
+    }
+
+    @Test
+    public void finishedBlocksAreDropped() throws IOException {
+        StringBuilder html = new StringBuilder("<html><body>");
+        for (int i = 0; i < 500; i++)
+            html.append("<div class=row><p>Recruitment notice number ").append(i)
+                    .append(" dated 01/02/2025</p><a href='/n").append(i).append(".pdf'>Notice ").append(i)
+                    .append("</a></div>");
+        html.append("</body></html>");
+        List<Integer> elementsSeen = new ArrayList<>();
+        List<Integer> found = stream(page("https://example.gov.in/", html.toString()), Selectors.compile("a"), null,
+                Integer.MAX_VALUE, link -> {
+                    elementsSeen.add(link.ownerDocument().getAllElements().size());
+                    return 1;
+                }).items();
+        assertEquals(500, found.size());
+        int peak = elementsSeen.stream().mapToInt(Integer::intValue).max().orElse(0);
+        assertTrue(peak < 20, "peak of " + peak + " elements held while mapping");
+    }
+
+    private void assertSameLinks(PageFetcher.FetchedPage page) throws IOException {
+        for (String[] selector : SELECTORS) {
+            Evaluator primary = Selectors.compile(selector[0]);
+            Evaluator fallback = Selectors.compileOrNull(selector[1]);
+            for (int cap : CAPS) {
+                Document doc = ScraperUtils.parse(page);
+                List<String> full = LinkCollector.fromDocument(doc, primary, fallback, cap, this::describe);
+                List<String> streamed = stream(page, primary, fallback, cap, this::describe).items();
+                assertEquals(full, streamed, page.finalUrl() + " " + selector[0] + " cap " + cap);
+            }
+        }
+    }
+
+    /** What a scraper's mapper reads for a link: its title and row dates */
+    private String describe(Element link) {
+        ScraperUtils.RowContext row = utils.rowContext(link);
+        return utils.buildTitle(link) + " | " + link.attr("href") + " | " + row.publishedDate() + " | "
+                + row.lastDate();
+    }
+
+    private static <T> LinkCollector.Streamed<T> stream(PageFetcher.FetchedPage page, Evaluator primary,
+            Evaluator fallback, int cap, Function<Element, T> mapper) throws IOException {
+        return LinkCollector.fromStream(page.body(), ScraperUtils.streamCharset(page), page.finalUrl(), primary,
+                fallback, cap, mapper);
+    }
+
+    private static PageFetcher.FetchedPage page(String url, String html) {
+        return new PageFetcher.FetchedPage(200, url, "text/html; charset=UTF-8", null, null,
+                html.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Rows whose title or dates only become final after the link is parsed */
+    private static List<String> edgeCases() {
+        return List.of(
+                "<div><a href='/a.pdf'>pdf</a> Recruitment of Assistant Engineers, last date 15/03/2025</div>",
+                "<div><div><span><a href='/b'>x</a></span></div> posted 01/01/2025 closes 02/02/2025 text</div>",
+                "<table><tr><td><a href='/c'>go</a></td></tr><tr><td>Notification for Junior Clerk posts</td></tr>"
+                        + "</table>",
+                "<ul><li><a href='/d'>v</a><ul><li>Nested list text long enough to be a title</li></ul></li></ul>",
+                "<main><a href='/e'>short</a><p>Main level paragraph with plenty of text</p></main>",
+                "<body><a href='/f'>bare</a> trailing body text 03/03/2025</body>",
+                "<p><a href='/g'>unclosed paragraph link<p>next paragraph 04/04/2025",
+                "<a href='/h'><div>block in link</div></a><b><a href='/i'>bold</a> after 05/05/2025</b>");
+    }
+}
@@ -0,0 +1,125 @@
+package in.govtjobs.util;
+
+import in.govtjobs.bench.Corpus;
+import in.govtjobs.bench.LegacyTitleClassifier;
+import org.jsoup.nodes.Element;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * ScraperUtils.classify must label titles as the contains() chains in
+ * {@link LegacyTitleClassifier} did, for every anchor title in the offline
+ * corpus. The one intended difference is that states beyond the eight the old
+ * chain knew are now recognised, so a title the old chain called Central may
+ * name another state. State keywords must also not hide inside each other.
+ */
+public class TitleClassifierTest {
+
+    private static final String[] LABELS = { "relevant.ssc", "relevant.rrb", "relevant.ibps", "relevant.sbi",
+            "relevant.upsc", "relevant.tnpsc", "relevant.psu", "relevant.state", "excluded.state",
+            "relevant.medical", "recruitment.medical", "relevant.govt" };
+
+    private static final Set<String> LEGACY_STATES = Set.of("Tamil Nadu", "Maharashtra", "Karnataka", "Kerala",
+            "Delhi", "Gujarat", "Rajasthan", "Uttar Pradesh");
+
+    private final ScraperUtils utils = new ScraperUtils();
+
+    @Test
+    public void matchesLegacyChecksOnCorpusTitles() {
+        Set<String> titles = corpusTitles();
+        assertTrue(titles.size() > 300, "corpus titles not loaded: " + titles.size());
+        List<String> newStates = new ArrayList<>();
+        for (String title : titles) {
+            TitleLabels labels = utils.classify(title);
+            assertEquals(LegacyTitleClassifier.categorizeNoticeType(title), labels.noticeType(), title);
+            assertEquals(LegacyTitleClassifier.inferEngineeringBranches(title), labels.engineeringBranches(), title);
+            assertEquals(LegacyTitleClassifier.deriveCategory(title), labels.category(), title);
+            for (String label : LABELS)
+                assertEquals(LegacyTitleClassifier.has(label, title), labels.has(label), label + ": " + title);
+            String legacyState = LegacyTitleClassifier.deriveState(title);
+            if (!legacyState.equals(labels.state())) {
+                assertEquals("Central", legacyState, title);
+                assertFalse(LEGACY_STATES.contains(labels.state()), title + " -> " + labels.state());
+                newStates.add(labels.state() + ": " + title);
+            }
+        }
+        assertEquals(List.of("Odisha: Odisha Public Service Commission (OPSC)", "Odisha: OPSC Manuals"),
+                newStates);
+    }
+
+    @Test
+    public void commissionAcronymsNameTheirOwnState() {
+        assertEquals("Andhra Pradesh", utils.classify("APPSC Group 1 Notification").state());
+        assertEquals("Arunachal Pradesh", utils.classify("APPPSC Combined Competitive Exam").state());
+        assertEquals("Himachal Pradesh", utils.classify("HPPSC Recruitment 2025").state());
+        assertEquals("Madhya Pradesh", utils.classify("MPPSC State Service Exam").state());
+        assertEquals("Tamil Nadu", utils.classify("TNPSC Group 4").state());
+        assertEquals("Punjab", utils.classify("Punjab PSC Civil Services").state());
+        assertEquals("Punjab", utils.classify("PSSB Clerk Recruitment").state());
+        assertEquals("Central", utils.classify("Punjab National Bank SO Recruitment").state());
+    }
+
+    /**
+     * The first matching state wins, so a keyword inside another state's
+     * keyword would label that state's titles wrongly whenever it came first,
+     * and makes the result depend on dictionary order when it does not.
+     */
+    @Test
+    public void noStateKeywordIsPartOfAnother() throws IOException {
+        Map<String, List<String>> states = new LinkedHashMap<>();
+        try (InputStream in = TitleClassifierTest.class.getResourceAsStream(TitleClassifier.DICTIONARY);
+                BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.startsWith("state."))
+                    continue;
+                int colon = line.indexOf(':');
+                List<String> keywords = new ArrayList<>();
+                for (String keyword : line.substring(colon + 1).split(","))
+                    keywords.add(keyword.trim().replace("\"", ""));
+                states.put(line.substring(0, colon), keywords);
+            }
+        }
+        assertTrue(states.size() > 30, "state labels not loaded");
+        states.forEach((state, keywords) -> states.forEach((other, otherKeywords) -> {
+            if (state.equals(other))
+                return;
+            for (String keyword : keywords)
+                for (String otherKeyword : otherKeywords)
+                    assertFalse(otherKeyword.contains(keyword),
+                            state + " keyword '" + keyword + "' is part of " + other + " keyword '" + otherKeyword + "'");
+        }));
+    }
+
+    /** Every distinct anchor text, and title a scraper could build from it, in the corpus */
+    private Set<String> corpusTitles() {
+        Corpus corpus = Corpus.load();
+        Set<String> titles = new LinkedHashSet<>();
+        for (String url : corpus.urls()) {
+            try {
+                for (Element link : ScraperUtils.parse(corpus.page(url)).getElementsByTag("a")) {
+                    titles.add(utils.buildTitle(link));
+                    titles.add(link.text());
+                }
+            } catch (IOException e) {
+                throw new AssertionError(e);
+            }
+        }
+        return titles;
+    }
+}